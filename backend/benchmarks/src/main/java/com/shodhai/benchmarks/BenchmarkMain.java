@@ -0,0 +1,45 @@
+package com.shodhai.benchmarks;
+
+import org.openjdk.jmh.Main;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Entry point of benchmarks.jar. Takes the usual JMH options, but unless a result
+ * format is given, writes results as JSON to
+ * {@code jmh-results/<version>-<timestamp>.json}, so runs of different releases
+ * can be kept side by side and compared.
+ */
+public final class BenchmarkMain {
+
+    private static final Path RESULTS_DIR = Path.of("jmh-results");
+
+    private BenchmarkMain() {}
+
+    public static void main(String[] args) throws Exception {
+        List<String> options = List.of(args);
+        if (options.contains("-rf")) {
+            Main.main(args);
+            return;
+        }
+        List<String> withResults = new ArrayList<>(List.of("-rf", "json"));
+        if (!options.contains("-rff")) {
+            withResults.addAll(List.of("-rff", resultFile().toString()));
+        }
+        withResults.addAll(options);
+        Main.main(withResults.toArray(new String[0]));
+    }
+
+    private static Path resultFile() throws IOException {
+        String version = BenchmarkMain.class.getPackage().getImplementationVersion();
+        String timestamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss"));
+        Files.createDirectories(RESULTS_DIR);
+        return RESULTS_DIR.resolve((version != null ? version : "dev") + "-" + timestamp + ".json");
+    }
+}
@@ -0,0 +1,91 @@
+package com.shodhai.benchmarks;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.shodhai.dto.LeaderboardEntryDto;
+import com.shodhai.dto.SubmissionDto;
+import com.shodhai.entity.Contest;
+import com.shodhai.entity.Problem;
+import com.shodhai.entity.Submission;
+import com.shodhai.entity.User;
+import com.shodhai.service.SubmissionService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mapping a submission to its DTO and writing the JSON the REST endpoints return
+ * for a submission and a leaderboard page. Building leaderboard entries from the
+ * scoreboard is covered by {@link LeaderboardBenchmark}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DtoBenchmark {
+
+    private static final int CODE_LINES = 80;
+    private static final int PAGE_SIZE = 50;
+    private static final int CONTESTANTS = 1000;
+
+    private Submission submission;
+    private SubmissionDto submissionDto;
+    private List<LeaderboardEntryDto> page;
+    private ObjectMapper objectMapper;
+
+    @Setup
+    public void setUp() {
+        Contest contest = new Contest("bench", "Benchmark Contest", "", Workloads.CONTEST_START,
+                                      Workloads.CONTEST_START.plusHours(3));
+        Problem problem = new Problem("Sum of Pairs", "", "", "", 2000, 256, contest);
+        StringBuilder code = new StringBuilder();
+        for (int line = 0; line < CODE_LINES; line++) {
+            code.append("        long value").append(line).append(" = in.nextLong() * ").append(line).append(";\n");
+        }
+        submission = new Submission("0b6a1f3e-3c1d-4c8e-9d2a-5f7e8b9c0a1d", code.toString(), new User("user1"),
+                                    problem, contest);
+        submission.setLanguage("java");
+        submission.setStatus(Submission.SubmissionStatus.COMPLETED);
+        submission.setResult(Submission.SubmissionResult.WRONG_ANSWER);
+        submission.setErrorMessage("Wrong answer on test 3: expected 42, found 41");
+        submission.setExecutionTime(312);
+        submission.setMemoryUsed(48);
+        submission.setSubmittedAt(Workloads.CONTEST_START.plusMinutes(37));
+        submissionDto = SubmissionService.toDto(submission);
+
+        page = Workloads.scoreboard(Workloads.standings(CONTESTANTS)).entries(0, PAGE_SIZE);
+        // Configured as Spring Boot configures the application's mapper
+        objectMapper = Jackson2ObjectMapperBuilder.json()
+            .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .build();
+    }
+
+    @Benchmark
+    public SubmissionDto submissionToDto() {
+        return SubmissionService.toDto(submission);
+    }
+
+    @Benchmark
+    public byte[] submissionJson() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(submissionDto);
+    }
+
+    @Benchmark
+    public byte[] leaderboardPageJson() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(page);
+    }
+}
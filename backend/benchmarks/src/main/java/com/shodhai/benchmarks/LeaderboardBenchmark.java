@@ -0,0 +1,81 @@
+package com.shodhai.benchmarks;
+
+import com.shodhai.dto.LeaderboardEntryDto;
+import com.shodhai.dto.LeaderboardPositionDto;
+import com.shodhai.scoring.ContestScoreboard;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The contest scoreboard at 1k, 10k and 100k contestants: rebuilding it from
+ * database aggregates as on startup, applying one verdict, and reading the pages
+ * the leaderboard endpoints serve.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class LeaderboardBenchmark {
+
+    private static final int PAGE_SIZE = 50;
+    private static final int NEIGHBOURS = 5;
+
+    @Param({"1000", "10000", "100000"})
+    private int users;
+
+    private List<Workloads.Standing> standings;
+    private ContestScoreboard scoreboard;
+    private final Random random = new Random(11);
+
+    @Setup
+    public void setUp() {
+        standings = Workloads.standings(users);
+        scoreboard = Workloads.scoreboard(standings);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public ContestScoreboard restore() {
+        return Workloads.scoreboard(standings);
+    }
+
+    @Benchmark
+    public long recordVerdict() {
+        // Verdicts accumulate over the run, as they do during a contest
+        scoreboard.recordVerdict(Workloads.username(random.nextInt(users)),
+                                 Workloads.PROBLEM_IDS.get(random.nextInt(Workloads.PROBLEMS)),
+                                 Workloads.verdict(random), Workloads.submittedAt(random));
+        return scoreboard.getVersion();
+    }
+
+    @Benchmark
+    public List<LeaderboardEntryDto> firstPage() {
+        return scoreboard.entries(0, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public List<LeaderboardEntryDto> lastPage() {
+        return scoreboard.entries(users - PAGE_SIZE, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public Optional<LeaderboardPositionDto> around() {
+        return scoreboard.around(Workloads.username(random.nextInt(users)), NEIGHBOURS);
+    }
+}
@@ -0,0 +1,62 @@
+package com.shodhai.benchmarks;
+
+import com.shodhai.checker.ExpectedOutput;
+import com.shodhai.checker.OutputChecker;
+import com.shodhai.checker.OutputCheckers;
+import com.shodhai.entity.Problem;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Checking one test run's output against the expected answer, per checker and
+ * output size. The output matches, so every checker has to read all of it.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class OutputCheckerBenchmark {
+
+    @Param({"EXACT", "TOKEN", "FLOAT", "DIGEST"})
+    private Problem.CheckerType checkerType;
+
+    @Param({"1024", "1048576", "16777216"})
+    private int outputBytes;
+
+    private OutputChecker checker;
+    private ExpectedOutput expected;
+    private byte[] actual;
+
+    @Setup
+    public void setUp() throws IOException {
+        String output = Workloads.numericOutput(outputBytes);
+        checker = OutputCheckers.create(checkerType, null);
+        // Digest and size are computed here, as they are when test data is saved
+        expected = ExpectedOutput.of(output, null, null);
+        actual = output.getBytes(StandardCharsets.UTF_8);
+        if (!check()) {
+            throw new IllegalStateException(checkerType + " checker rejects the benchmark output");
+        }
+    }
+
+    @Benchmark
+    public boolean check() throws IOException {
+        return checker.check(new ByteArrayInputStream(actual), expected).isAccepted();
+    }
+}
@@ -0,0 +1,114 @@
+package com.shodhai.benchmarks;
+
+import com.shodhai.config.JudgeProperties;
+import com.shodhai.testdata.TestDataStore;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.util.FileSystemUtils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Loading one test case's expected output, from a CLOB column in H2 as test data
+ * used to be kept, and from the content-addressed {@link TestDataStore} the judge
+ * reads it from now, both as a string and streamed the way checkers consume it.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TestDataBenchmark {
+
+    private static final long TEST_CASE_ID = 1;
+
+    @Param({"1024", "1048576", "16777216"})
+    private int outputBytes;
+
+    private Connection connection;
+    private PreparedStatement select;
+    private Path storeDir;
+    private AnnotationConfigApplicationContext context;
+    private TestDataStore store;
+    private String hash;
+
+    @Setup
+    public void setUp() throws IOException, SQLException {
+        String output = Workloads.numericOutput(outputBytes);
+
+        connection = DriverManager.getConnection("jdbc:h2:mem:testdata", "sa", "");
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE test_case (id BIGINT PRIMARY KEY, expected_output CLOB)");
+        }
+        try (PreparedStatement insert = connection.prepareStatement("INSERT INTO test_case VALUES (?, ?)")) {
+            insert.setLong(1, TEST_CASE_ID);
+            insert.setString(2, output);
+            insert.executeUpdate();
+        }
+        select = connection.prepareStatement("SELECT expected_output FROM test_case WHERE id = ?");
+
+        storeDir = Files.createTempDirectory("shodh-testdata-bench");
+        JudgeProperties properties = new JudgeProperties();
+        properties.setTestDataDir(storeDir);
+        // The store's only dependency is injected, so it is set up the way the application does it
+        context = new AnnotationConfigApplicationContext();
+        context.registerBean(JudgeProperties.class, () -> properties);
+        context.register(TestDataStore.class);
+        context.refresh();
+        store = context.getBean(TestDataStore.class);
+        hash = store.put(output.getBytes(StandardCharsets.UTF_8)).getHash();
+    }
+
+    @TearDown
+    public void tearDown() throws IOException, SQLException {
+        select.close();
+        connection.close();
+        context.close();
+        FileSystemUtils.deleteRecursively(storeDir);
+    }
+
+    @Benchmark
+    public String database() throws SQLException {
+        select.setLong(1, TEST_CASE_ID);
+        try (ResultSet result = select.executeQuery()) {
+            result.next();
+            return result.getString(1);
+        }
+    }
+
+    @Benchmark
+    public String fileStore() throws IOException {
+        return store.readString(hash);
+    }
+
+    @Benchmark
+    public long fileStoreStream() throws IOException {
+        try (InputStream in = store.open(hash)) {
+            return in.transferTo(OutputStream.nullOutputStream());
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.shodhai.benchmarks;
+
+import com.shodhai.entity.Submission;
+import com.shodhai.scoring.ContestScoreboard;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.stream.LongStream;
+
+/** Inputs shared by the benchmarks, generated from fixed seeds so every run measures the same data. */
+final class Workloads {
+
+    static final LocalDateTime CONTEST_START = LocalDateTime.of(2024, 1, 1, 10, 0);
+    static final int PENALTY_MINUTES = 20;
+    static final int PROBLEMS = 10;
+    static final List<Long> PROBLEM_IDS = LongStream.rangeClosed(1, PROBLEMS).boxed().toList();
+
+    private static final int CONTEST_MINUTES = 180;
+
+    private Workloads() {}
+
+    /** Test output of about {@code bytes} bytes: lines of an integer and a float, as numeric problems print. */
+    static String numericOutput(int bytes) {
+        Random random = new Random(42);
+        StringBuilder output = new StringBuilder(bytes + 32);
+        for (int line = 0; output.length() < bytes; line++) {
+            output.append(line).append(' ')
+                  .append(String.format(Locale.ROOT, "%.6f", random.nextDouble() * 1000)).append('\n');
+        }
+        return output.toString();
+    }
+
+    /** One contestant's standing as the leaderboard service restores it from the database. */
+    static final class Standing {
+        final String username;
+        final Map<Long, LocalDateTime> firstAccepted = new HashMap<>();
+        final Map<Long, Integer> wrongAttempts = new HashMap<>();
+        int submissions;
+
+        Standing(String username) {
+            this.username = username;
+        }
+    }
+
+    static String username(int index) {
+        return "user" + index;
+    }
+
+    /** Standings for {@code users} contestants who solved a spread of problems at spread-out times. */
+    static List<Standing> standings(int users) {
+        Random random = new Random(7);
+        List<Standing> standings = new ArrayList<>(users);
+        for (int i = 0; i < users; i++) {
+            Standing standing = new Standing(username(i));
+            for (Long problemId : PROBLEM_IDS) {
+                if (random.nextInt(3) == 0) {
+                    continue;
+                }
+                int wrong = random.nextInt(4);
+                if (wrong > 0) {
+                    standing.wrongAttempts.put(problemId, wrong);
+                }
+                standing.submissions += wrong;
+                if (random.nextBoolean()) {
+                    standing.firstAccepted.put(problemId, submittedAt(random));
+                    standing.submissions++;
+                }
+            }
+            standings.add(standing);
+        }
+        return standings;
+    }
+
+    static ContestScoreboard scoreboard(List<Standing> standings) {
+        ContestScoreboard scoreboard = new ContestScoreboard(CONTEST_START, PENALTY_MINUTES, PROBLEM_IDS);
+        for (Standing standing : standings) {
+            scoreboard.restore(standing.username, standing.submissions, standing.firstAccepted,
+                               standing.wrongAttempts);
+        }
+        return scoreboard;
+    }
+
+    /** A verdict for a random contestant and problem, accepted one time in three. */
+    static Submission.SubmissionResult verdict(Random random) {
+        return random.nextInt(3) == 0 ? Submission.SubmissionResult.ACCEPTED : Submission.SubmissionResult.WRONG_ANSWER;
+    }
+
+    static LocalDateTime submittedAt(Random random) {
+        return CONTEST_START.plusSeconds(random.nextInt(CONTEST_MINUTES * 60));
+    }
+}
@@ -0,0 +1,101 @@
+package com.shodhai.benchmarks;
+
+import com.shodhai.sandbox.LocalSandboxExecutor;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.util.FileSystemUtils;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Setting up and cleaning up where a submission is judged: the temporary
+ * workspace the judge writes the source to, a fresh sandbox, and a pooled
+ * sandbox that is reused after a scrub. Uses the local executor, so the numbers
+ * are the file system work without container or namespace overhead.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class WorkspaceBenchmark {
+
+    private static final int CLASS_FILES = 4;
+    private static final int CLASS_FILE_BYTES = 2048;
+
+    private Path root;
+    private Path workspace;
+    private byte[] source;
+    private LocalSandboxExecutor executor;
+    private String warmSandbox;
+
+    @Setup
+    public void setUp() throws IOException {
+        root = Files.createTempDirectory("shodh-workspace-bench");
+        source = Workloads.numericOutput(4096).getBytes(StandardCharsets.UTF_8);
+
+        // A compiled submission: its source and a few class files
+        workspace = Files.createDirectory(root.resolve("workspace"));
+        Files.write(workspace.resolve("Main.java"), source);
+        Random random = new Random(3);
+        for (int i = 0; i < CLASS_FILES; i++) {
+            byte[] classFile = new byte[CLASS_FILE_BYTES];
+            random.nextBytes(classFile);
+            Files.write(workspace.resolve("Main$" + i + ".class"), classFile);
+        }
+
+        executor = new LocalSandboxExecutor(root.resolve("sandboxes"));
+        warmSandbox = executor.start();
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        executor.destroy(warmSandbox);
+        FileSystemUtils.deleteRecursively(root);
+    }
+
+    /** What CodeJudgeService.evaluate does around judging: write the source to a temp directory, then delete it. */
+    @Benchmark
+    public Path temporaryWorkspace() throws IOException {
+        Path tempPath = Files.createTempDirectory(root, "submission_");
+        Files.write(tempPath.resolve("Main.java"), source);
+        try (Stream<Path> paths = Files.walk(tempPath)) {
+            for (Path path : paths.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(path);
+            }
+        }
+        return tempPath;
+    }
+
+    @Benchmark
+    public String freshSandbox() throws IOException {
+        String sandboxId = executor.start();
+        executor.copyIn(sandboxId, workspace);
+        executor.destroy(sandboxId);
+        return sandboxId;
+    }
+
+    @Benchmark
+    public String pooledSandbox() throws IOException {
+        executor.copyIn(warmSandbox, workspace);
+        executor.scrub(warmSandbox);
+        return warmSandbox;
+    }
+}
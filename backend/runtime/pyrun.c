@@ -0,0 +1,90 @@
+/*
+ * Client of pyzygote.py: runs one Python test through the fork server.
+ *
+ *     pyrun SOCKET COMMAND [ARG...]
+ *
+ * Hands stdin, stdout and stderr to the server listening on SOCKET and exits
+ * with the status of the forked run. If no server answers on SOCKET, it runs
+ * COMMAND instead, so a run never depends on the server being up. Killing this
+ * process (as timeout does) closes the connection, and the server then kills
+ * the run. The run gets this process's core, file size and CPU limits, which the
+ * server reads from the kernel rather than taking from the client.
+ */
+#include <arpa/inet.h>
+#include <errno.h>
+#include <stdint.h>
+#include <stdio.h>
+#include <string.h>
+#include <sys/socket.h>
+#include <sys/un.h>
+#include <unistd.h>
+
+static int fallback(char **command) {
+    execvp(command[0], command);
+    perror(command[0]);
+    return 127;
+}
+
+static int send_stdio(int sock) {
+    char byte = 0;
+    int fds[3] = {0, 1, 2};
+    union {
+        char buf[CMSG_SPACE(sizeof(fds))];
+        struct cmsghdr align;
+    } control;
+    struct iovec iov = {.iov_base = &byte, .iov_len = 1};
+    struct msghdr msg = {0};
+    struct cmsghdr *cmsg;
+
+    memset(&control, 0, sizeof(control));
+    msg.msg_iov = &iov;
+    msg.msg_iovlen = 1;
+    msg.msg_control = control.buf;
+    msg.msg_controllen = sizeof(control.buf);
+    cmsg = CMSG_FIRSTHDR(&msg);
+    cmsg->cmsg_level = SOL_SOCKET;
+    cmsg->cmsg_type = SCM_RIGHTS;
+    cmsg->cmsg_len = CMSG_LEN(sizeof(fds));
+    memcpy(CMSG_DATA(cmsg), fds, sizeof(fds));
+    return sendmsg(sock, &msg, 0) == 1 ? 0 : -1;
+}
+
+int main(int argc, char **argv) {
+    struct sockaddr_un addr;
+    uint32_t status;
+    size_t got = 0;
+    int sock;
+
+    if (argc < 3) {
+        fprintf(stderr, "usage: pyrun SOCKET COMMAND [ARG...]\n");
+        return 2;
+    }
+    if (strlen(argv[1]) >= sizeof(addr.sun_path)) {
+        return fallback(argv + 2);
+    }
+
+    memset(&addr, 0, sizeof(addr));
+    addr.sun_family = AF_UNIX;
+    strcpy(addr.sun_path, argv[1]);
+    sock = socket(AF_UNIX, SOCK_STREAM, 0);
+    if (sock < 0 || connect(sock, (struct sockaddr *) &addr, sizeof(addr)) < 0 || send_stdio(sock) < 0) {
+        // No server, or it did not take the run: nothing has been read from stdin yet
+        if (sock >= 0) {
+            close(sock);
+        }
+        return fallback(argv + 2);
+    }
+
+    while (got < sizeof(status)) {
+        ssize_t n = read(sock, (char *) &status + got, sizeof(status) - got);
+        if (n < 0 && errno == EINTR) {
+            continue;
+        }
+        if (n <= 0) {
+            fprintf(stderr, "pyrun: lost the Python fork server\n");
+            return 1;
+        }
+        got += (size_t) n;
+    }
+    return (int) ntohl(status);
+}
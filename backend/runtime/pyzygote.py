@@ -0,0 +1,205 @@
+"""Fork server for judged Python programs.
+
+Started once per sandbox with the socket path and the program, it compiles the
+program, imports commonly used modules and then forks one child per test run.
+The pyrun client connects, hands over its stdin, stdout and stderr, and gets the
+child's exit status back, so a test run behaves like `python3 main.py` without
+paying for interpreter startup. A client that goes away (for example killed by
+`timeout`) takes its child with it. The child takes the core, file size and CPU
+limits that runmeter set on the connecting process, since it is not runmeter's
+descendant. The server exits after IDLE_TIMEOUT seconds without clients, or when
+the sandbox is scrubbed.
+"""
+
+import atexit
+import builtins
+import os
+import resource
+import select
+import signal
+import socket
+import struct
+import sys
+import traceback
+import types
+
+# Imported once here so forked runs find them loaded
+import array, bisect, collections, copy, decimal, fractions, functools, heapq  # noqa: E401,F401
+import io, itertools, math, operator, random, re, string, typing  # noqa: E401,F401
+
+IDLE_TIMEOUT = 120
+# runmeter's per-run limits; the memory limit is the sandbox cgroup's, which the child is already in
+INHERITED_LIMITS = (resource.RLIMIT_CORE, resource.RLIMIT_FSIZE, resource.RLIMIT_CPU)
+
+
+def exit_status(code):
+    if code is None:
+        return 0
+    if isinstance(code, int):
+        return code & 0xFF
+    print(code, file=sys.stderr)
+    return 1
+
+
+def reopen_stdio():
+    """Fresh text streams on fds 0-2, set up like the interpreter's own for the client's files."""
+    def wrap(fd, old, writing, **kwargs):
+        raw = io.FileIO(fd, "w" if writing else "r", closefd=False)
+        buffered = io.BufferedWriter(raw) if writing else io.BufferedReader(raw)
+        return io.TextIOWrapper(buffered, encoding=old.encoding, errors=old.errors,
+                                line_buffering=raw.isatty(), **kwargs)
+
+    sys.stdin = sys.__stdin__ = wrap(0, sys.__stdin__, False)
+    sys.stdout = sys.__stdout__ = wrap(1, sys.__stdout__, True)
+    sys.stderr = sys.__stderr__ = wrap(2, sys.__stderr__, True, write_through=True)
+
+
+def client_limits(client):
+    """The inherited limits of the process at the other end of the connection, read from the kernel."""
+    pid, _, _ = struct.unpack("3i", client.getsockopt(socket.SOL_SOCKET, socket.SO_PEERCRED, struct.calcsize("3i")))
+    if pid == 0:
+        raise ProcessLookupError("client is outside the server's PID namespace")
+    return [(limit, resource.prlimit(pid, limit)) for limit in INHERITED_LIMITS]
+
+
+def apply_limits(limits):
+    """Runs in the forked child; a run that cannot be limited does not start."""
+    try:
+        for limit, value in limits:
+            resource.setrlimit(limit, value)
+    except (OSError, ValueError) as e:
+        os.write(2, ("pyzygote: cannot apply limits: %s\n" % e).encode())
+        os._exit(126)
+
+
+def run_program(code, path):
+    """Runs in the forked child with the client's stdio on fds 0-2; never returns."""
+    reopen_stdio()
+    sys.argv = [path]
+    sys.path[0] = os.getcwd()
+    main = types.ModuleType("__main__")
+    main.__file__ = os.path.abspath(path)
+    main.__builtins__ = builtins
+    sys.modules["__main__"] = main
+    # Every run gets fresh randomness, as a new interpreter would
+    random.seed()
+
+    status = 0
+    try:
+        exec(code, main.__dict__)
+    except SystemExit as e:
+        status = exit_status(e.code)
+    except BaseException:
+        # Skip this frame so the traceback starts in the program, as it would normally
+        kind, value, tb = sys.exc_info()
+        sys.excepthook(kind, value.with_traceback(tb.tb_next), tb.tb_next)
+        status = 1
+    try:
+        if "threading" in sys.modules:
+            sys.modules["threading"]._shutdown()
+        atexit._run_exitfuncs()
+    except BaseException:
+        traceback.print_exc()
+        status = status or 1
+    try:
+        sys.stdout.flush()
+    except BaseException:
+        # What the interpreter does when stdout cannot be flushed at exit
+        status = 120
+    try:
+        sys.stderr.flush()
+    except BaseException:
+        pass
+    os._exit(status)
+
+
+def main():
+    socket_path, path = sys.argv[1], sys.argv[2]
+    with open(path, "rb") as source:
+        code = compile(source.read(), os.path.abspath(path), "exec", dont_inherit=True)
+
+    wakeup_read, wakeup_write = os.pipe()
+    os.set_blocking(wakeup_write, False)
+    signal.set_wakeup_fd(wakeup_write)
+    signal.signal(signal.SIGCHLD, lambda signum, frame: None)
+
+    if os.path.exists(socket_path):
+        os.unlink(socket_path)
+    listener = socket.socket(socket.AF_UNIX, socket.SOCK_STREAM)
+    listener.bind(socket_path)
+    listener.listen(16)
+
+    children = {}  # pid -> client connection
+    while True:
+        watched = [listener, wakeup_read] + list(children.values())
+        ready, _, _ = select.select(watched, [], [], IDLE_TIMEOUT)
+        if not ready and not children:
+            break
+
+        if wakeup_read in ready:
+            os.read(wakeup_read, 512)
+            while children:
+                pid, wait_status = os.waitpid(-1, os.WNOHANG)
+                if pid == 0:
+                    break
+                client = children.pop(pid, None)
+                if client is not None:
+                    # Killed by a signal is reported the way a shell would, as 128 + signal
+                    exit_code = os.waitstatus_to_exitcode(wait_status)
+                    try:
+                        client.sendall(struct.pack("!i", exit_code if exit_code >= 0 else 128 - exit_code))
+                    except OSError:
+                        pass
+                    client.close()
+
+        for client in [c for c in children.values() if c in ready]:
+            # The client only ever writes its initial message, so readable means it is gone
+            for pid, owner in list(children.items()):
+                if owner is client:
+                    try:
+                        os.kill(pid, signal.SIGKILL)
+                    except ProcessLookupError:
+                        pass
+
+        if listener in ready:
+            client, _ = listener.accept()
+            try:
+                _, fds, _, _ = socket.recv_fds(client, 1, 3)
+            except OSError:
+                client.close()
+                continue
+            try:
+                limits = client_limits(client) if len(fds) == 3 else None
+            except OSError:
+                limits = None
+            if limits is None:
+                for fd in fds:
+                    os.close(fd)
+                client.close()
+                continue
+            sys.stdout.flush()
+            sys.stderr.flush()
+            pid = os.fork()
+            if pid == 0:
+                signal.set_wakeup_fd(-1)
+                signal.signal(signal.SIGCHLD, signal.SIG_DFL)
+                listener.close()
+                client.close()
+                for other in children.values():
+                    other.close()
+                os.close(wakeup_read)
+                os.close(wakeup_write)
+                for target, fd in enumerate(fds):
+                    os.dup2(fd, target)
+                    os.close(fd)
+                apply_limits(limits)
+                run_program(code, path)
+            for fd in fds:
+                os.close(fd)
+            children[pid] = client
+
+    os.unlink(socket_path)
+
+
+if __name__ == "__main__":
+    main()
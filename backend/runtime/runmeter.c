@@ -0,0 +1,240 @@
+/*
+ * Runs one judged program and reports the CPU time and memory it used.
+ *
+ *     RUNMETER_TAG=TAG runmeter [-c CGROUP] [-u UID:GID] [-t CPU_MILLIS] [-f FILE_BYTES]
+ *                               COMMAND [ARG...]
+ *
+ * Meant to be the only job in its cgroup v2 group, CGROUP or by default the one
+ * mounted at /sys/fs/cgroup, so that the group's counters describe the program;
+ * with -c the program is moved into CGROUP before it starts. CPU time is the
+ * growth of cpu.stat's usage_usec, which also covers processes the program
+ * hands work to, and peak memory is the growth of memory.current, sampled while
+ * the program runs, or the largest RSS among its processes if that is higher. A kill by the cgroup's OOM killer is
+ * read from memory.events. Without cgroup v2 files it falls back to the
+ * program's rusage. With -t the program is killed once it has used that much
+ * CPU time, and with -f it may not write files larger than FILE_BYTES; it never
+ * dumps core. Started as root, it runs the program as UID:GID.
+ *
+ * When the program is done, the rest of its process group is killed and
+ *
+ *     \nTAG cpu_us=N peak_kb=N oom=0|1 cpu_limit=0|1\n
+ *
+ * is appended to stderr. The tag is only passed in the environment, which the
+ * program does not inherit and, running as another user, cannot read, so it
+ * cannot forge the report. Without RUNMETER_TAG nothing is reported, which suits
+ * runs that only need the cgroup and limits. Exits with the program's status, or
+ * 128 + signal.
+ */
+#define _GNU_SOURCE
+#include <errno.h>
+#include <fcntl.h>
+#include <grp.h>
+#include <signal.h>
+#include <stdio.h>
+#include <stdlib.h>
+#include <string.h>
+#include <sys/resource.h>
+#include <sys/time.h>
+#include <sys/types.h>
+#include <sys/wait.h>
+#include <time.h>
+#include <unistd.h>
+
+#ifndef CGROUP_DIR
+#define CGROUP_DIR "/sys/fs/cgroup"
+#endif
+
+#define SAMPLE_NANOS 5000000L
+
+static const char *cgroup = CGROUP_DIR;
+
+static FILE *open_cgroup_file(const char *name) {
+    char path[4096];
+    snprintf(path, sizeof(path), "%s/%s", cgroup, name);
+    return fopen(path, "r");
+}
+
+/* Value of "key N" in a flat-keyed cgroup file, or -1 if unavailable. */
+static long long cgroup_key(const char *file, const char *key) {
+    char line[256];
+    size_t length = strlen(key);
+    long long value = -1;
+    FILE *in = open_cgroup_file(file);
+
+    if (in == NULL) {
+        return -1;
+    }
+    while (fgets(line, sizeof(line), in) != NULL) {
+        if (strncmp(line, key, length) == 0 && line[length] == ' ') {
+            value = atoll(line + length + 1);
+            break;
+        }
+    }
+    fclose(in);
+    return value;
+}
+
+static long long cgroup_value(const char *file) {
+    long long value = -1;
+    FILE *in = open_cgroup_file(file);
+
+    if (in == NULL) {
+        return -1;
+    }
+    if (fscanf(in, "%lld", &value) != 1) {
+        value = -1;
+    }
+    fclose(in);
+    return value;
+}
+
+static long long cpu_usec(void) {
+    return cgroup_key("cpu.stat", "usage_usec");
+}
+
+static long long memory_bytes(void) {
+    return cgroup_value("memory.current");
+}
+
+static long long oom_kills(void) {
+    return cgroup_key("memory.events", "oom_kill");
+}
+
+/* Moves the calling process into the cgroup. */
+static int join_cgroup(void) {
+    char path[4096];
+    int fd, ok;
+
+    snprintf(path, sizeof(path), "%s/cgroup.procs", cgroup);
+    fd = open(path, O_WRONLY);
+    if (fd < 0) {
+        return -1;
+    }
+    ok = write(fd, "0", 1) == 1;
+    close(fd);
+    return ok ? 0 : -1;
+}
+
+static void run_child(char **command, int join, const char *user, long long cpu_millis, long long file_bytes) {
+    struct rlimit limit;
+    sigset_t none;
+
+    sigemptyset(&none);
+    sigprocmask(SIG_SETMASK, &none, NULL);
+    setpgid(0, 0);
+    unsetenv("RUNMETER_TAG");
+    if (join && join_cgroup() != 0) {
+        perror("runmeter: cannot join cgroup");
+        _exit(126);
+    }
+    limit.rlim_cur = limit.rlim_max = 0;
+    setrlimit(RLIMIT_CORE, &limit);
+    if (file_bytes > 0) {
+        limit.rlim_cur = limit.rlim_max = (rlim_t) file_bytes;
+        setrlimit(RLIMIT_FSIZE, &limit);
+    }
+    if (cpu_millis > 0) {
+        // Backstop for when the sampling loop cannot see CPU time; whole seconds only
+        limit.rlim_cur = (rlim_t) (cpu_millis + 999) / 1000 + 1;
+        limit.rlim_max = limit.rlim_cur + 1;
+        setrlimit(RLIMIT_CPU, &limit);
+    }
+    if (user != NULL && geteuid() == 0) {
+        unsigned int uid, gid;
+        if (sscanf(user, "%u:%u", &uid, &gid) != 2 || setgroups(0, NULL) != 0
+                || setgid(gid) != 0 || setuid(uid) != 0) {
+            perror("runmeter: cannot switch user");
+            _exit(126);
+        }
+    }
+    execvp(command[0], command);
+    perror(command[0]);
+    _exit(127);
+}
+
+int main(int argc, char **argv) {
+    const char *tag = getenv("RUNMETER_TAG");
+    const char *user = NULL;
+    long long cpu_millis = 0, file_bytes = 0;
+    long long cpu_start, memory_start, oom_start, peak = 0, used;
+    int cpu_limit_hit = 0, join = 0, status = 0, option;
+    struct timespec tick = {0, SAMPLE_NANOS};
+    struct rusage usage;
+    sigset_t chld;
+    pid_t pid;
+
+    while ((option = getopt(argc, argv, "+c:u:t:f:")) != -1) {
+        if (option == 'c') {
+            cgroup = optarg;
+            join = 1;
+        } else if (option == 'u') {
+            user = optarg;
+        } else if (option == 't') {
+            cpu_millis = atoll(optarg);
+        } else if (option == 'f') {
+            file_bytes = atoll(optarg);
+        } else {
+            return 2;
+        }
+    }
+    if (optind >= argc) {
+        fprintf(stderr, "usage: RUNMETER_TAG=TAG runmeter [-c CGROUP] [-u UID:GID] [-t CPU_MILLIS] "
+                        "[-f FILE_BYTES] COMMAND [ARG...]\n");
+        return 2;
+    }
+
+    sigemptyset(&chld);
+    sigaddset(&chld, SIGCHLD);
+    sigprocmask(SIG_BLOCK, &chld, NULL);
+
+    cpu_start = cpu_usec();
+    memory_start = memory_bytes();
+    oom_start = oom_kills();
+    pid = fork();
+    if (pid < 0) {
+        perror("runmeter: fork");
+        return 1;
+    }
+    if (pid == 0) {
+        run_child(argv + optind, join, user, cpu_millis, file_bytes);
+    }
+    setpgid(pid, pid);
+
+    for (;;) {
+        pid_t done = wait4(pid, &status, WNOHANG, &usage);
+        if (done == pid) {
+            break;
+        }
+        if (done < 0 && errno != EINTR) {
+            perror("runmeter: wait");
+            return 1;
+        }
+        if (memory_start >= 0 && (used = memory_bytes() - memory_start) > peak) {
+            peak = used;
+        }
+        if (cpu_millis > 0 && cpu_start >= 0 && !cpu_limit_hit
+                && cpu_usec() - cpu_start > cpu_millis * 1000) {
+            cpu_limit_hit = 1;
+            kill(-pid, SIGKILL);
+        }
+        // Returns as soon as the child exits, so short runs are not held up by the sampling interval
+        sigtimedwait(&chld, NULL, &tick);
+    }
+    // Whatever the program left running in the background does not outlive it
+    kill(-pid, SIGKILL);
+
+    long long cpu = cpu_start >= 0 ? cpu_usec() - cpu_start
+        : (long long) usage.ru_utime.tv_sec * 1000000 + usage.ru_utime.tv_usec
+          + (long long) usage.ru_stime.tv_sec * 1000000 + usage.ru_stime.tv_usec;
+    long long peak_kb = peak / 1024 > usage.ru_maxrss ? peak / 1024 : usage.ru_maxrss;
+    int oom = oom_start >= 0 && oom_kills() > oom_start;
+    if (cpu_millis > 0 && WIFSIGNALED(status) && (WTERMSIG(status) == SIGXCPU || cpu > cpu_millis * 1000)) {
+        cpu_limit_hit = 1;
+    }
+
+    if (tag != NULL) {
+        fprintf(stderr, "\n%s cpu_us=%lld peak_kb=%lld oom=%d cpu_limit=%d\n", tag, cpu, peak_kb, oom, cpu_limit_hit);
+        fflush(stderr);
+    }
+    return WIFSIGNALED(status) ? 128 + WTERMSIG(status) : WEXITSTATUS(status);
+}
@@ -1,11 +1,19 @@
 package com.shodhai;
 
+import com.shodhai.worker.JudgeWorkerApplication;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 
+import java.util.Arrays;
+
 @SpringBootApplication
 public class ShodhACodeApplication {
     public static void main(String[] args) {
+        // The same jar runs a standalone judge worker when started with --worker
+        if (Arrays.asList(args).contains("--worker")) {
+            JudgeWorkerApplication.main(args);
+            return;
+        }
         SpringApplication.run(ShodhACodeApplication.class, args);
     }
 }
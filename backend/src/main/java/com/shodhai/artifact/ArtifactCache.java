@@ -0,0 +1,267 @@
+package com.shodhai.artifact;
+
+import com.shodhai.config.JudgeProperties;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * Bounded on-disk cache of compiled artifacts, so the same source is compiled
+ * once per toolchain rather than once per submission, rejudge or retry. Each
+ * entry is a directory under {@code judge.artifact-cache.dir} named by
+ * {@link #key}; entries are evicted least recently used first once their total
+ * size passes {@code judge.artifact-cache.max-size}. Entries are written to a
+ * temporary directory and renamed into place, so readers never see half an entry.
+ */
+@Component
+public class ArtifactCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(ArtifactCache.class);
+
+    @Autowired
+    private JudgeProperties judgeProperties;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private Path root;
+
+    // Access-ordered entry sizes in bytes, guarded by this
+    private final LinkedHashMap<String, Long> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long totalBytes;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+    private final AtomicLong bytesServed = new AtomicLong();
+
+    @PostConstruct
+    public void init() throws IOException {
+        root = judgeProperties.getArtifactCache().getDir().toAbsolutePath();
+        Path temp = root.resolve("tmp");
+        deleteRecursively(temp);
+        Files.createDirectories(temp);
+        loadEntries();
+
+        FunctionCounter.builder("cache.gets", hits, AtomicLong::get)
+            .description("Compilations answered from the artifact cache")
+            .tags("cache", "compiledArtifacts", "result", "hit")
+            .register(meterRegistry);
+        FunctionCounter.builder("cache.gets", misses, AtomicLong::get)
+            .description("Compilations that had to run the compiler")
+            .tags("cache", "compiledArtifacts", "result", "miss")
+            .register(meterRegistry);
+        FunctionCounter.builder("cache.evictions", evictions, AtomicLong::get)
+            .description("Compiled artifacts dropped to stay within the size limit")
+            .tags("cache", "compiledArtifacts")
+            .register(meterRegistry);
+        Gauge.builder("cache.size", this, ArtifactCache::size)
+            .description("Compiled artifacts currently cached")
+            .tags("cache", "compiledArtifacts")
+            .register(meterRegistry);
+        Gauge.builder("judge.artifacts.bytes", this, ArtifactCache::getTotalBytes)
+            .description("Disk space used by cached compiled artifacts")
+            .baseUnit("bytes")
+            .register(meterRegistry);
+        FunctionCounter.builder("judge.artifacts.bytes.served", bytesServed, AtomicLong::get)
+            .description("Compiled artifact bytes copied from the cache instead of being compiled")
+            .baseUnit("bytes")
+            .register(meterRegistry);
+    }
+
+    /** SHA-256 (hex) over language, toolchain and the exact source bytes. */
+    public static String key(String language, String toolchain, byte[] source) {
+        try {
+            MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+            sha256.update((language + "\n" + toolchain + "\n").getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(sha256.digest(source));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    public boolean isEnabled() {
+        return judgeProperties.getArtifactCache().isEnabled();
+    }
+
+    /** Copies a cached entry's files into {@code workspace}; false on a miss. */
+    public boolean restore(String key, Path workspace) {
+        Long size;
+        synchronized (this) {
+            size = entries.get(key);
+        }
+        if (size == null) {
+            misses.incrementAndGet();
+            return false;
+        }
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(root.resolve(key))) {
+            for (Path file : files) {
+                Files.copy(file, workspace.resolve(file.getFileName().toString()), StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch (IOException e) {
+            // Evicted while we were copying; compiling again is always correct
+            logger.debug("Cached artifact {} vanished while restoring: {}", key, e.getMessage());
+            misses.incrementAndGet();
+            return false;
+        }
+        hits.incrementAndGet();
+        bytesServed.addAndGet(size);
+        return true;
+    }
+
+    /** Caches the files in {@code workspace} matching {@code glob}. Failures only cost a later recompile. */
+    public void store(String key, Path workspace, String glob) {
+        synchronized (this) {
+            if (entries.containsKey(key)) {
+                return;
+            }
+        }
+        Path temp = null;
+        try {
+            temp = Files.createTempDirectory(root.resolve("tmp"), "store-");
+            long size = 0;
+            try (DirectoryStream<Path> files = Files.newDirectoryStream(workspace, glob)) {
+                for (Path file : files) {
+                    Files.copy(file, temp.resolve(file.getFileName().toString()));
+                    size += Files.size(file);
+                }
+            }
+            if (size == 0 || size > maxBytes()) {
+                return;
+            }
+            try {
+                Files.move(temp, root.resolve(key), StandardCopyOption.ATOMIC_MOVE);
+            } catch (FileAlreadyExistsException e) {
+                // Another worker cached the same source first
+                return;
+            }
+            temp = null;
+            List<String> evicted;
+            synchronized (this) {
+                entries.put(key, size);
+                totalBytes += size;
+                evicted = evictOverflow();
+            }
+            for (String victim : evicted) {
+                deleteRecursively(root.resolve(victim));
+            }
+        } catch (IOException e) {
+            logger.warn("Could not cache compiled artifact {}: {}", key, e.getMessage());
+        } finally {
+            if (temp != null) {
+                deleteRecursively(temp);
+            }
+        }
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public synchronized long getTotalBytes() {
+        return totalBytes;
+    }
+
+    /** Picks up entries left by an earlier run, oldest first so they are evicted first. */
+    private void loadEntries() throws IOException {
+        List<Path> found = new ArrayList<>();
+        try (DirectoryStream<Path> dirs = Files.newDirectoryStream(root, Files::isDirectory)) {
+            for (Path dir : dirs) {
+                if (!dir.getFileName().toString().equals("tmp")) {
+                    found.add(dir);
+                }
+            }
+        }
+        found.sort(Comparator.comparing(ArtifactCache::lastModified));
+        List<String> evicted;
+        synchronized (this) {
+            for (Path dir : found) {
+                long size = directorySize(dir);
+                entries.put(dir.getFileName().toString(), size);
+                totalBytes += size;
+            }
+            evicted = evictOverflow();
+        }
+        for (String victim : evicted) {
+            deleteRecursively(root.resolve(victim));
+        }
+        logger.info("Artifact cache at {} holds {} entries ({} bytes)", root, size(), getTotalBytes());
+    }
+
+    private List<String> evictOverflow() {
+        List<String> evicted = new ArrayList<>();
+        Iterator<Map.Entry<String, Long>> eldest = entries.entrySet().iterator();
+        while (totalBytes > maxBytes() && eldest.hasNext()) {
+            Map.Entry<String, Long> entry = eldest.next();
+            totalBytes -= entry.getValue();
+            evicted.add(entry.getKey());
+            eldest.remove();
+            evictions.incrementAndGet();
+        }
+        return evicted;
+    }
+
+    private long maxBytes() {
+        return judgeProperties.getArtifactCache().getMaxSize().toBytes();
+    }
+
+    private static FileTime lastModified(Path path) {
+        try {
+            return Files.getLastModifiedTime(path);
+        } catch (IOException e) {
+            return FileTime.fromMillis(0);
+        }
+    }
+
+    private static long directorySize(Path dir) throws IOException {
+        try (Stream<Path> files = Files.list(dir)) {
+            long size = 0;
+            for (Path file : (Iterable<Path>) files::iterator) {
+                size += Files.size(file);
+            }
+            return size;
+        }
+    }
+
+    private static void deleteRecursively(Path path) {
+        if (!Files.exists(path)) {
+            return;
+        }
+        try (Stream<Path> walk = Files.walk(path)) {
+            walk.sorted(Comparator.reverseOrder()).forEach(file -> {
+                try {
+                    Files.delete(file);
+                } catch (IOException e) {
+                    logger.warn("Failed to delete {}", file, e);
+                }
+            });
+        } catch (IOException e) {
+            logger.warn("Failed to delete {}", path, e);
+        }
+    }
+}
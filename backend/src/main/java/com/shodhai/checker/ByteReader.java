@@ -0,0 +1,115 @@
+package com.shodhai.checker;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/** Small buffered, peekable byte reader shared by the streaming checkers. */
+final class ByteReader {
+
+    private static final int BUFFER_SIZE = 8192;
+
+    private final InputStream in;
+    private final byte[] buffer = new byte[BUFFER_SIZE];
+    private int position;
+    private int limit;
+    private long line = 1;
+
+    ByteReader(InputStream in) {
+        this.in = in;
+    }
+
+    int peek() throws IOException {
+        if (position == limit) {
+            limit = in.read(buffer, 0, buffer.length);
+            position = 0;
+            if (limit <= 0) {
+                limit = 0;
+                return -1;
+            }
+        }
+        return buffer[position] & 0xff;
+    }
+
+    int read() throws IOException {
+        int b = peek();
+        if (b != -1) {
+            position++;
+            if (b == '\n') {
+                line++;
+            }
+        }
+        return b;
+    }
+
+    long getLine() {
+        return line;
+    }
+
+    void skipWhitespace() throws IOException {
+        while (isWhitespace(peek())) {
+            read();
+        }
+    }
+
+    /** Consumes input until the first non-whitespace byte; true if only whitespace was left. */
+    boolean restIsWhitespace() throws IOException {
+        int b;
+        while ((b = read()) != -1) {
+            if (!isWhitespace(b)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Reads the next whitespace-delimited token, keeping at most {@code maxLength}
+     * bytes of it. Returns null at end of input.
+     */
+    byte[] readToken(int maxLength) throws IOException {
+        skipWhitespace();
+        if (peek() == -1) {
+            return null;
+        }
+        byte[] token = new byte[Math.min(maxLength, 64)];
+        int length = 0;
+        while (peek() != -1 && !isWhitespace(peek())) {
+            int b = read();
+            if (length < maxLength) {
+                if (length == token.length) {
+                    token = Arrays.copyOf(token, Math.min(maxLength, token.length * 2));
+                }
+                token[length++] = (byte) b;
+            }
+        }
+        return Arrays.copyOf(token, length);
+    }
+
+    /**
+     * Compares the next token against {@code expected} byte by byte, stopping at the
+     * first difference. Returns false on a difference or at end of input.
+     */
+    boolean matchToken(byte[] expected) throws IOException {
+        skipWhitespace();
+        for (byte e : expected) {
+            int b = peek();
+            if (b == -1 || isWhitespace(b) || (byte) b != e) {
+                return false;
+            }
+            read();
+        }
+        int next = peek();
+        return next == -1 || isWhitespace(next);
+    }
+
+    static boolean isWhitespace(int b) {
+        return b == ' ' || b == '\n' || b == '\r' || b == '\t' || b == '\f' || b == 0x0B;
+    }
+
+    static String preview(byte[] bytes) {
+        String text = new String(bytes, StandardCharsets.UTF_8);
+        return text.length() <= 64 ? text : text.substring(0, 64) + "...";
+    }
+}
@@ -0,0 +1,29 @@
+package com.shodhai.checker;
+
+public class CheckResult {
+    private static final CheckResult ACCEPTED = new CheckResult(true, null);
+
+    private final boolean accepted;
+    private final String message;
+
+    private CheckResult(boolean accepted, String message) {
+        this.accepted = accepted;
+        this.message = message;
+    }
+
+    public static CheckResult accepted() {
+        return ACCEPTED;
+    }
+
+    public static CheckResult wrongAnswer(String message) {
+        return new CheckResult(false, message);
+    }
+
+    public boolean isAccepted() {
+        return accepted;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+}
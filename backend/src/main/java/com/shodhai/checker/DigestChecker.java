@@ -0,0 +1,32 @@
+package com.shodhai.checker;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Compares the SHA-256 of the normalized output with a precomputed digest, so the
+ * expected output itself is never read. Output whose normalized form is already
+ * longer than the expected one is rejected without waiting for the rest.
+ */
+public class DigestChecker implements OutputChecker {
+
+    @Override
+    public CheckResult check(InputStream actual, ExpectedOutput expected) throws IOException {
+        NormalizedDigest digest = new NormalizedDigest();
+        byte[] buffer = new byte[8192];
+        int read;
+        while ((read = actual.read(buffer)) != -1) {
+            digest.update(buffer, 0, read);
+            if (digest.size() > expected.getNormalizedSize()) {
+                return CheckResult.wrongAnswer("Output is longer than expected");
+            }
+        }
+        if (digest.size() != expected.getNormalizedSize()) {
+            return CheckResult.wrongAnswer("Output is shorter than expected");
+        }
+        if (!digest.hex().equals(expected.getDigest())) {
+            return CheckResult.wrongAnswer("Output does not match the expected output");
+        }
+        return CheckResult.accepted();
+    }
+}
@@ -0,0 +1,60 @@
+package com.shodhai.checker;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Byte-for-byte comparison after trimming leading and trailing whitespace from the
+ * whole output, matching the judge's original {@code trim().equals()} behaviour.
+ */
+public class ExactChecker implements OutputChecker {
+
+    @Override
+    public CheckResult check(InputStream actualStream, ExpectedOutput expectedOutput) throws IOException {
+        try (InputStream expectedStream = expectedOutput.open()) {
+            ByteReader actual = new ByteReader(actualStream);
+            ByteReader expected = new ByteReader(expectedStream);
+            actual.skipWhitespace();
+            expected.skipWhitespace();
+
+            while (true) {
+                long line = actual.getLine();
+                int a = actual.read();
+                int e = expected.read();
+                if (a == e) {
+                    if (a == -1) {
+                        return CheckResult.accepted();
+                    }
+                    continue;
+                }
+
+                // Differences confined to trailing whitespace do not count
+                if (a == -1 && ByteReader.isWhitespace(e) && expected.restIsWhitespace()) {
+                    return CheckResult.accepted();
+                }
+                if (e == -1 && ByteReader.isWhitespace(a) && actual.restIsWhitespace()) {
+                    return CheckResult.accepted();
+                }
+                if (ByteReader.isWhitespace(a) && ByteReader.isWhitespace(e)
+                        && expected.restIsWhitespace() && actual.restIsWhitespace()) {
+                    return CheckResult.accepted();
+                }
+                return CheckResult.wrongAnswer("Output differs from expected on line " + line
+                                               + ": expected " + describe(e) + ", got " + describe(a));
+            }
+        }
+    }
+
+    private static String describe(int b) {
+        if (b == -1) {
+            return "end of output";
+        }
+        if (b == '\n') {
+            return "end of line";
+        }
+        if (b >= 0x20 && b < 0x7f) {
+            return "'" + (char) b + "'";
+        }
+        return String.format("byte 0x%02x", b);
+    }
+}
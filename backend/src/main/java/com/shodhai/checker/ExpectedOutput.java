@@ -0,0 +1,51 @@
+package com.shodhai.checker;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Reference answer for one test case. Stream-based checkers read it through
+ * {@link #open()}; the digest checker only needs the precomputed digest and size.
+ */
+public class ExpectedOutput {
+
+    @FunctionalInterface
+    public interface Source {
+        InputStream open() throws IOException;
+    }
+
+    private final Source source;
+    private final String digest;
+    private final long normalizedSize;
+
+    public ExpectedOutput(Source source, String digest, long normalizedSize) {
+        this.source = source;
+        this.digest = digest;
+        this.normalizedSize = normalizedSize;
+    }
+
+    public static ExpectedOutput of(String text, String digest, Long normalizedSize) {
+        byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+        if (digest == null || normalizedSize == null) {
+            NormalizedDigest computed = NormalizedDigest.of(bytes);
+            digest = computed.hex();
+            normalizedSize = computed.size();
+        }
+        return new ExpectedOutput(() -> new ByteArrayInputStream(bytes), digest, normalizedSize);
+    }
+
+    public InputStream open() throws IOException {
+        return source.open();
+    }
+
+    /** SHA-256 (hex) of the output after {@link NormalizedDigest} normalization. */
+    public String getDigest() {
+        return digest;
+    }
+
+    public long getNormalizedSize() {
+        return normalizedSize;
+    }
+}
@@ -0,0 +1,93 @@
+package com.shodhai.checker;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Token comparison where numeric tokens match if they are within an absolute or
+ * relative epsilon of the expected value. Non-numeric tokens must match exactly.
+ * A number is plain decimal or scientific notation ({@code -12}, {@code .5},
+ * {@code 1.5e-3}); Java literal forms such as {@code 1d} or {@code 0x1p3}, and
+ * {@code NaN}, {@code Infinity} or values that overflow a double, are words.
+ */
+public class FloatChecker extends TokenChecker {
+
+    private static final int MAX_NUMBER_LENGTH = 128;
+
+    private final double epsilon;
+
+    public FloatChecker(double epsilon) {
+        this.epsilon = epsilon;
+    }
+
+    @Override
+    protected CheckResult compareToken(long index, byte[] expectedToken, ByteReader actual) throws IOException {
+        Double expectedValue = parse(expectedToken);
+        if (expectedValue == null) {
+            return super.compareToken(index, expectedToken, actual);
+        }
+
+        byte[] actualToken = actual.readToken(MAX_NUMBER_LENGTH);
+        if (actualToken == null) {
+            return missingToken(index, expectedToken);
+        }
+        Double actualValue = parse(actualToken);
+        if (actualValue == null) {
+            return CheckResult.wrongAnswer("Token " + index + ": expected a number close to "
+                                           + ByteReader.preview(expectedToken) + ", got '" + ByteReader.preview(actualToken) + "'");
+        }
+
+        double difference = Math.abs(actualValue - expectedValue);
+        if (difference <= epsilon || difference <= epsilon * Math.abs(expectedValue)) {
+            return null;
+        }
+        return CheckResult.wrongAnswer("Token " + index + ": expected " + ByteReader.preview(expectedToken)
+                                       + ", got " + ByteReader.preview(actualToken) + " (tolerance " + epsilon + ")");
+    }
+
+    private static Double parse(byte[] token) {
+        if (token.length > MAX_NUMBER_LENGTH || !isPlainNumber(token)) {
+            return null;
+        }
+        double value = Double.parseDouble(new String(token, StandardCharsets.US_ASCII));
+        return Double.isInfinite(value) ? null : value;
+    }
+
+    /** {@code [+-]?(digits(.digits?)?|.digits)([eE][+-]?digits)?} */
+    static boolean isPlainNumber(byte[] token) {
+        int i = 0;
+        if (i < token.length && (token[i] == '+' || token[i] == '-')) {
+            i++;
+        }
+        int integerDigits = skipDigits(token, i);
+        i += integerDigits;
+        int fractionDigits = 0;
+        if (i < token.length && token[i] == '.') {
+            fractionDigits = skipDigits(token, ++i);
+            i += fractionDigits;
+        }
+        if (integerDigits == 0 && fractionDigits == 0) {
+            return false;
+        }
+        if (i < token.length && (token[i] == 'e' || token[i] == 'E')) {
+            i++;
+            if (i < token.length && (token[i] == '+' || token[i] == '-')) {
+                i++;
+            }
+            int exponentDigits = skipDigits(token, i);
+            if (exponentDigits == 0) {
+                return false;
+            }
+            i += exponentDigits;
+        }
+        return i == token.length;
+    }
+
+    private static int skipDigits(byte[] token, int from) {
+        int i = from;
+        while (i < token.length && token[i] >= '0' && token[i] <= '9') {
+            i++;
+        }
+        return i - from;
+    }
+}
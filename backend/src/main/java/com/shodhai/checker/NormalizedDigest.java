@@ -0,0 +1,89 @@
+package com.shodhai.checker;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.HexFormat;
+
+/**
+ * Incremental SHA-256 over a normalized form of program output: trailing spaces,
+ * tabs and carriage returns are stripped from every line and trailing blank lines
+ * are dropped. {@link #size()} counts normalized bytes committed so far, which
+ * lets the digest checker reject output that is already longer than expected.
+ */
+public class NormalizedDigest {
+
+    private final MessageDigest sha256;
+    private final byte[] out = new byte[8192];
+    private int outLength;
+    private long size;
+
+    private byte[] pendingWhitespace = new byte[64];
+    private int pendingWhitespaceLength;
+    private long pendingNewlines;
+
+    public NormalizedDigest() {
+        try {
+            this.sha256 = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    public static NormalizedDigest of(String text) {
+        return of(text.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static NormalizedDigest of(byte[] bytes) {
+        NormalizedDigest digest = new NormalizedDigest();
+        digest.update(bytes, 0, bytes.length);
+        return digest;
+    }
+
+    public void update(byte[] bytes, int offset, int length) {
+        for (int i = offset; i < offset + length; i++) {
+            byte b = bytes[i];
+            if (b == '\n') {
+                pendingWhitespaceLength = 0;
+                pendingNewlines++;
+            } else if (b == ' ' || b == '\t' || b == '\r') {
+                if (pendingWhitespaceLength == pendingWhitespace.length) {
+                    pendingWhitespace = Arrays.copyOf(pendingWhitespace, pendingWhitespace.length * 2);
+                }
+                pendingWhitespace[pendingWhitespaceLength++] = b;
+            } else {
+                // Whitespace and newlines only count once real content follows them
+                for (long n = 0; n < pendingNewlines; n++) {
+                    emit((byte) '\n');
+                }
+                for (int w = 0; w < pendingWhitespaceLength; w++) {
+                    emit(pendingWhitespace[w]);
+                }
+                pendingNewlines = 0;
+                pendingWhitespaceLength = 0;
+                emit(b);
+            }
+        }
+    }
+
+    public long size() {
+        return size;
+    }
+
+    /** Finishes the digest; the instance must not be updated afterwards. */
+    public String hex() {
+        sha256.update(out, 0, outLength);
+        outLength = 0;
+        return HexFormat.of().formatHex(sha256.digest());
+    }
+
+    private void emit(byte b) {
+        if (outLength == out.length) {
+            sha256.update(out, 0, outLength);
+            outLength = 0;
+        }
+        out[outLength++] = b;
+        size++;
+    }
+}
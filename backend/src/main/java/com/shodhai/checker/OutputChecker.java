@@ -0,0 +1,13 @@
+package com.shodhai.checker;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Decides whether a contestant's output matches the expected answer. Checkers read
+ * the output as a stream and must return as soon as a mismatch is proven, without
+ * reading the rest; the caller then kills the still-running program.
+ */
+public interface OutputChecker {
+    CheckResult check(InputStream actual, ExpectedOutput expected) throws IOException;
+}
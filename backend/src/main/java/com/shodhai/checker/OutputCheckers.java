@@ -0,0 +1,35 @@
+package com.shodhai.checker;
+
+import com.shodhai.entity.Problem;
+
+public final class OutputCheckers {
+
+    public static final double DEFAULT_EPSILON = 1e-6;
+
+    private static final OutputChecker EXACT = new ExactChecker();
+    private static final OutputChecker TOKEN = new TokenChecker();
+    private static final OutputChecker DIGEST = new DigestChecker();
+
+    private OutputCheckers() {}
+
+    public static OutputChecker forProblem(Problem problem) {
+        return create(problem.getCheckerType(), problem.getCheckerEpsilon());
+    }
+
+    public static OutputChecker create(Problem.CheckerType type, Double epsilon) {
+        if (type == null) {
+            return EXACT;
+        }
+        switch (type) {
+            case TOKEN:
+                return TOKEN;
+            case FLOAT:
+                return new FloatChecker(epsilon != null ? epsilon : DEFAULT_EPSILON);
+            case DIGEST:
+                return DIGEST;
+            case EXACT:
+            default:
+                return EXACT;
+        }
+    }
+}
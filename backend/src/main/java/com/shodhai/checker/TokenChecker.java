@@ -0,0 +1,52 @@
+package com.shodhai.checker;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/** Compares whitespace-separated tokens, ignoring how the tokens are spaced or split into lines. */
+public class TokenChecker implements OutputChecker {
+
+    private static final int MAX_EXPECTED_TOKEN = 1 << 20;
+
+    @Override
+    public CheckResult check(InputStream actualStream, ExpectedOutput expectedOutput) throws IOException {
+        try (InputStream expectedStream = expectedOutput.open()) {
+            ByteReader actual = new ByteReader(actualStream);
+            ByteReader expected = new ByteReader(expectedStream);
+
+            for (long index = 1; ; index++) {
+                byte[] expectedToken = expected.readToken(MAX_EXPECTED_TOKEN);
+                if (expectedToken == null) {
+                    actual.skipWhitespace();
+                    if (actual.peek() != -1) {
+                        return CheckResult.wrongAnswer("Output has more tokens than expected (" + (index - 1) + ")");
+                    }
+                    return CheckResult.accepted();
+                }
+
+                CheckResult tokenResult = compareToken(index, expectedToken, actual);
+                if (tokenResult != null) {
+                    return tokenResult;
+                }
+            }
+        }
+    }
+
+    /** Returns null when the next actual token matches, otherwise the wrong-answer result. */
+    protected CheckResult compareToken(long index, byte[] expectedToken, ByteReader actual) throws IOException {
+        actual.skipWhitespace();
+        if (actual.peek() == -1) {
+            return missingToken(index, expectedToken);
+        }
+        if (actual.matchToken(expectedToken)) {
+            return null;
+        }
+        return CheckResult.wrongAnswer("Token " + index + ": expected '" + ByteReader.preview(expectedToken)
+                                       + "', got a different value");
+    }
+
+    protected static CheckResult missingToken(long index, byte[] expectedToken) {
+        return CheckResult.wrongAnswer("Token " + index + ": expected '" + ByteReader.preview(expectedToken)
+                                       + "', got end of output");
+    }
+}
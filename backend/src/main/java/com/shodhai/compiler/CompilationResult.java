@@ -0,0 +1,40 @@
+package com.shodhai.compiler;
+
+public class CompilationResult {
+
+    private final boolean success;
+    private final boolean timedOut;
+    private final String output;
+
+    private CompilationResult(boolean success, boolean timedOut, String output) {
+        this.success = success;
+        this.timedOut = timedOut;
+        this.output = output;
+    }
+
+    public static CompilationResult success() {
+        return new CompilationResult(true, false, null);
+    }
+
+    public static CompilationResult failure(String output) {
+        return new CompilationResult(false, false, output);
+    }
+
+    public static CompilationResult timedOut(String output) {
+        return new CompilationResult(false, true, output);
+    }
+
+    public boolean isSuccess() {
+        return success;
+    }
+
+    /** True when the compiler was stopped by its time limit, which depends on load as much as on the source. */
+    public boolean isTimedOut() {
+        return timedOut;
+    }
+
+    /** Compiler diagnostics of a failed compilation. */
+    public String getOutput() {
+        return output;
+    }
+}
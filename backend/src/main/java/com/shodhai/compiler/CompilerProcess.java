@@ -0,0 +1,141 @@
+package com.shodhai.compiler;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/** One running {@link CompilerServer} and its pipes; used by one compilation at a time. */
+class CompilerProcess {
+
+    private final Process process;
+    private final DataInputStream in;
+    private final DataOutputStream out;
+    private int compilations;
+
+    private CompilerProcess(Process process) {
+        this.process = process;
+        this.in = new DataInputStream(new BufferedInputStream(process.getInputStream()));
+        this.out = new DataOutputStream(new BufferedOutputStream(process.getOutputStream()));
+    }
+
+    /**
+     * Starts the process and waits until it has warmed up; {@code watchdog} kills
+     * it if that takes longer than {@code timeout}.
+     */
+    static CompilerProcess start(List<String> command, Path workingDirectory, ScheduledExecutorService watchdog,
+                                 Duration timeout) throws IOException {
+        Process process = new ProcessBuilder(command)
+            .directory(workingDirectory.toFile())
+            .redirectError(ProcessBuilder.Redirect.INHERIT)
+            .start();
+        CompilerProcess compilerProcess = new CompilerProcess(process);
+        // Killing the process is what ends a blocked read of the handshake
+        AtomicBoolean timedOut = new AtomicBoolean();
+        ScheduledFuture<?> deadline = watchdog.schedule(() -> {
+            timedOut.set(true);
+            process.destroyForcibly();
+        }, timeout.toMillis(), TimeUnit.MILLISECONDS);
+        try {
+            if (!compilerProcess.in.readBoolean()) {
+                throw new IOException("Compiler process did not start");
+            }
+        } catch (IOException e) {
+            process.destroyForcibly();
+            String reason = timedOut.get() ? "no answer within " + timeout.toSeconds() + " seconds"
+                : e instanceof EOFException ? "exited before it was ready" : e.getMessage();
+            throw new IOException("Compiler process did not start: " + reason, e);
+        } finally {
+            deadline.cancel(false);
+        }
+        return compilerProcess;
+    }
+
+    /**
+     * Sends one source file and blocks for the answer. An {@link IOException}
+     * means the process died or was destroyed, and it must not be reused.
+     */
+    Reply compile(String fileName, byte[] source) throws IOException {
+        compilations++;
+        out.writeUTF(fileName);
+        out.writeInt(source.length);
+        out.write(source);
+        out.flush();
+
+        boolean success = in.readBoolean();
+        byte[] diagnostics = new byte[in.readInt()];
+        in.readFully(diagnostics);
+        int classCount = in.readInt();
+        Map<String, byte[]> classes = new LinkedHashMap<>();
+        for (int i = 0; i < classCount; i++) {
+            String className = in.readUTF();
+            byte[] bytes = new byte[in.readInt()];
+            in.readFully(bytes);
+            classes.put(className, bytes);
+        }
+        return new Reply(success, new String(diagnostics, StandardCharsets.UTF_8), classes);
+    }
+
+    int getCompilations() {
+        return compilations;
+    }
+
+    boolean isAlive() {
+        return process.isAlive();
+    }
+
+    /** Closing stdin lets the server exit on its own; it is killed if it has not within a second. */
+    void stop() {
+        try {
+            out.close();
+            if (!process.waitFor(1, TimeUnit.SECONDS)) {
+                process.destroyForcibly();
+            }
+        } catch (IOException e) {
+            process.destroyForcibly();
+        } catch (InterruptedException e) {
+            process.destroyForcibly();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    void kill() {
+        process.destroyForcibly();
+    }
+
+    static class Reply {
+        private final boolean success;
+        private final String diagnostics;
+        private final Map<String, byte[]> classes;
+
+        Reply(boolean success, String diagnostics, Map<String, byte[]> classes) {
+            this.success = success;
+            this.diagnostics = diagnostics;
+            this.classes = classes;
+        }
+
+        boolean isSuccess() {
+            return success;
+        }
+
+        String getDiagnostics() {
+            return diagnostics;
+        }
+
+        Map<String, byte[]> getClasses() {
+            return classes;
+        }
+    }
+}
@@ -0,0 +1,201 @@
+package com.shodhai.compiler;
+
+import javax.tools.FileObject;
+import javax.tools.ForwardingJavaFileManager;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileManager;
+import javax.tools.JavaFileObject;
+import javax.tools.SimpleJavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.StandardLocation;
+import javax.tools.ToolProvider;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.FileOutputStream;
+import java.io.FileDescriptor;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.io.StringWriter;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Entry point of the compiler process started by {@link CompilerService}. It
+ * keeps one {@link JavaCompiler} and its standard file manager warm for its
+ * whole life and compiles each request entirely in memory: the source is read
+ * from stdin, class files are written back on stdout, and nothing touches the
+ * disk. The class path is empty and annotation processing is off, so no
+ * submission code ever runs here. Depends on the JDK only, since it is started
+ * from a directory holding just its own classes.
+ *
+ * <p>Request: file name (UTF), source length (int), UTF-8 source bytes.
+ * Response: success (boolean), diagnostics length (int) and UTF-8 bytes, class
+ * count (int), then per class its binary name (UTF), length (int) and bytes.
+ */
+public final class CompilerServer {
+
+    // Enough compilations for the JIT to have compiled javac's hot paths
+    private static final int WARMUP_COMPILATIONS = 30;
+    private static final String WARMUP_SOURCE = String.join("\n",
+        "import java.io.*;",
+        "import java.util.*;",
+        "public class Main {",
+        "    public static void main(String[] args) throws IOException {",
+        "        BufferedReader in = new BufferedReader(new InputStreamReader(System.in));",
+        "        Map<String, List<Integer>> seen = new HashMap<>();",
+        "        String line;",
+        "        while ((line = in.readLine()) != null) {",
+        "            seen.computeIfAbsent(line.trim(), key -> new ArrayList<>()).add(line.length());",
+        "        }",
+        "        seen.forEach((key, lengths) -> System.out.println(key + \" \" + lengths.size()));",
+        "    }",
+        "}");
+
+    private final JavaCompiler compiler;
+    private final StandardJavaFileManager standardFileManager;
+    private final List<String> options;
+
+    CompilerServer(JavaCompiler compiler, List<String> options) throws IOException {
+        this.compiler = compiler;
+        this.standardFileManager = compiler.getStandardFileManager(null, null, StandardCharsets.UTF_8);
+        // Submissions see the platform classes only, as with "javac Main.java" in an empty sandbox
+        this.standardFileManager.setLocation(StandardLocation.CLASS_PATH, List.of());
+        this.options = options;
+    }
+
+    public static void main(String[] args) throws IOException {
+        DataInputStream in = new DataInputStream(new BufferedInputStream(System.in));
+        DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(FileDescriptor.out)));
+        // The protocol owns stdout; anything else printing there would corrupt it
+        System.setOut(new PrintStream(new FileOutputStream(FileDescriptor.err), true));
+
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        if (compiler == null) {
+            System.err.println("No system Java compiler; the compiler process needs a JDK, not a JRE");
+            System.exit(2);
+        }
+
+        List<String> options = new ArrayList<>(Arrays.asList("-proc:none", "-implicit:none", "-encoding", "UTF-8"));
+        options.addAll(Arrays.asList(args));
+        CompilerServer server = new CompilerServer(compiler, options);
+
+        // Warm up before announcing readiness, so the first submissions do not pay for class loading and JIT
+        for (int i = 0; i < WARMUP_COMPILATIONS; i++) {
+            server.compile("Main.java", WARMUP_SOURCE);
+        }
+        out.writeBoolean(true);
+        out.flush();
+
+        while (true) {
+            String fileName;
+            try {
+                fileName = in.readUTF();
+            } catch (EOFException e) {
+                return;
+            }
+            byte[] source = new byte[in.readInt()];
+            in.readFully(source);
+
+            Result result = server.compile(fileName, new String(source, StandardCharsets.UTF_8));
+            out.writeBoolean(result.success);
+            byte[] diagnostics = result.diagnostics.getBytes(StandardCharsets.UTF_8);
+            out.writeInt(diagnostics.length);
+            out.write(diagnostics);
+            out.writeInt(result.classes.size());
+            for (Map.Entry<String, ByteArrayOutputStream> entry : result.classes.entrySet()) {
+                out.writeUTF(entry.getKey());
+                out.writeInt(entry.getValue().size());
+                entry.getValue().writeTo(out);
+            }
+            out.flush();
+        }
+    }
+
+    Result compile(String fileName, String source) {
+        StringWriter diagnostics = new StringWriter();
+        MemoryFileManager fileManager = new MemoryFileManager(standardFileManager);
+        // Without a diagnostic listener javac formats diagnostics exactly as on the command line
+        JavaCompiler.CompilationTask task = compiler.getTask(diagnostics, fileManager, null, options, null,
+                                                             List.of(new SourceFile(fileName, source)));
+        boolean success = task.call();
+        return new Result(success, diagnostics.toString(), fileManager.classes);
+    }
+
+    static final class Result {
+        final boolean success;
+        final String diagnostics;
+        final Map<String, ByteArrayOutputStream> classes;
+
+        Result(boolean success, String diagnostics, Map<String, ByteArrayOutputStream> classes) {
+            this.success = success;
+            this.diagnostics = diagnostics;
+            this.classes = classes;
+        }
+    }
+
+    static final class SourceFile extends SimpleJavaFileObject {
+        private final String name;
+        private final String source;
+
+        SourceFile(String name, String source) {
+            super(URI.create("string:///" + name), Kind.SOURCE);
+            this.name = name;
+            this.source = source;
+        }
+
+        // Diagnostics read "Main.java:3: error: ..." as they would from javac in the workspace
+        @Override
+        public String getName() {
+            return name;
+        }
+
+        @Override
+        public CharSequence getCharContent(boolean ignoreEncodingErrors) {
+            return source;
+        }
+    }
+
+    static final class ClassFile extends SimpleJavaFileObject {
+        private final ByteArrayOutputStream bytes;
+
+        ClassFile(String className, ByteArrayOutputStream bytes) {
+            super(URI.create("mem:///" + className.replace('.', '/') + Kind.CLASS.extension), Kind.CLASS);
+            this.bytes = bytes;
+        }
+
+        @Override
+        public OutputStream openOutputStream() {
+            bytes.reset();
+            return bytes;
+        }
+    }
+
+    /** Collects class output in memory; the shared standard file manager is never closed. */
+    static final class MemoryFileManager extends ForwardingJavaFileManager<JavaFileManager> {
+        final Map<String, ByteArrayOutputStream> classes = new LinkedHashMap<>();
+
+        MemoryFileManager(JavaFileManager fileManager) {
+            super(fileManager);
+        }
+
+        @Override
+        public JavaFileObject getJavaFileForOutput(Location location, String className, JavaFileObject.Kind kind,
+                                                   FileObject sibling) {
+            return new ClassFile(className, classes.computeIfAbsent(className, name -> new ByteArrayOutputStream()));
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
@@ -0,0 +1,244 @@
+package com.shodhai.compiler;
+
+import com.shodhai.config.JudgeProperties;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+/**
+ * Compiles Java sources in a small pool of long-lived {@link CompilerServer}
+ * processes instead of starting a javac JVM per submission. Each process keeps
+ * its compiler warm, so a compilation costs tens of milliseconds rather than
+ * JVM startup. The processes are separate JVMs with their own heap limit, an
+ * empty class path and no annotation processing; one that crashes, times out or
+ * has served {@code judge.compiler.max-compilations} sources is replaced.
+ */
+@Component
+public class CompilerService {
+
+    private static final Logger logger = LoggerFactory.getLogger(CompilerService.class);
+
+    private static final String SERVER_CLASS = CompilerServer.class.getName();
+    // Everything the server process loads besides the JDK
+    private static final List<Class<?>> SERVER_CLASSES = List.of(
+        CompilerServer.class, CompilerServer.Result.class, CompilerServer.SourceFile.class,
+        CompilerServer.ClassFile.class, CompilerServer.MemoryFileManager.class
+    );
+
+    @Autowired
+    private JudgeProperties judgeProperties;
+
+    private final BlockingQueue<CompilerProcess> idle = new LinkedBlockingQueue<>();
+    private final AtomicBoolean available = new AtomicBoolean();
+    private Semaphore permits;
+    private Path classesDir;
+    private List<String> command;
+    private ScheduledExecutorService watchdog;
+
+    @PostConstruct
+    public void init() {
+        JudgeProperties.Compiler settings = judgeProperties.getCompiler();
+        if (!"service".equals(settings.getMode())) {
+            return;
+        }
+        try {
+            classesDir = extractServerClasses();
+        } catch (IOException e) {
+            logger.warn("Could not prepare the compiler service, compiling in the sandbox instead: {}", e.getMessage());
+            return;
+        }
+        command = new ArrayList<>(List.of(
+            Path.of(System.getProperty("java.home"), "bin", "java").toString(),
+            "-Xmx" + settings.getMaxHeap(), "-XX:+UseSerialGC", "-XX:+ExitOnOutOfMemoryError",
+            "-cp", classesDir.toString(), SERVER_CLASS
+        ));
+        // --release reads the platform API from ct.sym on every compilation; the running JDK's own is faster
+        if (settings.getRelease() != Runtime.version().feature()) {
+            command.addAll(List.of("--release", String.valueOf(settings.getRelease())));
+        }
+        permits = new Semaphore(Math.max(1, settings.getInstances()));
+        watchdog = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "compiler-watchdog");
+            thread.setDaemon(true);
+            return thread;
+        });
+        available.set(true);
+        // Start the processes in the background so the first submissions find them warm
+        Thread prestart = new Thread(this::prestart, "compiler-prestart");
+        prestart.setDaemon(true);
+        prestart.start();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        available.set(false);
+        if (watchdog != null) {
+            watchdog.shutdownNow();
+        }
+        CompilerProcess process;
+        while ((process = idle.poll()) != null) {
+            process.stop();
+        }
+        if (classesDir != null) {
+            deleteRecursively(classesDir);
+        }
+    }
+
+    /** False when compiling in the sandbox, by configuration or because the service could not start. */
+    public boolean isEnabled() {
+        return available.get();
+    }
+
+    /** Identifies the compiler for the artifact cache: the class files depend on both JDK and release. */
+    public String toolchain() {
+        return "service javac " + Runtime.version() + " --release " + judgeProperties.getCompiler().getRelease();
+    }
+
+    /**
+     * Compiles {@code source} and, on success, writes its class files into
+     * {@code workspace} under their simple names, as "javac Main.java" would.
+     * Compilation errors and timeouts are results; an {@link IOException} means
+     * the service could not answer and the caller should compile some other way.
+     */
+    public CompilationResult compile(Path source, Path workspace) throws IOException, InterruptedException {
+        if (!isEnabled()) {
+            throw new IOException("Compiler service is not running");
+        }
+        byte[] sourceBytes = Files.readAllBytes(source);
+        JudgeProperties.Compiler settings = judgeProperties.getCompiler();
+
+        permits.acquire();
+        CompilerProcess process = null;
+        boolean reusable = false;
+        try {
+            process = takeProcess();
+            AtomicBoolean timedOut = new AtomicBoolean();
+            CompilerProcess running = process;
+            ScheduledFuture<?> timeout = watchdog.schedule(() -> {
+                timedOut.set(true);
+                running.kill();
+            }, settings.getTimeout().toMillis(), TimeUnit.MILLISECONDS);
+
+            CompilerProcess.Reply reply;
+            try {
+                reply = process.compile(source.getFileName().toString(), sourceBytes);
+            } catch (IOException e) {
+                if (timedOut.get()) {
+                    return CompilationResult.timedOut("Compilation timed out after "
+                                                     + settings.getTimeout().toSeconds() + " seconds");
+                }
+                throw new IOException("Compiler process failed: " + e.getMessage(), e);
+            } finally {
+                timeout.cancel(false);
+            }
+            reusable = !timedOut.get() && process.getCompilations() < settings.getMaxCompilations();
+
+            if (!reply.isSuccess()) {
+                return CompilationResult.failure(reply.getDiagnostics().trim());
+            }
+            writeClasses(reply.getClasses(), workspace);
+            return CompilationResult.success();
+        } finally {
+            if (process != null) {
+                if (reusable && process.isAlive() && idle.size() < settings.getInstances()) {
+                    idle.offer(process);
+                } else {
+                    process.stop();
+                }
+            }
+            permits.release();
+        }
+    }
+
+    private CompilerProcess takeProcess() throws IOException {
+        CompilerProcess process;
+        while ((process = idle.poll()) != null) {
+            if (process.isAlive()) {
+                return process;
+            }
+        }
+        try {
+            return CompilerProcess.start(command, classesDir, watchdog, judgeProperties.getCompiler().getTimeout());
+        } catch (IOException e) {
+            // Most likely a JRE without javac; stop trying rather than failing every submission slowly
+            available.set(false);
+            logger.warn("Compiler service unavailable, compiling in the sandbox instead: {}", e.getMessage());
+            throw e;
+        }
+    }
+
+    private void prestart() {
+        int instances = Math.max(1, judgeProperties.getCompiler().getInstances());
+        List<CompilerProcess> started = new ArrayList<>();
+        try {
+            for (int i = 0; i < instances && permits.tryAcquire(); i++) {
+                try {
+                    started.add(takeProcess());
+                } finally {
+                    permits.release();
+                }
+            }
+            logger.info("Started {} compiler process(es)", started.size());
+        } catch (IOException e) {
+            // Already logged; submissions compile in the sandbox
+        }
+        idle.addAll(started);
+    }
+
+    private void writeClasses(Map<String, byte[]> classes, Path workspace) throws IOException {
+        for (Map.Entry<String, byte[]> entry : classes.entrySet()) {
+            String binaryName = entry.getKey();
+            String simpleName = binaryName.substring(binaryName.lastIndexOf('.') + 1);
+            Path target = workspace.resolve(simpleName + ".class").normalize();
+            if (!workspace.equals(target.getParent())) {
+                throw new IOException("Unexpected class name from compiler: " + binaryName);
+            }
+            Files.write(target, entry.getValue());
+        }
+    }
+
+    private Path extractServerClasses() throws IOException {
+        Path dir = Files.createTempDirectory("shodh-compiler");
+        Path packageDir = dir.resolve(CompilerServer.class.getPackageName().replace('.', '/'));
+        Files.createDirectories(packageDir);
+        for (Class<?> type : SERVER_CLASSES) {
+            String fileName = type.getName().substring(type.getName().lastIndexOf('.') + 1) + ".class";
+            try (InputStream in = type.getResourceAsStream(fileName)) {
+                if (in == null) {
+                    throw new IOException("Class file not found: " + fileName);
+                }
+                Files.copy(in, packageDir.resolve(fileName));
+            }
+        }
+        return dir;
+    }
+
+    private void deleteRecursively(Path dir) {
+        try (Stream<Path> paths = Files.walk(dir)) {
+            paths.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        } catch (IOException e) {
+            logger.warn("Failed to delete {}: {}", dir, e.getMessage());
+        }
+    }
+}
@@ -4,6 +4,7 @@ import com.shodhai.entity.*;
 import com.shodhai.repository.ContestRepository;
 import com.shodhai.repository.ProblemRepository;
 import com.shodhai.repository.TestCaseRepository;
+import com.shodhai.service.TestCaseService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.stereotype.Component;
@@ -23,8 +24,16 @@ public class DataInitializer implements CommandLineRunner {
     @Autowired
     private TestCaseRepository testCaseRepository;
     
+    @Autowired
+    private TestCaseService testCaseService;
+    
     @Override
     public void run(String... args) throws Exception {
+        // The database outlives restarts, so only seed it once
+        if (contestRepository.findByContestId("CONTEST001").isPresent()) {
+            return;
+        }
+        
         // Create sample contest
         Contest contest = new Contest(
             "CONTEST001",
@@ -50,10 +59,10 @@ public class DataInitializer implements CommandLineRunner {
         problem1 = problemRepository.save(problem1);
         
         // Add test cases for Problem 1
-        TestCase testCase1_1 = new TestCase("5 3", "8", problem1);
-        TestCase testCase1_2 = new TestCase("10 20", "30", problem1);
-        TestCase testCase1_3 = new TestCase("-5 5", "0", problem1);
-        TestCase testCase1_4 = new TestCase("0 0", "0", problem1);
+        TestCase testCase1_1 = testCaseService.createTestCase("5 3", "8", problem1);
+        TestCase testCase1_2 = testCaseService.createTestCase("10 20", "30", problem1);
+        TestCase testCase1_3 = testCaseService.createTestCase("-5 5", "0", problem1);
+        TestCase testCase1_4 = testCaseService.createTestCase("0 0", "0", problem1);
         
         testCaseRepository.saveAll(Arrays.asList(testCase1_1, testCase1_2, testCase1_3, testCase1_4));
         
@@ -72,10 +81,10 @@ public class DataInitializer implements CommandLineRunner {
         problem2 = problemRepository.save(problem2);
         
         // Add test cases for Problem 2
-        TestCase testCase2_1 = new TestCase("5", "120", problem2);
-        TestCase testCase2_2 = new TestCase("3", "6", problem2);
-        TestCase testCase2_3 = new TestCase("0", "1", problem2);
-        TestCase testCase2_4 = new TestCase("1", "1", problem2);
+        TestCase testCase2_1 = testCaseService.createTestCase("5", "120", problem2);
+        TestCase testCase2_2 = testCaseService.createTestCase("3", "6", problem2);
+        TestCase testCase2_3 = testCaseService.createTestCase("0", "1", problem2);
+        TestCase testCase2_4 = testCaseService.createTestCase("1", "1", problem2);
         
         testCaseRepository.saveAll(Arrays.asList(testCase2_1, testCase2_2, testCase2_3, testCase2_4));
         
@@ -94,10 +103,10 @@ public class DataInitializer implements CommandLineRunner {
         problem3 = problemRepository.save(problem3);
         
         // Add test cases for Problem 3
-        TestCase testCase3_1 = new TestCase("7", "13", problem3);
-        TestCase testCase3_2 = new TestCase("1", "1", problem3);
-        TestCase testCase3_3 = new TestCase("2", "1", problem3);
-        TestCase testCase3_4 = new TestCase("10", "55", problem3);
+        TestCase testCase3_1 = testCaseService.createTestCase("7", "13", problem3);
+        TestCase testCase3_2 = testCaseService.createTestCase("1", "1", problem3);
+        TestCase testCase3_3 = testCaseService.createTestCase("2", "1", problem3);
+        TestCase testCase3_4 = testCaseService.createTestCase("10", "55", problem3);
         
         testCaseRepository.saveAll(Arrays.asList(testCase3_1, testCase3_2, testCase3_3, testCase3_4));
         
@@ -0,0 +1,523 @@
+package com.shodhai.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@Component
+@ConfigurationProperties(prefix = "judge")
+public class JudgeProperties {
+    private int workers = 4;
+    private int queueCapacity = 100;
+    private int parallelTests = 1;
+    private Path testDataDir = Paths.get(System.getProperty("java.io.tmpdir"), "shodh-testdata");
+    private Duration shutdownTimeout = Duration.ofSeconds(60);
+    private DataSize outputLimit = DataSize.ofMegabytes(16);
+    private DataSize stderrLimit = DataSize.ofKilobytes(64);
+    private Sandbox sandbox = new Sandbox();
+    private Namespace namespace = new Namespace();
+    private Executor executor = new Executor();
+    private ProblemCache problemCache = new ProblemCache();
+    private Jobs jobs = new Jobs();
+    private Remote remote = new Remote();
+    private VerdictCache verdictCache = new VerdictCache();
+    private ArtifactCache artifactCache = new ArtifactCache();
+    private Compiler compiler = new Compiler();
+    private Map<String, Language> languages = new LinkedHashMap<>();
+
+    // Getters and Setters
+    public int getWorkers() {
+        return workers;
+    }
+
+    public void setWorkers(int workers) {
+        this.workers = workers;
+    }
+
+    public int getQueueCapacity() {
+        return queueCapacity;
+    }
+
+    public void setQueueCapacity(int queueCapacity) {
+        this.queueCapacity = queueCapacity;
+    }
+
+    public int getParallelTests() {
+        return parallelTests;
+    }
+
+    public void setParallelTests(int parallelTests) {
+        this.parallelTests = parallelTests;
+    }
+
+    public Path getTestDataDir() {
+        return testDataDir;
+    }
+
+    public void setTestDataDir(Path testDataDir) {
+        this.testDataDir = testDataDir;
+    }
+
+    public Duration getShutdownTimeout() {
+        return shutdownTimeout;
+    }
+
+    public void setShutdownTimeout(Duration shutdownTimeout) {
+        this.shutdownTimeout = shutdownTimeout;
+    }
+
+    public DataSize getOutputLimit() {
+        return outputLimit;
+    }
+
+    public void setOutputLimit(DataSize outputLimit) {
+        this.outputLimit = outputLimit;
+    }
+
+    public DataSize getStderrLimit() {
+        return stderrLimit;
+    }
+
+    public void setStderrLimit(DataSize stderrLimit) {
+        this.stderrLimit = stderrLimit;
+    }
+
+    public Sandbox getSandbox() {
+        return sandbox;
+    }
+
+    public void setSandbox(Sandbox sandbox) {
+        this.sandbox = sandbox;
+    }
+
+    public Namespace getNamespace() {
+        return namespace;
+    }
+
+    public void setNamespace(Namespace namespace) {
+        this.namespace = namespace;
+    }
+
+    public Executor getExecutor() {
+        return executor;
+    }
+
+    public void setExecutor(Executor executor) {
+        this.executor = executor;
+    }
+
+    public ProblemCache getProblemCache() {
+        return problemCache;
+    }
+
+    public void setProblemCache(ProblemCache problemCache) {
+        this.problemCache = problemCache;
+    }
+
+    public Jobs getJobs() {
+        return jobs;
+    }
+
+    public void setJobs(Jobs jobs) {
+        this.jobs = jobs;
+    }
+
+    public Remote getRemote() {
+        return remote;
+    }
+
+    public void setRemote(Remote remote) {
+        this.remote = remote;
+    }
+
+    public VerdictCache getVerdictCache() {
+        return verdictCache;
+    }
+
+    public void setVerdictCache(VerdictCache verdictCache) {
+        this.verdictCache = verdictCache;
+    }
+
+    public ArtifactCache getArtifactCache() {
+        return artifactCache;
+    }
+
+    public void setArtifactCache(ArtifactCache artifactCache) {
+        this.artifactCache = artifactCache;
+    }
+
+    public Compiler getCompiler() {
+        return compiler;
+    }
+
+    public void setCompiler(Compiler compiler) {
+        this.compiler = compiler;
+    }
+
+    public Map<String, Language> getLanguages() {
+        return languages;
+    }
+
+    public void setLanguages(Map<String, Language> languages) {
+        this.languages = languages;
+    }
+
+    public static class Jobs {
+        private Duration leaseDuration = Duration.ofSeconds(60);
+        private Duration pollInterval = Duration.ofSeconds(1);
+        private int maxAttempts = 3;
+
+        public Duration getLeaseDuration() {
+            return leaseDuration;
+        }
+
+        public void setLeaseDuration(Duration leaseDuration) {
+            this.leaseDuration = leaseDuration;
+        }
+
+        public Duration getPollInterval() {
+            return pollInterval;
+        }
+
+        public void setPollInterval(Duration pollInterval) {
+            this.pollInterval = pollInterval;
+        }
+
+        public int getMaxAttempts() {
+            return maxAttempts;
+        }
+
+        public void setMaxAttempts(int maxAttempts) {
+            this.maxAttempts = maxAttempts;
+        }
+    }
+
+    /**
+     * Remote judge workers. The API node serves {@code /api/judge} only when
+     * {@code token} is set; a worker polls {@code server-url} with the same token.
+     */
+    public static class Remote {
+        private String token;
+        private String serverUrl;
+        private String workerId;
+        private Duration requestTimeout = Duration.ofSeconds(10);
+
+        public String getToken() {
+            return token;
+        }
+
+        public void setToken(String token) {
+            this.token = token;
+        }
+
+        public String getServerUrl() {
+            return serverUrl;
+        }
+
+        public void setServerUrl(String serverUrl) {
+            this.serverUrl = serverUrl;
+        }
+
+        public String getWorkerId() {
+            return workerId;
+        }
+
+        public void setWorkerId(String workerId) {
+            this.workerId = workerId;
+        }
+
+        public Duration getRequestTimeout() {
+            return requestTimeout;
+        }
+
+        public void setRequestTimeout(Duration requestTimeout) {
+            this.requestTimeout = requestTimeout;
+        }
+    }
+
+    public static class Executor {
+        private List<String> backends = new ArrayList<>(List.of("docker", "mock"));
+        private Duration recheckInterval = Duration.ofSeconds(30);
+        private Duration probeTimeout = Duration.ofSeconds(5);
+
+        public List<String> getBackends() {
+            return backends;
+        }
+
+        public void setBackends(List<String> backends) {
+            this.backends = backends;
+        }
+
+        public Duration getRecheckInterval() {
+            return recheckInterval;
+        }
+
+        public void setRecheckInterval(Duration recheckInterval) {
+            this.recheckInterval = recheckInterval;
+        }
+
+        public Duration getProbeTimeout() {
+            return probeTimeout;
+        }
+
+        public void setProbeTimeout(Duration probeTimeout) {
+            this.probeTimeout = probeTimeout;
+        }
+    }
+
+    public static class Sandbox {
+        private String image = "shodh-a-code-judge:latest";
+        private int poolSize = 4;
+        private int maxReuses = 50;
+        private String memoryLimit = "512m";
+        private String cpus = "1";
+        private Duration acquireTimeout = Duration.ofSeconds(30);
+        private Duration healthCheckInterval = Duration.ofSeconds(30);
+
+        public String getImage() {
+            return image;
+        }
+
+        public void setImage(String image) {
+            this.image = image;
+        }
+
+        public int getPoolSize() {
+            return poolSize;
+        }
+
+        public void setPoolSize(int poolSize) {
+            this.poolSize = poolSize;
+        }
+
+        public int getMaxReuses() {
+            return maxReuses;
+        }
+
+        public void setMaxReuses(int maxReuses) {
+            this.maxReuses = maxReuses;
+        }
+
+        public String getMemoryLimit() {
+            return memoryLimit;
+        }
+
+        public void setMemoryLimit(String memoryLimit) {
+            this.memoryLimit = memoryLimit;
+        }
+
+        public String getCpus() {
+            return cpus;
+        }
+
+        public void setCpus(String cpus) {
+            this.cpus = cpus;
+        }
+
+        public Duration getAcquireTimeout() {
+            return acquireTimeout;
+        }
+
+        public void setAcquireTimeout(Duration acquireTimeout) {
+            this.acquireTimeout = acquireTimeout;
+        }
+
+        public Duration getHealthCheckInterval() {
+            return healthCheckInterval;
+        }
+
+        public void setHealthCheckInterval(Duration healthCheckInterval) {
+            this.healthCheckInterval = healthCheckInterval;
+        }
+    }
+
+    /**
+     * The "namespace" backend: bubblewrap sandboxes over a read-only toolchain
+     * root, limited and measured through a delegated cgroup v2 directory when
+     * {@code cgroup} is set, and by rlimits and rusage alone otherwise.
+     */
+    public static class Namespace {
+        private String root = "";
+        private String cgroup = "";
+        private String runmeter = "/usr/local/bin/runmeter";
+
+        public String getRoot() {
+            return root;
+        }
+
+        public void setRoot(String root) {
+            this.root = root;
+        }
+
+        public String getCgroup() {
+            return cgroup;
+        }
+
+        public void setCgroup(String cgroup) {
+            this.cgroup = cgroup;
+        }
+
+        public String getRunmeter() {
+            return runmeter;
+        }
+
+        public void setRunmeter(String runmeter) {
+            this.runmeter = runmeter;
+        }
+    }
+
+    public static class VerdictCache {
+        private boolean enabled = true;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+    }
+
+    /**
+     * Where Java submissions are compiled: {@code sandbox} runs javac in the
+     * submission's sandbox, {@code service} in long-lived compiler processes on
+     * the judge host, falling back to the sandbox while those are unavailable.
+     */
+    public static class Compiler {
+        private String mode = "service";
+        private int instances = 2;
+        private int release = 17;
+        private String maxHeap = "256m";
+        private Duration timeout = Duration.ofSeconds(30);
+        private int maxCompilations = 1000;
+
+        public String getMode() {
+            return mode;
+        }
+
+        public void setMode(String mode) {
+            this.mode = mode;
+        }
+
+        public int getInstances() {
+            return instances;
+        }
+
+        public void setInstances(int instances) {
+            this.instances = instances;
+        }
+
+        public int getRelease() {
+            return release;
+        }
+
+        public void setRelease(int release) {
+            this.release = release;
+        }
+
+        public String getMaxHeap() {
+            return maxHeap;
+        }
+
+        public void setMaxHeap(String maxHeap) {
+            this.maxHeap = maxHeap;
+        }
+
+        public Duration getTimeout() {
+            return timeout;
+        }
+
+        public void setTimeout(Duration timeout) {
+            this.timeout = timeout;
+        }
+
+        public int getMaxCompilations() {
+            return maxCompilations;
+        }
+
+        public void setMaxCompilations(int maxCompilations) {
+            this.maxCompilations = maxCompilations;
+        }
+    }
+
+    /** Per-language settings, keyed by language id; languages not listed use the defaults. */
+    public static class Language {
+        private boolean enabled = true;
+        private double timeMultiplier = 1.0;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public double getTimeMultiplier() {
+            return timeMultiplier;
+        }
+
+        public void setTimeMultiplier(double timeMultiplier) {
+            this.timeMultiplier = timeMultiplier;
+        }
+    }
+
+    public static class ArtifactCache {
+        private boolean enabled = true;
+        private Path dir = Paths.get(System.getProperty("java.io.tmpdir"), "shodh-artifacts");
+        private DataSize maxSize = DataSize.ofMegabytes(256);
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public Path getDir() {
+            return dir;
+        }
+
+        public void setDir(Path dir) {
+            this.dir = dir;
+        }
+
+        public DataSize getMaxSize() {
+            return maxSize;
+        }
+
+        public void setMaxSize(DataSize maxSize) {
+            this.maxSize = maxSize;
+        }
+    }
+
+    public static class ProblemCache {
+        private int maxSize = 256;
+        private Duration ttl = Duration.ofMinutes(10);
+
+        public int getMaxSize() {
+            return maxSize;
+        }
+
+        public void setMaxSize(int maxSize) {
+            this.maxSize = maxSize;
+        }
+
+        public Duration getTtl() {
+            return ttl;
+        }
+
+        public void setTtl(Duration ttl) {
+            this.ttl = ttl;
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package com.shodhai.config;
+
+import com.shodhai.sandbox.DockerSandboxExecutor;
+import com.shodhai.sandbox.LocalSandboxExecutor;
+import com.shodhai.sandbox.NamespaceSandboxExecutor;
+import com.shodhai.sandbox.SandboxExecutor;
+import com.shodhai.sandbox.SandboxPool;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+@Configuration
+public class SandboxConfig {
+
+    /** Pools are started by their execution backend once it has been probed as available. */
+    @Bean(destroyMethod = "close")
+    public SandboxPool dockerSandboxPool(DockerSandboxExecutor executor, JudgeProperties judgeProperties,
+                                         MeterRegistry meterRegistry) {
+        return createPool(executor, judgeProperties, meterRegistry);
+    }
+
+    @Bean(destroyMethod = "close")
+    public SandboxPool localSandboxPool(JudgeProperties judgeProperties, MeterRegistry meterRegistry) {
+        Path root = Paths.get(System.getProperty("java.io.tmpdir"), "shodh-sandbox");
+        return createPool(new LocalSandboxExecutor(root), judgeProperties, meterRegistry);
+    }
+
+    @Bean
+    public NamespaceSandboxExecutor namespaceSandboxExecutor(JudgeProperties judgeProperties,
+                                                             @Value("${spring.datasource.url:}") String datasourceUrl) {
+        Path root = Paths.get(System.getProperty("java.io.tmpdir"), "shodh-namespace");
+        // Everything the judge keeps on disk, so no toolchain mount can reach it
+        List<Path> privatePaths = new ArrayList<>(List.of(
+            Paths.get(System.getProperty("user.dir")),
+            judgeProperties.getTestDataDir(),
+            judgeProperties.getArtifactCache().getDir()));
+        databaseDirectory(datasourceUrl).ifPresent(privatePaths::add);
+        return new NamespaceSandboxExecutor(root, judgeProperties.getSandbox(), judgeProperties.getNamespace(),
+                                            privatePaths);
+    }
+
+    @Bean(destroyMethod = "close")
+    public SandboxPool namespaceSandboxPool(NamespaceSandboxExecutor executor, JudgeProperties judgeProperties,
+                                            MeterRegistry meterRegistry) {
+        return createPool(executor, judgeProperties, meterRegistry);
+    }
+
+    /** Directory of a file-backed H2 database, e.g. ./data for jdbc:h2:file:./data/shodh. */
+    private static Optional<Path> databaseDirectory(String url) {
+        String prefix = "jdbc:h2:file:";
+        if (!url.startsWith(prefix)) {
+            return Optional.empty();
+        }
+        String file = url.substring(prefix.length()).split(";", 2)[0];
+        if (file.startsWith("~")) {
+            file = System.getProperty("user.home") + file.substring(1);
+        }
+        return Optional.ofNullable(Paths.get(file).toAbsolutePath().getParent());
+    }
+
+    private SandboxPool createPool(SandboxExecutor executor, JudgeProperties judgeProperties,
+                                   MeterRegistry meterRegistry) {
+        JudgeProperties.Sandbox settings = judgeProperties.getSandbox();
+        SandboxPool pool = new SandboxPool(executor, settings.getPoolSize(), settings.getMaxReuses(),
+                                           settings.getAcquireTimeout());
+        registerMetrics(pool, executor.name(), meterRegistry);
+        return pool;
+    }
+
+    private void registerMetrics(SandboxPool pool, String backend, MeterRegistry meterRegistry) {
+        Gauge.builder("judge.sandbox.idle", pool, SandboxPool::getIdleCount)
+            .description("Warm sandboxes ready to be leased")
+            .tags("backend", backend)
+            .register(meterRegistry);
+        Gauge.builder("judge.sandbox.leased", pool, SandboxPool::getLeasedCount)
+            .description("Sandboxes currently leased by judge workers")
+            .tags("backend", backend)
+            .register(meterRegistry);
+        FunctionCounter.builder("judge.sandbox.created", pool, SandboxPool::getCreatedCount)
+            .description("Sandboxes started since boot")
+            .tags("backend", backend)
+            .register(meterRegistry);
+        FunctionCounter.builder("judge.sandbox.recycled", pool, SandboxPool::getRecycledCount)
+            .description("Sandboxes destroyed after reaching max reuses or failing a health check")
+            .tags("backend", backend)
+            .register(meterRegistry);
+    }
+}
@@ -0,0 +1,66 @@
+package com.shodhai.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Component
+@ConfigurationProperties(prefix = "stream")
+public class StreamProperties {
+    private Duration leaderboardWindow = Duration.ofMillis(500);
+    private int sendBuffer = 32;
+    private int senderThreads = 4;
+    private Duration timeout = Duration.ofMinutes(30);
+    private Duration heartbeatInterval = Duration.ofSeconds(15);
+    private Duration statusRetention = Duration.ofMinutes(2);
+
+    // Getters and Setters
+    public Duration getLeaderboardWindow() {
+        return leaderboardWindow;
+    }
+
+    public void setLeaderboardWindow(Duration leaderboardWindow) {
+        this.leaderboardWindow = leaderboardWindow;
+    }
+
+    public int getSendBuffer() {
+        return sendBuffer;
+    }
+
+    public void setSendBuffer(int sendBuffer) {
+        this.sendBuffer = sendBuffer;
+    }
+
+    public int getSenderThreads() {
+        return senderThreads;
+    }
+
+    public void setSenderThreads(int senderThreads) {
+        this.senderThreads = senderThreads;
+    }
+
+    public Duration getTimeout() {
+        return timeout;
+    }
+
+    public void setTimeout(Duration timeout) {
+        this.timeout = timeout;
+    }
+
+    public Duration getHeartbeatInterval() {
+        return heartbeatInterval;
+    }
+
+    public void setHeartbeatInterval(Duration heartbeatInterval) {
+        this.heartbeatInterval = heartbeatInterval;
+    }
+
+    public Duration getStatusRetention() {
+        return statusRetention;
+    }
+
+    public void setStatusRetention(Duration statusRetention) {
+        this.statusRetention = statusRetention;
+    }
+}
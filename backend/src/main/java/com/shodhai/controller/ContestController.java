@@ -2,10 +2,13 @@ package com.shodhai.controller;
 
 import com.shodhai.dto.ContestDto;
 import com.shodhai.dto.LeaderboardEntryDto;
+import com.shodhai.dto.LeaderboardPositionDto;
 import com.shodhai.service.ContestService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.List;
 
@@ -14,6 +17,8 @@ import java.util.List;
 @CrossOrigin(origins = "*")
 public class ContestController {
     
+    private static final int MAX_NEIGHBOURS = 50;
+    
     @Autowired
     private ContestService contestService;
     
@@ -28,10 +33,44 @@ public class ContestController {
     }
     
     @GetMapping("/{contestId}/leaderboard")
-    public ResponseEntity<List<LeaderboardEntryDto>> getLeaderboard(@PathVariable String contestId) {
+    public ResponseEntity<List<LeaderboardEntryDto>> getLeaderboard(@PathVariable String contestId,
+                                                                    @RequestParam(defaultValue = "0") int offset,
+                                                                    @RequestParam(required = false) Integer limit) {
+        if (offset < 0 || (limit != null && limit <= 0)) {
+            return ResponseEntity.badRequest().build();
+        }
+        try {
+            int total = contestService.getLeaderboardSize(contestId);
+            List<LeaderboardEntryDto> leaderboard = contestService.getLeaderboardPage(
+                contestId, offset, limit != null ? limit : Integer.MAX_VALUE);
+            return ResponseEntity.ok()
+                .header("X-Total-Count", String.valueOf(total))
+                .body(leaderboard);
+        } catch (RuntimeException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+    
+    @GetMapping("/{contestId}/leaderboard/users/{username}")
+    public ResponseEntity<LeaderboardPositionDto> getLeaderboardPosition(@PathVariable String contestId,
+                                                                         @PathVariable String username,
+                                                                         @RequestParam(defaultValue = "5") int neighbours) {
+        if (neighbours < 0 || neighbours > MAX_NEIGHBOURS) {
+            return ResponseEntity.badRequest().build();
+        }
+        try {
+            return contestService.getLeaderboardPosition(contestId, username, neighbours)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.notFound().build());
+        } catch (RuntimeException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+    
+    @GetMapping(value = "/{contestId}/leaderboard/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamLeaderboard(@PathVariable String contestId) {
         try {
-            List<LeaderboardEntryDto> leaderboard = contestService.getLeaderboard(contestId);
-            return ResponseEntity.ok(leaderboard);
+            return ResponseEntity.ok(contestService.streamLeaderboard(contestId));
         } catch (RuntimeException e) {
             return ResponseEntity.notFound().build();
         }
@@ -0,0 +1,140 @@
+package com.shodhai.controller;
+
+import com.shodhai.config.JudgeProperties;
+import com.shodhai.dto.JudgeClaimRequest;
+import com.shodhai.dto.JudgeJobDto;
+import com.shodhai.dto.JudgeReportDto;
+import com.shodhai.service.RemoteJudgeService;
+import com.shodhai.testdata.TestDataStore;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.util.List;
+import java.util.regex.Pattern;
+
+@RestController
+@RequestMapping("/api/judge")
+public class JudgeWorkerController {
+    
+    private static final String TOKEN_HEADER = "X-Judge-Token";
+    private static final int MAX_CLAIM = 64;
+    private static final int MAX_WORKER_ID_LENGTH = 200;
+    private static final Pattern HASH = Pattern.compile("[0-9a-f]{64}");
+    
+    @Autowired
+    private RemoteJudgeService remoteJudgeService;
+    
+    @Autowired
+    private TestDataStore testDataStore;
+    
+    @Autowired
+    private JudgeProperties judgeProperties;
+    
+    @PostMapping("/jobs/claim")
+    public ResponseEntity<List<JudgeJobDto>> claim(@RequestHeader(value = TOKEN_HEADER, required = false) String token,
+                                                   @RequestBody JudgeClaimRequest request) {
+        HttpStatus denied = checkToken(token);
+        if (denied != null) {
+            return ResponseEntity.status(denied).build();
+        }
+        String workerId = request.getWorkerId();
+        if (workerId == null || workerId.isBlank() || workerId.length() > MAX_WORKER_ID_LENGTH
+                || request.getMax() < 1 || request.getMax() > MAX_CLAIM) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(remoteJudgeService.claim(workerId, request.getMax()));
+    }
+    
+    @PostMapping("/jobs/{jobId}/heartbeat")
+    public ResponseEntity<Void> heartbeat(@RequestHeader(value = TOKEN_HEADER, required = false) String token,
+                                          @PathVariable Long jobId, @RequestBody JudgeReportDto report) {
+        HttpStatus denied = checkToken(token);
+        if (denied != null) {
+            return ResponseEntity.status(denied).build();
+        }
+        return leaseResponse(remoteJudgeService.heartbeat(jobId, report.getLeaseToken()));
+    }
+    
+    @PostMapping("/jobs/{jobId}/progress")
+    public ResponseEntity<Void> progress(@RequestHeader(value = TOKEN_HEADER, required = false) String token,
+                                         @PathVariable Long jobId, @RequestBody JudgeReportDto report) {
+        HttpStatus denied = checkToken(token);
+        if (denied != null) {
+            return ResponseEntity.status(denied).build();
+        }
+        if (report.getTestsCompleted() == null || report.getTestsCompleted() < 0) {
+            return ResponseEntity.badRequest().build();
+        }
+        return leaseResponse(remoteJudgeService.progress(jobId, report.getLeaseToken(), report.getTestsCompleted()));
+    }
+    
+    @PostMapping("/jobs/{jobId}/complete")
+    public ResponseEntity<Void> complete(@RequestHeader(value = TOKEN_HEADER, required = false) String token,
+                                         @PathVariable Long jobId, @RequestBody JudgeReportDto report) {
+        HttpStatus denied = checkToken(token);
+        if (denied != null) {
+            return ResponseEntity.status(denied).build();
+        }
+        if (report.getResult() == null) {
+            return ResponseEntity.badRequest().build();
+        }
+        try {
+            return leaseResponse(remoteJudgeService.complete(jobId, report));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+    
+    @PostMapping("/jobs/{jobId}/release")
+    public ResponseEntity<Void> release(@RequestHeader(value = TOKEN_HEADER, required = false) String token,
+                                        @PathVariable Long jobId, @RequestBody JudgeReportDto report) {
+        HttpStatus denied = checkToken(token);
+        if (denied != null) {
+            return ResponseEntity.status(denied).build();
+        }
+        return leaseResponse(remoteJudgeService.release(jobId, report.getLeaseToken()));
+    }
+    
+    @GetMapping("/test-data/{hash}")
+    public ResponseEntity<Resource> testData(@RequestHeader(value = TOKEN_HEADER, required = false) String token,
+                                             @PathVariable String hash) {
+        HttpStatus denied = checkToken(token);
+        if (denied != null) {
+            return ResponseEntity.status(denied).build();
+        }
+        if (!HASH.matcher(hash).matches()) {
+            return ResponseEntity.badRequest().build();
+        }
+        Path file = testDataStore.resolve(hash);
+        if (!Files.exists(file)) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok(new FileSystemResource(file));
+    }
+    
+    private ResponseEntity<Void> leaseResponse(boolean held) {
+        // 409 tells the worker its lease is gone and the job is no longer its to finish
+        return held ? ResponseEntity.ok().build() : ResponseEntity.status(HttpStatus.CONFLICT).build();
+    }
+    
+    /** Null if the caller may proceed; remote judging is off while {@code judge.remote.token} is unset. */
+    private HttpStatus checkToken(String token) {
+        String expected = judgeProperties.getRemote().getToken();
+        if (expected == null || expected.isBlank()) {
+            return HttpStatus.NOT_FOUND;
+        }
+        if (token == null || !MessageDigest.isEqual(expected.getBytes(StandardCharsets.UTF_8),
+                                                    token.getBytes(StandardCharsets.UTF_8))) {
+            return HttpStatus.UNAUTHORIZED;
+        }
+        return null;
+    }
+}
@@ -2,37 +2,60 @@ package com.shodhai.controller;
 
 import com.shodhai.dto.SubmissionDto;
 import com.shodhai.dto.SubmissionRequest;
+import com.shodhai.dto.SubmissionStatusDto;
+import com.shodhai.entity.Submission;
+import com.shodhai.service.JudgeQueueFullException;
 import com.shodhai.service.SubmissionService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 @RestController
 @RequestMapping("/api/submissions")
 @CrossOrigin(origins = "*")
 public class SubmissionController {
     
+    private static final int MAX_STATUS_IDS = 100;
+    
     @Autowired
     private SubmissionService submissionService;
     
     @PostMapping
     public ResponseEntity<Map<String, String>> submitCode(@Valid @RequestBody SubmissionRequest request) {
         try {
-            String submissionId = submissionService.submitCode(
+            Submission submission = submissionService.submitCode(
                 request.getUsername(),
                 request.getProblemId(),
-                request.getCode()
+                request.getCode(),
+                request.getLanguage()
             );
             
             Map<String, String> response = new HashMap<>();
-            response.put("submissionId", submissionId);
-            response.put("status", "PENDING");
+            response.put("submissionId", submission.getSubmissionId());
+            response.put("status", submission.getStatus().toString());
+            if (submission.isCached()) {
+                response.put("result", submission.getResult().toString());
+            }
             
             return ResponseEntity.ok(response);
+        } catch (JudgeQueueFullException e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("error", e.getMessage());
+            error.put("status", "QUEUE_FULL");
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "5")
+                .body(error);
         } catch (RuntimeException e) {
             Map<String, String> error = new HashMap<>();
             error.put("error", e.getMessage());
@@ -40,6 +63,15 @@ public class SubmissionController {
         }
     }
     
+    @GetMapping("/status")
+    public ResponseEntity<List<SubmissionStatusDto>> getStatuses(@RequestParam("ids") List<String> submissionIds) {
+        Set<String> unique = new LinkedHashSet<>(submissionIds);
+        if (unique.isEmpty() || unique.size() > MAX_STATUS_IDS) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(submissionService.getStatuses(unique));
+    }
+    
     @GetMapping("/{submissionId}")
     public ResponseEntity<SubmissionDto> getSubmission(@PathVariable String submissionId) {
         try {
@@ -49,4 +81,11 @@ public class SubmissionController {
             return ResponseEntity.notFound().build();
         }
     }
+    
+    @GetMapping(value = "/{submissionId}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamStatus(@PathVariable String submissionId) {
+        return submissionService.streamStatus(submissionId)
+            .map(ResponseEntity::ok)
+            .orElseGet(() -> ResponseEntity.notFound().build());
+    }
 }
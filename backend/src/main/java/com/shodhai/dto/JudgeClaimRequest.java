@@ -0,0 +1,35 @@
+package com.shodhai.dto;
+
+/**
+ * Sent by a remote judge worker asking for up to {@code max} jobs, one per idle
+ * worker thread.
+ */
+public class JudgeClaimRequest {
+    private String workerId;
+    private int max;
+    
+    // Constructors
+    public JudgeClaimRequest() {}
+    
+    public JudgeClaimRequest(String workerId, int max) {
+        this.workerId = workerId;
+        this.max = max;
+    }
+    
+    // Getters and Setters
+    public String getWorkerId() {
+        return workerId;
+    }
+    
+    public void setWorkerId(String workerId) {
+        this.workerId = workerId;
+    }
+    
+    public int getMax() {
+        return max;
+    }
+    
+    public void setMax(int max) {
+        this.max = max;
+    }
+}
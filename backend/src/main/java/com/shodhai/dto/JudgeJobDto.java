@@ -0,0 +1,86 @@
+package com.shodhai.dto;
+
+/**
+ * A job leased to a remote judge worker: the submission's code and a snapshot
+ * of its problem. Every later call about the job must carry {@code leaseToken}.
+ */
+public class JudgeJobDto {
+    private Long jobId;
+    private String submissionId;
+    private String leaseToken;
+    private int attempt;
+    private String code;
+    private String language;
+    private JudgeProblemDto problem;
+    
+    // Constructors
+    public JudgeJobDto() {}
+    
+    public JudgeJobDto(Long jobId, String submissionId, String leaseToken, int attempt, String code,
+                       String language, JudgeProblemDto problem) {
+        this.jobId = jobId;
+        this.submissionId = submissionId;
+        this.leaseToken = leaseToken;
+        this.attempt = attempt;
+        this.code = code;
+        this.language = language;
+        this.problem = problem;
+    }
+    
+    // Getters and Setters
+    public Long getJobId() {
+        return jobId;
+    }
+    
+    public void setJobId(Long jobId) {
+        this.jobId = jobId;
+    }
+    
+    public String getSubmissionId() {
+        return submissionId;
+    }
+    
+    public void setSubmissionId(String submissionId) {
+        this.submissionId = submissionId;
+    }
+    
+    public String getLeaseToken() {
+        return leaseToken;
+    }
+    
+    public void setLeaseToken(String leaseToken) {
+        this.leaseToken = leaseToken;
+    }
+    
+    public int getAttempt() {
+        return attempt;
+    }
+    
+    public void setAttempt(int attempt) {
+        this.attempt = attempt;
+    }
+    
+    public String getCode() {
+        return code;
+    }
+    
+    public void setCode(String code) {
+        this.code = code;
+    }
+    
+    public String getLanguage() {
+        return language;
+    }
+    
+    public void setLanguage(String language) {
+        this.language = language;
+    }
+    
+    public JudgeProblemDto getProblem() {
+        return problem;
+    }
+    
+    public void setProblem(JudgeProblemDto problem) {
+        this.problem = problem;
+    }
+}
@@ -0,0 +1,78 @@
+package com.shodhai.dto;
+
+import java.util.List;
+
+/**
+ * Limits, checker and test cases of a problem as a remote judge worker sees them.
+ * Test cases are in judging order; their data is fetched by hash.
+ */
+public class JudgeProblemDto {
+    private Long problemId;
+    private Integer timeLimit;
+    private Integer memoryLimit;
+    private String checkerType;
+    private Double checkerEpsilon;
+    private List<JudgeTestCaseDto> testCases;
+    
+    // Constructors
+    public JudgeProblemDto() {}
+    
+    public JudgeProblemDto(Long problemId, Integer timeLimit, Integer memoryLimit, String checkerType,
+                           Double checkerEpsilon, List<JudgeTestCaseDto> testCases) {
+        this.problemId = problemId;
+        this.timeLimit = timeLimit;
+        this.memoryLimit = memoryLimit;
+        this.checkerType = checkerType;
+        this.checkerEpsilon = checkerEpsilon;
+        this.testCases = testCases;
+    }
+    
+    // Getters and Setters
+    public Long getProblemId() {
+        return problemId;
+    }
+    
+    public void setProblemId(Long problemId) {
+        this.problemId = problemId;
+    }
+    
+    public Integer getTimeLimit() {
+        return timeLimit;
+    }
+    
+    public void setTimeLimit(Integer timeLimit) {
+        this.timeLimit = timeLimit;
+    }
+    
+    public Integer getMemoryLimit() {
+        return memoryLimit;
+    }
+    
+    public void setMemoryLimit(Integer memoryLimit) {
+        this.memoryLimit = memoryLimit;
+    }
+    
+    public String getCheckerType() {
+        return checkerType;
+    }
+    
+    public void setCheckerType(String checkerType) {
+        this.checkerType = checkerType;
+    }
+    
+    public Double getCheckerEpsilon() {
+        return checkerEpsilon;
+    }
+    
+    public void setCheckerEpsilon(Double checkerEpsilon) {
+        this.checkerEpsilon = checkerEpsilon;
+    }
+    
+    public List<JudgeTestCaseDto> getTestCases() {
+        return testCases;
+    }
+    
+    public void setTestCases(List<JudgeTestCaseDto> testCases) {
+        this.testCases = testCases;
+    }
+}
@@ -0,0 +1,87 @@
+package com.shodhai.dto;
+
+/**
+ * A remote judge worker's call about a leased job: a heartbeat or release needs
+ * only the lease token, progress adds {@code testsCompleted}, and a verdict the
+ * result fields plus the test set version of the problem it was judged against
+ * and the time limit its tests ran under, or neither when the verdict must not
+ * be reused for identical submissions.
+ */
+public class JudgeReportDto {
+    private String leaseToken;
+    private Integer testsCompleted;
+    private String result;
+    private String errorMessage;
+    private Integer executionTime;
+    private Integer memoryUsed;
+    private String testSetVersion;
+    private Integer timeLimitSeconds;
+    
+    // Constructors
+    public JudgeReportDto() {}
+    
+    // Getters and Setters
+    public String getLeaseToken() {
+        return leaseToken;
+    }
+    
+    public void setLeaseToken(String leaseToken) {
+        this.leaseToken = leaseToken;
+    }
+    
+    public Integer getTestsCompleted() {
+        return testsCompleted;
+    }
+    
+    public void setTestsCompleted(Integer testsCompleted) {
+        this.testsCompleted = testsCompleted;
+    }
+    
+    public String getResult() {
+        return result;
+    }
+    
+    public void setResult(String result) {
+        this.result = result;
+    }
+    
+    public String getErrorMessage() {
+        return errorMessage;
+    }
+    
+    public void setErrorMessage(String errorMessage) {
+        this.errorMessage = errorMessage;
+    }
+    
+    public Integer getExecutionTime() {
+        return executionTime;
+    }
+    
+    public void setExecutionTime(Integer executionTime) {
+        this.executionTime = executionTime;
+    }
+    
+    public Integer getMemoryUsed() {
+        return memoryUsed;
+    }
+    
+    public void setMemoryUsed(Integer memoryUsed) {
+        this.memoryUsed = memoryUsed;
+    }
+    
+    public String getTestSetVersion() {
+        return testSetVersion;
+    }
+    
+    public void setTestSetVersion(String testSetVersion) {
+        this.testSetVersion = testSetVersion;
+    }
+    
+    public Integer getTimeLimitSeconds() {
+        return timeLimitSeconds;
+    }
+    
+    public void setTimeLimitSeconds(Integer timeLimitSeconds) {
+        this.timeLimitSeconds = timeLimitSeconds;
+    }
+}
@@ -0,0 +1,75 @@
+package com.shodhai.dto;
+
+/**
+ * Hashes and sizes of one test case's data in the test data store.
+ */
+public class JudgeTestCaseDto {
+    private Long id;
+    private String inputHash;
+    private long inputSize;
+    private String expectedOutputHash;
+    private String outputDigest;
+    private Long outputNormalizedSize;
+    
+    // Constructors
+    public JudgeTestCaseDto() {}
+    
+    public JudgeTestCaseDto(Long id, String inputHash, long inputSize, String expectedOutputHash,
+                            String outputDigest, Long outputNormalizedSize) {
+        this.id = id;
+        this.inputHash = inputHash;
+        this.inputSize = inputSize;
+        this.expectedOutputHash = expectedOutputHash;
+        this.outputDigest = outputDigest;
+        this.outputNormalizedSize = outputNormalizedSize;
+    }
+    
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+    
+    public void setId(Long id) {
+        this.id = id;
+    }
+    
+    public String getInputHash() {
+        return inputHash;
+    }
+    
+    public void setInputHash(String inputHash) {
+        this.inputHash = inputHash;
+    }
+    
+    public long getInputSize() {
+        return inputSize;
+    }
+    
+    public void setInputSize(long inputSize) {
+        this.inputSize = inputSize;
+    }
+    
+    public String getExpectedOutputHash() {
+        return expectedOutputHash;
+    }
+    
+    public void setExpectedOutputHash(String expectedOutputHash) {
+        this.expectedOutputHash = expectedOutputHash;
+    }
+    
+    public String getOutputDigest() {
+        return outputDigest;
+    }
+    
+    public void setOutputDigest(String outputDigest) {
+        this.outputDigest = outputDigest;
+    }
+    
+    public Long getOutputNormalizedSize() {
+        return outputNormalizedSize;
+    }
+    
+    public void setOutputNormalizedSize(Long outputNormalizedSize) {
+        this.outputNormalizedSize = outputNormalizedSize;
+    }
+}
@@ -1,13 +1,16 @@
 package com.shodhai.dto;
 
 import java.time.LocalDateTime;
+import java.util.List;
 
 public class LeaderboardEntryDto {
     private String username;
     private int problemsSolved;
     private int totalSubmissions;
-    private LocalDateTime lastSubmissionTime;
+    private LocalDateTime lastSubmissionTime; // first accepted time of the most recently solved problem
+    private long penalty; // ICPC penalty minutes
     private int rank;
+    private List<ProblemResultDto> problems;
     
     // Constructors
     public LeaderboardEntryDto() {}
@@ -21,6 +24,14 @@ public class LeaderboardEntryDto {
         this.rank = rank;
     }
     
+    public LeaderboardEntryDto(String username, int problemsSolved, int totalSubmissions,
+                              LocalDateTime lastSubmissionTime, long penalty, int rank,
+                              List<ProblemResultDto> problems) {
+        this(username, problemsSolved, totalSubmissions, lastSubmissionTime, rank);
+        this.penalty = penalty;
+        this.problems = problems;
+    }
+    
     // Getters and Setters
     public String getUsername() {
         return username;
@@ -54,6 +65,14 @@ public class LeaderboardEntryDto {
         this.lastSubmissionTime = lastSubmissionTime;
     }
     
+    public long getPenalty() {
+        return penalty;
+    }
+    
+    public void setPenalty(long penalty) {
+        this.penalty = penalty;
+    }
+    
     public int getRank() {
         return rank;
     }
@@ -61,4 +80,12 @@ public class LeaderboardEntryDto {
     public void setRank(int rank) {
         this.rank = rank;
     }
+    
+    public List<ProblemResultDto> getProblems() {
+        return problems;
+    }
+    
+    public void setProblems(List<ProblemResultDto> problems) {
+        this.problems = problems;
+    }
 }
@@ -0,0 +1,58 @@
+package com.shodhai.dto;
+
+import java.util.List;
+
+/**
+ * One user's row on the leaderboard with a few neighbours on either side.
+ * {@code offset} is the position of the first entry in {@code entries}.
+ */
+public class LeaderboardPositionDto {
+    private LeaderboardEntryDto entry;
+    private int offset;
+    private int totalEntries;
+    private List<LeaderboardEntryDto> entries;
+    
+    // Constructors
+    public LeaderboardPositionDto() {}
+    
+    public LeaderboardPositionDto(LeaderboardEntryDto entry, int offset, int totalEntries,
+                                  List<LeaderboardEntryDto> entries) {
+        this.entry = entry;
+        this.offset = offset;
+        this.totalEntries = totalEntries;
+        this.entries = entries;
+    }
+    
+    // Getters and Setters
+    public LeaderboardEntryDto getEntry() {
+        return entry;
+    }
+    
+    public void setEntry(LeaderboardEntryDto entry) {
+        this.entry = entry;
+    }
+    
+    public int getOffset() {
+        return offset;
+    }
+    
+    public void setOffset(int offset) {
+        this.offset = offset;
+    }
+    
+    public int getTotalEntries() {
+        return totalEntries;
+    }
+    
+    public void setTotalEntries(int totalEntries) {
+        this.totalEntries = totalEntries;
+    }
+    
+    public List<LeaderboardEntryDto> getEntries() {
+        return entries;
+    }
+    
+    public void setEntries(List<LeaderboardEntryDto> entries) {
+        this.entries = entries;
+    }
+}
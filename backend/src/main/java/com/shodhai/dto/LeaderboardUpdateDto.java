@@ -0,0 +1,38 @@
+package com.shodhai.dto;
+
+import java.util.List;
+
+/**
+ * Payload of the leaderboard stream. A {@code snapshot} event carries every
+ * entry; a {@code delta} event only the entries whose rank or score changed
+ * since the previous event.
+ */
+public class LeaderboardUpdateDto {
+    private long sequence;
+    private List<LeaderboardEntryDto> entries;
+    
+    // Constructors
+    public LeaderboardUpdateDto() {}
+    
+    public LeaderboardUpdateDto(long sequence, List<LeaderboardEntryDto> entries) {
+        this.sequence = sequence;
+        this.entries = entries;
+    }
+    
+    // Getters and Setters
+    public long getSequence() {
+        return sequence;
+    }
+    
+    public void setSequence(long sequence) {
+        this.sequence = sequence;
+    }
+    
+    public List<LeaderboardEntryDto> getEntries() {
+        return entries;
+    }
+    
+    public void setEntries(List<LeaderboardEntryDto> entries) {
+        this.entries = entries;
+    }
+}
@@ -8,6 +8,8 @@ public class ProblemDto {
     private String sampleOutput;
     private Integer timeLimit;
     private Integer memoryLimit;
+    private String checkerType;
+    private Double checkerEpsilon;
     
     // Constructors
     public ProblemDto() {}
@@ -79,4 +81,20 @@ public class ProblemDto {
     public void setMemoryLimit(Integer memoryLimit) {
         this.memoryLimit = memoryLimit;
     }
+    
+    public String getCheckerType() {
+        return checkerType;
+    }
+    
+    public void setCheckerType(String checkerType) {
+        this.checkerType = checkerType;
+    }
+    
+    public Double getCheckerEpsilon() {
+        return checkerEpsilon;
+    }
+    
+    public void setCheckerEpsilon(Double checkerEpsilon) {
+        this.checkerEpsilon = checkerEpsilon;
+    }
 }
@@ -0,0 +1,88 @@
+package com.shodhai.dto;
+
+import java.util.Objects;
+
+/**
+ * One cell of the ICPC standings matrix: a user's result on one problem.
+ */
+public class ProblemResultDto {
+    private Long problemId;
+    private boolean solved;
+    private int wrongAttempts;
+    private Long solvedAtMinute;
+    private boolean firstToSolve;
+    
+    // Constructors
+    public ProblemResultDto() {}
+    
+    public ProblemResultDto(Long problemId, boolean solved, int wrongAttempts, Long solvedAtMinute,
+                            boolean firstToSolve) {
+        this.problemId = problemId;
+        this.solved = solved;
+        this.wrongAttempts = wrongAttempts;
+        this.solvedAtMinute = solvedAtMinute;
+        this.firstToSolve = firstToSolve;
+    }
+    
+    // Getters and Setters
+    public Long getProblemId() {
+        return problemId;
+    }
+    
+    public void setProblemId(Long problemId) {
+        this.problemId = problemId;
+    }
+    
+    public boolean isSolved() {
+        return solved;
+    }
+    
+    public void setSolved(boolean solved) {
+        this.solved = solved;
+    }
+    
+    public int getWrongAttempts() {
+        return wrongAttempts;
+    }
+    
+    public void setWrongAttempts(int wrongAttempts) {
+        this.wrongAttempts = wrongAttempts;
+    }
+    
+    public Long getSolvedAtMinute() {
+        return solvedAtMinute;
+    }
+    
+    public void setSolvedAtMinute(Long solvedAtMinute) {
+        this.solvedAtMinute = solvedAtMinute;
+    }
+    
+    public boolean isFirstToSolve() {
+        return firstToSolve;
+    }
+    
+    public void setFirstToSolve(boolean firstToSolve) {
+        this.firstToSolve = firstToSolve;
+    }
+    
+    // Compared by the leaderboard stream to find changed entries
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof ProblemResultDto other)) {
+            return false;
+        }
+        return solved == other.solved
+            && wrongAttempts == other.wrongAttempts
+            && firstToSolve == other.firstToSolve
+            && Objects.equals(problemId, other.problemId)
+            && Objects.equals(solvedAtMinute, other.solvedAtMinute);
+    }
+    
+    @Override
+    public int hashCode() {
+        return Objects.hash(problemId, solved, wrongAttempts, solvedAtMinute, firstToSolve);
+    }
+}
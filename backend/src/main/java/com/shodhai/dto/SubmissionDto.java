@@ -5,6 +5,7 @@ import java.time.LocalDateTime;
 public class SubmissionDto {
     private String submissionId;
     private String code;
+    private String language;
     private String status;
     private String result;
     private String errorMessage;
@@ -13,6 +14,7 @@ public class SubmissionDto {
     private LocalDateTime submittedAt;
     private String username;
     private String problemTitle;
+    private boolean cached;
     
     // Constructors
     public SubmissionDto() {}
@@ -49,6 +51,14 @@ public class SubmissionDto {
         this.code = code;
     }
     
+    public String getLanguage() {
+        return language;
+    }
+    
+    public void setLanguage(String language) {
+        this.language = language;
+    }
+    
     public String getStatus() {
         return status;
     }
@@ -112,4 +122,12 @@ public class SubmissionDto {
     public void setProblemTitle(String problemTitle) {
         this.problemTitle = problemTitle;
     }
+    
+    public boolean isCached() {
+        return cached;
+    }
+    
+    public void setCached(boolean cached) {
+        this.cached = cached;
+    }
 }
@@ -13,6 +13,8 @@ public class SubmissionRequest {
     @NotBlank(message = "Code is required")
     private String code;
     
+    private String language; // defaults to java
+    
     // Constructors
     public SubmissionRequest() {}
     
@@ -46,4 +48,12 @@ public class SubmissionRequest {
     public void setCode(String code) {
         this.code = code;
     }
+    
+    public String getLanguage() {
+        return language;
+    }
+    
+    public void setLanguage(String language) {
+        this.language = language;
+    }
 }
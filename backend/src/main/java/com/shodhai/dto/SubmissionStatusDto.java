@@ -0,0 +1,138 @@
+package com.shodhai.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Everything about a submission's progress except its code. Pushed to status
+ * stream subscribers on every change; {@code testsCompleted} counts finished
+ * test runs while the submission is RUNNING, and {@code cached} marks a verdict
+ * reused from an identical earlier submission.
+ */
+public class SubmissionStatusDto {
+    private String submissionId;
+    private String status;
+    private String result;
+    private String errorMessage;
+    private Integer executionTime;
+    private Integer memoryUsed;
+    private LocalDateTime submittedAt;
+    private String username;
+    private String problemTitle;
+    private Integer testsCompleted;
+    private Integer testsTotal;
+    private boolean cached;
+    
+    // Constructors
+    public SubmissionStatusDto() {}
+    
+    public SubmissionStatusDto(String submissionId, String status, String result, String errorMessage,
+                               Integer executionTime, Integer memoryUsed, LocalDateTime submittedAt,
+                               String username, String problemTitle) {
+        this.submissionId = submissionId;
+        this.status = status;
+        this.result = result;
+        this.errorMessage = errorMessage;
+        this.executionTime = executionTime;
+        this.memoryUsed = memoryUsed;
+        this.submittedAt = submittedAt;
+        this.username = username;
+        this.problemTitle = problemTitle;
+    }
+    
+    // Getters and Setters
+    public String getSubmissionId() {
+        return submissionId;
+    }
+    
+    public void setSubmissionId(String submissionId) {
+        this.submissionId = submissionId;
+    }
+    
+    public String getStatus() {
+        return status;
+    }
+    
+    public void setStatus(String status) {
+        this.status = status;
+    }
+    
+    public String getResult() {
+        return result;
+    }
+    
+    public void setResult(String result) {
+        this.result = result;
+    }
+    
+    public String getErrorMessage() {
+        return errorMessage;
+    }
+    
+    public void setErrorMessage(String errorMessage) {
+        this.errorMessage = errorMessage;
+    }
+    
+    public Integer getExecutionTime() {
+        return executionTime;
+    }
+    
+    public void setExecutionTime(Integer executionTime) {
+        this.executionTime = executionTime;
+    }
+    
+    public Integer getMemoryUsed() {
+        return memoryUsed;
+    }
+    
+    public void setMemoryUsed(Integer memoryUsed) {
+        this.memoryUsed = memoryUsed;
+    }
+    
+    public LocalDateTime getSubmittedAt() {
+        return submittedAt;
+    }
+    
+    public void setSubmittedAt(LocalDateTime submittedAt) {
+        this.submittedAt = submittedAt;
+    }
+    
+    public String getUsername() {
+        return username;
+    }
+    
+    public void setUsername(String username) {
+        this.username = username;
+    }
+    
+    public String getProblemTitle() {
+        return problemTitle;
+    }
+    
+    public void setProblemTitle(String problemTitle) {
+        this.problemTitle = problemTitle;
+    }
+    
+    public Integer getTestsCompleted() {
+        return testsCompleted;
+    }
+    
+    public void setTestsCompleted(Integer testsCompleted) {
+        this.testsCompleted = testsCompleted;
+    }
+    
+    public Integer getTestsTotal() {
+        return testsTotal;
+    }
+    
+    public void setTestsTotal(Integer testsTotal) {
+        this.testsTotal = testsTotal;
+    }
+    
+    public boolean isCached() {
+        return cached;
+    }
+    
+    public void setCached(boolean cached) {
+        this.cached = cached;
+    }
+}
@@ -27,6 +27,9 @@ public class Contest {
     @Column(nullable = false)
     private LocalDateTime endTime;
     
+    @Column
+    private Integer penaltyMinutes; // per rejected attempt on a solved problem; null means 20
+    
     @OneToMany(mappedBy = "contest", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     private List<Problem> problems = new ArrayList<>();
     
@@ -93,6 +96,14 @@ public class Contest {
         this.endTime = endTime;
     }
     
+    public Integer getPenaltyMinutes() {
+        return penaltyMinutes;
+    }
+    
+    public void setPenaltyMinutes(Integer penaltyMinutes) {
+        this.penaltyMinutes = penaltyMinutes;
+    }
+    
     public List<Problem> getProblems() {
         return problems;
     }
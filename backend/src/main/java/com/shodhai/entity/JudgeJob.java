@@ -0,0 +1,119 @@
+package com.shodhai.entity;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * Durable judge queue entry, one per submission. A worker owns a job while it
+ * holds an unexpired lease; the lease token changes on every claim, so a worker
+ * whose lease was taken over can no longer heartbeat or complete the job.
+ */
+@Entity
+@Table(name = "judge_jobs", indexes = {
+    @Index(name = "idx_judge_jobs_state_id", columnList = "state, id"),
+    @Index(name = "idx_judge_jobs_state_lease_expires_at", columnList = "state, lease_expires_at")
+})
+public class JudgeJob {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Column(unique = true, nullable = false)
+    private String submissionId;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private JobState state = JobState.QUEUED;
+    
+    @Column(length = 36)
+    private String leaseToken;
+    
+    @Column
+    private String leaseOwner; // node that holds the lease, for diagnostics
+    
+    @Column
+    private LocalDateTime leaseExpiresAt;
+    
+    @Column(nullable = false)
+    private Integer attempts = 0;
+    
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+    
+    public enum JobState {
+        QUEUED, LEASED, DONE
+    }
+    
+    // Constructors
+    public JudgeJob() {}
+    
+    public JudgeJob(String submissionId) {
+        this.submissionId = submissionId;
+        this.createdAt = LocalDateTime.now();
+    }
+    
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+    
+    public void setId(Long id) {
+        this.id = id;
+    }
+    
+    public String getSubmissionId() {
+        return submissionId;
+    }
+    
+    public void setSubmissionId(String submissionId) {
+        this.submissionId = submissionId;
+    }
+    
+    public JobState getState() {
+        return state;
+    }
+    
+    public void setState(JobState state) {
+        this.state = state;
+    }
+    
+    public String getLeaseToken() {
+        return leaseToken;
+    }
+    
+    public void setLeaseToken(String leaseToken) {
+        this.leaseToken = leaseToken;
+    }
+    
+    public String getLeaseOwner() {
+        return leaseOwner;
+    }
+    
+    public void setLeaseOwner(String leaseOwner) {
+        this.leaseOwner = leaseOwner;
+    }
+    
+    public LocalDateTime getLeaseExpiresAt() {
+        return leaseExpiresAt;
+    }
+    
+    public void setLeaseExpiresAt(LocalDateTime leaseExpiresAt) {
+        this.leaseExpiresAt = leaseExpiresAt;
+    }
+    
+    public Integer getAttempts() {
+        return attempts;
+    }
+    
+    public void setAttempts(Integer attempts) {
+        this.attempts = attempts;
+    }
+    
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+    
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+}
@@ -1,10 +1,12 @@
 package com.shodhai.entity;
 
+import com.shodhai.service.ProblemCacheInvalidator;
 import jakarta.persistence.*;
 import java.util.ArrayList;
 import java.util.List;
 
 @Entity
+@EntityListeners(ProblemCacheInvalidator.class)
 @Table(name = "problems")
 public class Problem {
     @Id
@@ -29,6 +31,12 @@ public class Problem {
     @Column(nullable = false)
     private Integer memoryLimit; // in MB
     
+    @Enumerated(EnumType.STRING)
+    private CheckerType checkerType = CheckerType.EXACT;
+    
+    @Column
+    private Double checkerEpsilon; // only used by the FLOAT checker
+    
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "contest_id", nullable = false)
     private Contest contest;
@@ -53,6 +61,11 @@ public class Problem {
         this.contest = contest;
     }
     
+    // Enums
+    public enum CheckerType {
+        EXACT, TOKEN, FLOAT, DIGEST
+    }
+    
     // Getters and Setters
     public Long getId() {
         return id;
@@ -110,6 +123,22 @@ public class Problem {
         this.memoryLimit = memoryLimit;
     }
     
+    public CheckerType getCheckerType() {
+        return checkerType;
+    }
+    
+    public void setCheckerType(CheckerType checkerType) {
+        this.checkerType = checkerType;
+    }
+    
+    public Double getCheckerEpsilon() {
+        return checkerEpsilon;
+    }
+    
+    public void setCheckerEpsilon(Double checkerEpsilon) {
+        this.checkerEpsilon = checkerEpsilon;
+    }
+    
     public Contest getContest() {
         return contest;
     }
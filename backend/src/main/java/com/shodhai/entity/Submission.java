@@ -4,7 +4,11 @@ import jakarta.persistence.*;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "submissions")
+@Table(name = "submissions", indexes = {
+    @Index(name = "idx_submissions_contest_result_user_problem", columnList = "contest_id, result, user_id, problem_id"),
+    @Index(name = "idx_submissions_contest_submitted_at", columnList = "contest_id, submitted_at"),
+    @Index(name = "idx_submissions_verdict_key", columnList = "verdict_key")
+})
 public class Submission {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -16,6 +20,9 @@ public class Submission {
     @Column(columnDefinition = "TEXT", nullable = false)
     private String code;
     
+    @Column(length = 32)
+    private String language; // null on submissions made before languages, which are all Java
+    
     @Enumerated(EnumType.STRING)
     @Column(nullable = false)
     private SubmissionStatus status;
@@ -35,6 +42,12 @@ public class Submission {
     @Column(nullable = false)
     private LocalDateTime submittedAt;
     
+    @Column(length = 64)
+    private String verdictKey; // source, language and test set version; see VerdictCache
+    
+    @Column
+    private Boolean cached; // verdict copied from an identical earlier submission
+    
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", nullable = false)
     private User user;
@@ -66,7 +79,7 @@ public class Submission {
     }
     
     public enum SubmissionResult {
-        ACCEPTED, WRONG_ANSWER, TIME_LIMIT_EXCEEDED, MEMORY_LIMIT_EXCEEDED, RUNTIME_ERROR, COMPILATION_ERROR
+        ACCEPTED, WRONG_ANSWER, TIME_LIMIT_EXCEEDED, MEMORY_LIMIT_EXCEEDED, OUTPUT_LIMIT_EXCEEDED, RUNTIME_ERROR, COMPILATION_ERROR
     }
     
     // Getters and Setters
@@ -94,6 +107,14 @@ public class Submission {
         this.code = code;
     }
     
+    public String getLanguage() {
+        return language;
+    }
+    
+    public void setLanguage(String language) {
+        this.language = language;
+    }
+    
     public SubmissionStatus getStatus() {
         return status;
     }
@@ -142,6 +163,22 @@ public class Submission {
         this.submittedAt = submittedAt;
     }
     
+    public String getVerdictKey() {
+        return verdictKey;
+    }
+    
+    public void setVerdictKey(String verdictKey) {
+        this.verdictKey = verdictKey;
+    }
+    
+    public boolean isCached() {
+        return Boolean.TRUE.equals(cached);
+    }
+    
+    public void setCached(boolean cached) {
+        this.cached = cached;
+    }
+    
     public User getUser() {
         return user;
     }
@@ -1,19 +1,34 @@
 package com.shodhai.entity;
 
+import com.shodhai.service.ProblemCacheInvalidator;
 import jakarta.persistence.*;
 
 @Entity
+@EntityListeners(ProblemCacheInvalidator.class)
 @Table(name = "test_cases")
 public class TestCase {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
     
-    @Column(columnDefinition = "TEXT", nullable = false)
-    private String input;
+    // Test data lives in the TestDataStore; rows only reference it by content hash
+    @Column(length = 64, nullable = false)
+    private String inputHash;
     
-    @Column(columnDefinition = "TEXT", nullable = false)
-    private String expectedOutput;
+    @Column(nullable = false)
+    private Long inputSize;
+    
+    @Column(length = 64, nullable = false)
+    private String expectedOutputHash;
+    
+    @Column(nullable = false)
+    private Long expectedOutputSize;
+    
+    @Column(length = 64)
+    private String outputDigest; // SHA-256 of the normalized expected output
+    
+    @Column
+    private Long outputNormalizedSize;
     
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "problem_id", nullable = false)
@@ -22,9 +37,14 @@ public class TestCase {
     // Constructors
     public TestCase() {}
     
-    public TestCase(String input, String expectedOutput, Problem problem) {
-        this.input = input;
-        this.expectedOutput = expectedOutput;
+    public TestCase(String inputHash, Long inputSize, String expectedOutputHash, Long expectedOutputSize,
+                    String outputDigest, Long outputNormalizedSize, Problem problem) {
+        this.inputHash = inputHash;
+        this.inputSize = inputSize;
+        this.expectedOutputHash = expectedOutputHash;
+        this.expectedOutputSize = expectedOutputSize;
+        this.outputDigest = outputDigest;
+        this.outputNormalizedSize = outputNormalizedSize;
         this.problem = problem;
     }
     
@@ -37,20 +57,52 @@ public class TestCase {
         this.id = id;
     }
     
-    public String getInput() {
-        return input;
+    public String getInputHash() {
+        return inputHash;
+    }
+    
+    public void setInputHash(String inputHash) {
+        this.inputHash = inputHash;
+    }
+    
+    public Long getInputSize() {
+        return inputSize;
+    }
+    
+    public void setInputSize(Long inputSize) {
+        this.inputSize = inputSize;
+    }
+    
+    public String getExpectedOutputHash() {
+        return expectedOutputHash;
+    }
+    
+    public void setExpectedOutputHash(String expectedOutputHash) {
+        this.expectedOutputHash = expectedOutputHash;
+    }
+    
+    public Long getExpectedOutputSize() {
+        return expectedOutputSize;
+    }
+    
+    public void setExpectedOutputSize(Long expectedOutputSize) {
+        this.expectedOutputSize = expectedOutputSize;
+    }
+    
+    public String getOutputDigest() {
+        return outputDigest;
     }
     
-    public void setInput(String input) {
-        this.input = input;
+    public void setOutputDigest(String outputDigest) {
+        this.outputDigest = outputDigest;
     }
     
-    public String getExpectedOutput() {
-        return expectedOutput;
+    public Long getOutputNormalizedSize() {
+        return outputNormalizedSize;
     }
     
-    public void setExpectedOutput(String expectedOutput) {
-        this.expectedOutput = expectedOutput;
+    public void setOutputNormalizedSize(Long outputNormalizedSize) {
+        this.outputNormalizedSize = outputNormalizedSize;
     }
     
     public Problem getProblem() {
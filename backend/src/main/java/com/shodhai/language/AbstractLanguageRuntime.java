@@ -0,0 +1,60 @@
+package com.shodhai.language;
+
+import com.shodhai.compiler.CompilationResult;
+import com.shodhai.config.JudgeProperties;
+import com.shodhai.sandbox.BoundedCapture;
+import com.shodhai.sandbox.ProcessRunner;
+import com.shodhai.sandbox.RunResult;
+import com.shodhai.sandbox.SandboxLease;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/** Running compilers and probes inside a leased sandbox, shared by the built-in runtimes. */
+abstract class AbstractLanguageRuntime implements LanguageRuntime {
+
+    static final long COMPILE_TIMEOUT_SECONDS = 30;
+    static final long WATCHDOG_GRACE_SECONDS = 5;
+    static final int MAX_COMPILE_OUTPUT = 8192;
+
+    @Autowired
+    protected ProcessRunner processRunner;
+
+    @Autowired
+    protected JudgeProperties judgeProperties;
+
+    /** Runs a compiler or checker in the sandbox; any output on failure becomes the error message. */
+    protected CompilationResult compileInSandbox(SandboxLease lease, List<String> command)
+            throws IOException, InterruptedException {
+        List<String> timed = new ArrayList<>(List.of("timeout", String.valueOf(COMPILE_TIMEOUT_SECONDS)));
+        timed.addAll(command);
+        Process process = lease.exec(timed, null);
+        BoundedCapture output = new BoundedCapture(MAX_COMPILE_OUTPUT);
+        RunResult run = processRunner.run(process, Duration.ofSeconds(COMPILE_TIMEOUT_SECONDS + WATCHDOG_GRACE_SECONDS),
+                                          judgeProperties.getOutputLimit().toBytes(), output, MAX_COMPILE_OUTPUT);
+
+        if (run.getExitCode() == 124 || run.isKilledByWatchdog()) {
+            return CompilationResult.timedOut("Compilation timed out after " + COMPILE_TIMEOUT_SECONDS + " seconds");
+        }
+        if (run.getExitCode() != 0) {
+            // Compilers report diagnostics on stderr
+            return CompilationResult.failure((run.getStderr() + output.toString()).trim());
+        }
+        return CompilationResult.success();
+    }
+
+    /** Stdout and stderr of a short command, or null if it failed. */
+    protected String probe(SandboxLease lease, List<String> command) throws IOException, InterruptedException {
+        Process process = lease.exec(command, null);
+        BoundedCapture output = new BoundedCapture(MAX_COMPILE_OUTPUT);
+        RunResult run = processRunner.run(process, Duration.ofSeconds(COMPILE_TIMEOUT_SECONDS), MAX_COMPILE_OUTPUT,
+                                          output, MAX_COMPILE_OUTPUT);
+        if (run.getExitCode() != 0 || run.isKilledByWatchdog()) {
+            return null;
+        }
+        return (output.toString() + run.getStderr()).trim();
+    }
+}
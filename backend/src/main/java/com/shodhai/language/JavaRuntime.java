@@ -0,0 +1,171 @@
+package com.shodhai.language;
+
+import com.shodhai.artifact.ArtifactCache;
+import com.shodhai.compiler.CompilationResult;
+import com.shodhai.compiler.CompilerService;
+import com.shodhai.sandbox.ExecutionBackend;
+import com.shodhai.sandbox.SandboxLease;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Java: compiled by the warm {@link CompilerService} when it runs, otherwise by
+ * javac in the sandbox, with both kinds of output kept in the {@link ArtifactCache}.
+ */
+@Component
+public class JavaRuntime extends AbstractLanguageRuntime {
+
+    private static final Logger logger = LoggerFactory.getLogger(JavaRuntime.class);
+    // Memory the JVM needs besides the heap: metaspace, code cache, thread stacks and GC structures
+    private static final int MIN_NON_HEAP_MB = 64;
+    private static final int MIN_HEAP_MB = 16;
+
+    @Autowired
+    private ArtifactCache artifactCache;
+
+    @Autowired
+    private CompilerService compilerService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    // "javac -version" output per backend, probed on its first compile
+    private final Map<String, String> toolchains = new ConcurrentHashMap<>();
+
+    @Override
+    public String id() {
+        return "java";
+    }
+
+    @Override
+    public String sourceFileName() {
+        return "Main.java";
+    }
+
+    @Override
+    public CompilationResult compile(SandboxLease lease, ExecutionBackend backend, Path workspace)
+            throws IOException, InterruptedException {
+        Path source = workspace.resolve(sourceFileName());
+
+        if (compilerService.isEnabled()) {
+            long start = System.nanoTime();
+            String artifactKey = artifactKey(compilerService.toolchain(), source);
+            if (artifactKey != null && artifactCache.restore(artifactKey, workspace)) {
+                lease.copyIn(workspace);
+                return CompilationResult.success();
+            }
+            CompilationResult result = null;
+            try {
+                result = compilerService.compile(source, workspace);
+            } catch (IOException e) {
+                logger.warn("Compiler service failed, compiling in the sandbox instead: {}", e.getMessage());
+            }
+            if (result != null) {
+                recordCompile("service", start);
+                if (result.isTimedOut()) {
+                    return result;
+                }
+                if (!result.isSuccess()) {
+                    return CompilationResult.failure(truncate(result.getOutput(), MAX_COMPILE_OUTPUT));
+                }
+                if (artifactKey != null) {
+                    artifactCache.store(artifactKey, workspace, "*.class");
+                }
+                lease.copyIn(workspace);
+                return CompilationResult.success();
+            }
+        }
+        return compileInSandbox(lease, backend, workspace, source);
+    }
+
+    @Override
+    public List<String> runCommand(ExecutionBackend backend, int memoryLimitMegabytes) {
+        // The heap may grow close to the limit instead of the JVM's default share of the sandbox's memory
+        return List.of("java", "-Xmx" + heapMegabytes(memoryLimitMegabytes) + "m", "Main");
+    }
+
+    /**
+     * Heap for a memory limit. The limit is checked against the whole process, so a
+     * quarter of it, and at least {@value #MIN_NON_HEAP_MB} MB, is left for the JVM's
+     * own memory; a program that fills its heap then still fits the limit.
+     */
+    static int heapMegabytes(int memoryLimitMegabytes) {
+        int nonHeap = Math.max(MIN_NON_HEAP_MB, memoryLimitMegabytes / 4);
+        return Math.max(memoryLimitMegabytes - nonHeap, MIN_HEAP_MB);
+    }
+
+    private CompilationResult compileInSandbox(SandboxLease lease, ExecutionBackend backend, Path workspace,
+                                               Path source) throws IOException, InterruptedException {
+        long start = System.nanoTime();
+        // The same source compiled by the same toolchain before is copied in instead of compiled
+        String artifactKey = artifactKey(sandboxToolchain(lease, backend), source);
+        if (artifactKey != null && artifactCache.restore(artifactKey, workspace)) {
+            lease.copyIn(workspace);
+            return CompilationResult.success();
+        }
+
+        lease.copyIn(workspace);
+        CompilationResult result = compileInSandbox(lease, List.of("javac", "-encoding", "UTF-8", sourceFileName()));
+        recordCompile("sandbox", start);
+        if (!result.isSuccess()) {
+            return result;
+        }
+
+        // Keep the compiled classes alongside the source in the submission workspace
+        lease.copyOut(workspace);
+        if (artifactKey != null) {
+            artifactCache.store(artifactKey, workspace, "*.class");
+        }
+        return result;
+    }
+
+    /** Null, meaning compile without the cache, if it is disabled or the toolchain is unknown. */
+    private String artifactKey(String toolchain, Path source) throws IOException {
+        if (!artifactCache.isEnabled() || toolchain == null) {
+            return null;
+        }
+        return ArtifactCache.key(id(), toolchain, Files.readAllBytes(source));
+    }
+
+    private String sandboxToolchain(SandboxLease lease, ExecutionBackend backend)
+            throws IOException, InterruptedException {
+        if (!artifactCache.isEnabled()) {
+            return null;
+        }
+        String toolchain = toolchains.get(backend.name());
+        if (toolchain == null) {
+            // JDK 9+ prints the version on stdout, older ones on stderr
+            toolchain = probe(lease, List.of("javac", "-version"));
+            if (toolchain == null || toolchain.isEmpty()) {
+                logger.warn("Could not determine the compiler version; compiling without the artifact cache");
+                return null;
+            }
+            toolchains.put(backend.name(), toolchain);
+        }
+        return backend.name() + " " + toolchain;
+    }
+
+    private void recordCompile(String compiler, long startNanos) {
+        Timer.builder("judge.compile")
+            .description("Time to compile a submission that was not in the artifact cache")
+            .tags("compiler", compiler)
+            .register(meterRegistry)
+            .record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+    private static String truncate(String text, int maxLength) {
+        return text.length() <= maxLength ? text : text.substring(0, maxLength);
+    }
+}
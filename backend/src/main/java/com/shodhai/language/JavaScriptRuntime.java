@@ -0,0 +1,42 @@
+package com.shodhai.language;
+
+import com.shodhai.compiler.CompilationResult;
+import com.shodhai.sandbox.ExecutionBackend;
+import com.shodhai.sandbox.SandboxLease;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * JavaScript on Node.js. Test runs share a V8 compile cache in the workspace, so
+ * only the first one parses and compiles the program; Node versions without
+ * {@code NODE_COMPILE_CACHE} ignore it.
+ */
+@Component
+public class JavaScriptRuntime extends AbstractLanguageRuntime {
+
+    @Override
+    public String id() {
+        return "javascript";
+    }
+
+    @Override
+    public String sourceFileName() {
+        return "main.js";
+    }
+
+    @Override
+    public CompilationResult compile(SandboxLease lease, ExecutionBackend backend, Path workspace)
+            throws IOException, InterruptedException {
+        lease.copyIn(workspace);
+        // Syntax errors are reported once instead of as a runtime error on every test
+        return compileInSandbox(lease, List.of("node", "--check", sourceFileName()));
+    }
+
+    @Override
+    public List<String> runCommand(ExecutionBackend backend, int memoryLimitMegabytes) {
+        return List.of("env", "NODE_COMPILE_CACHE=.node-cache", "node", sourceFileName());
+    }
+}
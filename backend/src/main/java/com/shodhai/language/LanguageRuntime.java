@@ -0,0 +1,45 @@
+package com.shodhai.language;
+
+import com.shodhai.compiler.CompilationResult;
+import com.shodhai.sandbox.ExecutionBackend;
+import com.shodhai.sandbox.SandboxLease;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * How the judge builds and runs one programming language. Runtimes are Spring
+ * components collected by {@link LanguageRuntimes}; the judge loop only talks to
+ * this interface, so adding a language means adding a runtime, not editing the
+ * loop. Time limits per language are configured under {@code judge.languages}.
+ */
+public interface LanguageRuntime {
+
+    /** Value of a submission's {@code language}, e.g. "java". */
+    String id();
+
+    /** File the source is written to in the submission workspace. */
+    String sourceFileName();
+
+    /**
+     * Turns the source in {@code workspace} into something runnable and leaves the
+     * result in the leased sandbox. Interpreted languages use it as a syntax check.
+     */
+    CompilationResult compile(SandboxLease lease, ExecutionBackend backend, Path workspace)
+            throws IOException, InterruptedException;
+
+    /**
+     * Called once for every sandbox that will run test cases, after it holds the
+     * compiled workspace: the submission's own and any borrowed for parallel tests.
+     * Runtimes start their warm executors here.
+     */
+    default void prepare(SandboxLease lease, ExecutionBackend backend) throws IOException, InterruptedException {
+    }
+
+    /**
+     * Command for one test run with the test input on stdin. The judge enforces the
+     * limits; {@code memoryLimitMegabytes} is for runtimes that size their heap.
+     */
+    List<String> runCommand(ExecutionBackend backend, int memoryLimitMegabytes);
+}
@@ -0,0 +1,73 @@
+package com.shodhai.language;
+
+import com.shodhai.config.JudgeProperties;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/** The language runtimes on the classpath, filtered by {@code judge.languages.<id>.enabled}. */
+@Component
+public class LanguageRuntimes {
+
+    /** Language of submissions that do not name one, including those stored before languages existed. */
+    public static final String DEFAULT_LANGUAGE = "java";
+
+    private static final int DEFAULT_TIME_LIMIT_SECONDS = 5;
+    private static final JudgeProperties.Language UNCONFIGURED = new JudgeProperties.Language();
+
+    @Autowired
+    private List<LanguageRuntime> runtimes;
+
+    @Autowired
+    private JudgeProperties judgeProperties;
+
+    private final Map<String, LanguageRuntime> byId = new LinkedHashMap<>();
+
+    @PostConstruct
+    public void init() {
+        for (LanguageRuntime runtime : runtimes) {
+            if (byId.putIfAbsent(runtime.id(), runtime) != null) {
+                throw new IllegalStateException("Two runtimes for language " + runtime.id());
+            }
+        }
+    }
+
+    /** Throws {@link IllegalArgumentException} for unknown and disabled languages. */
+    public LanguageRuntime get(String language) {
+        LanguageRuntime runtime = byId.get(language != null ? language : DEFAULT_LANGUAGE);
+        if (runtime == null || !settings(runtime.id()).isEnabled()) {
+            throw new IllegalArgumentException("Unsupported language: " + language + "; use one of " + getLanguages());
+        }
+        return runtime;
+    }
+
+    public List<String> getLanguages() {
+        List<String> languages = new ArrayList<>();
+        for (String id : byId.keySet()) {
+            if (settings(id).isEnabled()) {
+                languages.add(id);
+            }
+        }
+        return languages;
+    }
+
+    /** Whole seconds one test run may take: the problem's limit scaled by the language's time multiplier. */
+    public int timeLimitSeconds(LanguageRuntime runtime, Integer problemLimit) {
+        return timeLimitSeconds(runtime.id(), problemLimit);
+    }
+
+    /** As {@link #timeLimitSeconds(LanguageRuntime, Integer)}, for a language that may since have been disabled. */
+    public int timeLimitSeconds(String language, Integer problemLimit) {
+        int seconds = problemLimit != null ? problemLimit : DEFAULT_TIME_LIMIT_SECONDS;
+        return (int) Math.ceil(seconds * settings(language != null ? language : DEFAULT_LANGUAGE).getTimeMultiplier());
+    }
+
+    private JudgeProperties.Language settings(String id) {
+        return judgeProperties.getLanguages().getOrDefault(id, UNCONFIGURED);
+    }
+}
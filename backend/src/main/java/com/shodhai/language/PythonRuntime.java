@@ -0,0 +1,86 @@
+package com.shodhai.language;
+
+import com.shodhai.compiler.CompilationResult;
+import com.shodhai.sandbox.ExecutionBackend;
+import com.shodhai.sandbox.SandboxLease;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Python 3. Each sandbox that runs tests starts a fork server (the judge image's
+ * {@code pyzygote.py}) that has the interpreter up, common modules imported and
+ * the program compiled; every test run then forks it through the small
+ * {@code pyrun} client instead of starting a fresh interpreter. Where the judge
+ * image's helpers are missing, or the server is not up, tests run as plain
+ * {@code python3 main.py}.
+ */
+@Component
+public class PythonRuntime extends AbstractLanguageRuntime {
+
+    private static final Logger logger = LoggerFactory.getLogger(PythonRuntime.class);
+
+    private static final String ZYGOTE = "/app/runtime/pyzygote.py";
+    private static final String CLIENT = "/usr/local/bin/pyrun";
+    private static final String SOCKET = ".pyzygote.sock";
+
+    // Whether a backend's sandboxes have the fork server helpers, probed on its first submission
+    private final Map<String, Boolean> forkServer = new ConcurrentHashMap<>();
+
+    @Override
+    public String id() {
+        return "python";
+    }
+
+    @Override
+    public String sourceFileName() {
+        return "main.py";
+    }
+
+    @Override
+    public CompilationResult compile(SandboxLease lease, ExecutionBackend backend, Path workspace)
+            throws IOException, InterruptedException {
+        lease.copyIn(workspace);
+        // Syntax errors are reported once instead of as a runtime error on every test
+        return compileInSandbox(lease, List.of("python3", "-m", "py_compile", sourceFileName()));
+    }
+
+    @Override
+    public void prepare(SandboxLease lease, ExecutionBackend backend) throws IOException, InterruptedException {
+        if (!backend.keepsProcesses()) {
+            // The server would die with the job that started it
+            return;
+        }
+        Boolean available = forkServer.get(backend.name());
+        if (available == null) {
+            available = probe(lease, List.of("test", "-x", CLIENT, "-a", "-f", ZYGOTE)) != null;
+            if (!available) {
+                logger.info("No Python fork server in {} sandboxes; Python tests start a fresh interpreter",
+                            backend.name());
+            }
+            forkServer.put(backend.name(), available);
+        }
+        if (!available) {
+            return;
+        }
+        // Detached from the exec session; the sandbox scrub kills it between leases
+        probe(lease, List.of("sh", "-c",
+            "python3 " + ZYGOTE + " " + SOCKET + " " + sourceFileName() + " </dev/null >/dev/null 2>&1 & " +
+            "i=0; while [ ! -S " + SOCKET + " ] && [ $i -lt 200 ]; do sleep 0.01; i=$((i+1)); done"));
+    }
+
+    @Override
+    public List<String> runCommand(ExecutionBackend backend, int memoryLimitMegabytes) {
+        if (Boolean.TRUE.equals(forkServer.get(backend.name()))) {
+            // pyrun falls back to the command after the socket when the server is not there
+            return List.of(CLIENT, SOCKET, "python3", sourceFileName());
+        }
+        return List.of("python3", sourceFileName());
+    }
+}
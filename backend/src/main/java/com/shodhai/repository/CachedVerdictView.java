@@ -0,0 +1,14 @@
+package com.shodhai.repository;
+
+import com.shodhai.entity.Submission;
+
+/** The verdict of a judged submission, as reused for identical resubmissions. */
+public interface CachedVerdictView {
+    Submission.SubmissionResult getResult();
+    
+    String getErrorMessage();
+    
+    Integer getExecutionTime();
+    
+    Integer getMemoryUsed();
+}
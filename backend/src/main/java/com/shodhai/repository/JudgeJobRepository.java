@@ -0,0 +1,50 @@
+package com.shodhai.repository;
+
+import com.shodhai.entity.JudgeJob;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface JudgeJobRepository extends JpaRepository<JudgeJob, Long> {
+    Optional<JudgeJob> findBySubmissionId(String submissionId);
+    
+    long countByState(JudgeJob.JobState state);
+    
+    @Query("SELECT j.id FROM JudgeJob j WHERE j.state = 'QUEUED' ORDER BY j.id")
+    List<Long> findQueuedIds(Pageable pageable);
+    
+    // Compare-and-set: of several nodes racing for the same job exactly one update matches
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE JudgeJob j SET j.state = 'LEASED', j.leaseToken = :token, j.leaseOwner = :owner, " +
+           "j.leaseExpiresAt = :expiresAt, j.attempts = j.attempts + 1 WHERE j.id = :id AND j.state = 'QUEUED'")
+    int claim(@Param("id") Long id, @Param("token") String token, @Param("owner") String owner,
+              @Param("expiresAt") LocalDateTime expiresAt);
+    
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE JudgeJob j SET j.leaseExpiresAt = :expiresAt " +
+           "WHERE j.id = :id AND j.leaseToken = :token AND j.state = 'LEASED'")
+    int extendLease(@Param("id") Long id, @Param("token") String token, @Param("expiresAt") LocalDateTime expiresAt);
+    
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE JudgeJob j SET j.state = 'DONE', j.leaseToken = NULL, j.leaseExpiresAt = NULL " +
+           "WHERE j.id = :id AND j.leaseToken = :token AND j.state = 'LEASED'")
+    int complete(@Param("id") Long id, @Param("token") String token);
+    
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE JudgeJob j SET j.state = 'QUEUED', j.leaseToken = NULL, j.leaseOwner = NULL, " +
+           "j.leaseExpiresAt = NULL, j.attempts = j.attempts - 1 " +
+           "WHERE j.id = :id AND j.leaseToken = :token AND j.state = 'LEASED'")
+    int release(@Param("id") Long id, @Param("token") String token);
+    
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE JudgeJob j SET j.state = 'QUEUED', j.leaseToken = NULL, j.leaseOwner = NULL, " +
+           "j.leaseExpiresAt = NULL WHERE j.state = 'LEASED' AND j.leaseExpiresAt < :now")
+    int requeueExpired(@Param("now") LocalDateTime now);
+}
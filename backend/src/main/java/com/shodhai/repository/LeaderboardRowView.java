@@ -0,0 +1,14 @@
+package com.shodhai.repository;
+
+import java.time.LocalDateTime;
+
+/** One user's aggregated standing in a contest, computed by the database. */
+public interface LeaderboardRowView {
+    String getUsername();
+    
+    Long getProblemsSolved();
+    
+    Long getTotalSubmissions();
+    
+    LocalDateTime getLastAcceptedAt();
+}
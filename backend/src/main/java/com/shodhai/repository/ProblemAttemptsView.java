@@ -0,0 +1,10 @@
+package com.shodhai.repository;
+
+/** Rejected submissions of one user on one problem that count towards ICPC penalty. */
+public interface ProblemAttemptsView {
+    String getUsername();
+    
+    Long getProblemId();
+    
+    Long getWrongAttempts();
+}
@@ -0,0 +1,12 @@
+package com.shodhai.repository;
+
+import java.time.LocalDateTime;
+
+/** A problem a user has solved, with the submission time of their first accepted submission. */
+public interface SolvedProblemView {
+    String getUsername();
+    
+    Long getProblemId();
+    
+    LocalDateTime getFirstAcceptedAt();
+}
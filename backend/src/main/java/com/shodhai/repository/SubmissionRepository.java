@@ -1,10 +1,15 @@
 package com.shodhai.repository;
 
 import com.shodhai.entity.Submission;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -12,6 +17,23 @@ import java.util.Optional;
 public interface SubmissionRepository extends JpaRepository<Submission, Long> {
     Optional<Submission> findBySubmissionId(String submissionId);
     
+    @Query("SELECT s FROM Submission s JOIN FETCH s.user JOIN FETCH s.problem WHERE s.submissionId = :submissionId")
+    Optional<Submission> findWithDetailsBySubmissionId(@Param("submissionId") String submissionId);
+    
+    // Served by the unique index on submission_id; the code column and joined rows are never read
+    @Query("SELECT s.submissionId AS submissionId, s.status AS status, s.result AS result, " +
+           "s.errorMessage AS errorMessage, s.executionTime AS executionTime, s.memoryUsed AS memoryUsed, " +
+           "s.submittedAt AS submittedAt, s.cached AS cached FROM Submission s WHERE s.submissionId IN :submissionIds")
+    List<SubmissionStatusView> findStatusesBySubmissionIds(@Param("submissionIds") Collection<String> submissionIds);
+    
+    // Newest first through idx_submissions_verdict_key; the code column is never read
+    @Query("SELECT s.result AS result, s.errorMessage AS errorMessage, s.executionTime AS executionTime, " +
+           "s.memoryUsed AS memoryUsed FROM Submission s WHERE s.verdictKey = :verdictKey " +
+           "AND s.status = 'COMPLETED' AND s.result IN :results ORDER BY s.id DESC")
+    List<CachedVerdictView> findVerdictsByKey(@Param("verdictKey") String verdictKey,
+                                              @Param("results") Collection<Submission.SubmissionResult> results,
+                                              Pageable pageable);
+    
     @Query("SELECT s FROM Submission s WHERE s.contest.contestId = :contestId ORDER BY s.submittedAt DESC")
     List<Submission> findByContestIdOrderBySubmittedAtDesc(@Param("contestId") String contestId);
     
@@ -21,4 +43,41 @@ public interface SubmissionRepository extends JpaRepository<Submission, Long> {
     @Query("SELECT s FROM Submission s WHERE s.contest.id = :contestId AND s.result = 'ACCEPTED' " +
            "ORDER BY s.submittedAt ASC")
     List<Submission> findAcceptedSubmissionsByContest(@Param("contestId") Long contestId);
+    
+    // Aggregated in the database so only one row per user comes back, never the code column
+    @Query("SELECT u.username AS username, " +
+           "COUNT(DISTINCT CASE WHEN s.result = 'ACCEPTED' THEN s.problem.id END) AS problemsSolved, " +
+           "COUNT(s) AS totalSubmissions, " +
+           "MAX(CASE WHEN s.result = 'ACCEPTED' THEN s.submittedAt END) AS lastAcceptedAt " +
+           "FROM Submission s JOIN s.user u WHERE s.contest.id = :contestId GROUP BY u.username")
+    List<LeaderboardRowView> findLeaderboardRows(@Param("contestId") Long contestId);
+    
+    @Query("SELECT u.username AS username, s.problem.id AS problemId, MIN(s.submittedAt) AS firstAcceptedAt " +
+           "FROM Submission s JOIN s.user u WHERE s.contest.id = :contestId AND s.result = 'ACCEPTED' " +
+           "GROUP BY u.username, s.problem.id")
+    List<SolvedProblemView> findSolvedProblems(@Param("contestId") Long contestId);
+    
+    // Rejections that no accepted submission precedes: before the first AC, or all of them if unsolved
+    @Query("SELECT u.username AS username, s.problem.id AS problemId, COUNT(s) AS wrongAttempts " +
+           "FROM Submission s JOIN s.user u WHERE s.contest.id = :contestId AND s.result IS NOT NULL " +
+           "AND s.result NOT IN ('ACCEPTED', 'COMPILATION_ERROR') " +
+           "AND NOT EXISTS (SELECT a.id FROM Submission a WHERE a.contest = s.contest AND a.result = 'ACCEPTED' " +
+           "AND a.user = s.user AND a.problem = s.problem AND a.submittedAt <= s.submittedAt) " +
+           "GROUP BY u.username, s.problem.id")
+    List<ProblemAttemptsView> findWrongAttempts(@Param("contestId") Long contestId);
+    
+    // Unfinished submissions the judge queue does not know about, e.g. saved just before a crash
+    @Query("SELECT s.submissionId FROM Submission s WHERE s.status <> 'COMPLETED' AND s.submittedAt < :before " +
+           "AND NOT EXISTS (SELECT j.id FROM JudgeJob j WHERE j.submissionId = s.submissionId)")
+    List<String> findUnqueuedSubmissionIds(@Param("before") LocalDateTime before);
+    
+    @Modifying(clearAutomatically = true)
+    @Transactional
+    @Query("UPDATE Submission s SET s.status = 'RUNNING' WHERE s.submissionId = :submissionId AND s.status <> 'COMPLETED'")
+    int markRunning(@Param("submissionId") String submissionId);
+    
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Submission s SET s.status = 'PENDING' WHERE s.status = 'RUNNING' AND s.submissionId IN " +
+           "(SELECT j.submissionId FROM JudgeJob j WHERE j.state = 'LEASED' AND j.leaseExpiresAt < :now)")
+    int resetExpiredToPending(@Param("now") LocalDateTime now);
 }
@@ -0,0 +1,24 @@
+package com.shodhai.repository;
+
+import com.shodhai.entity.Submission;
+
+import java.time.LocalDateTime;
+
+/** A submission's status and verdict, read without its code or any joined row. */
+public interface SubmissionStatusView {
+    String getSubmissionId();
+    
+    Submission.SubmissionStatus getStatus();
+    
+    Submission.SubmissionResult getResult();
+    
+    String getErrorMessage();
+    
+    Integer getExecutionTime();
+    
+    Integer getMemoryUsed();
+    
+    LocalDateTime getSubmittedAt();
+    
+    Boolean getCached();
+}
@@ -0,0 +1,93 @@
+package com.shodhai.sandbox;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Byte buffer that never grows past a fixed limit. Used to capture process output
+ * so that a program printing in a loop cannot exhaust the backend's heap.
+ */
+public class BoundedCapture implements StdoutConsumer {
+
+    private static final int INITIAL_CAPACITY = 8192;
+
+    private final int limit;
+    private byte[] buffer;
+    private int size;
+    private boolean exceeded;
+
+    public BoundedCapture(long limit) {
+        this.limit = (int) Math.min(Integer.MAX_VALUE - 8, Math.max(0, limit));
+        this.buffer = new byte[Math.min(this.limit, INITIAL_CAPACITY)];
+    }
+
+    /**
+     * Reads until end of stream or until the limit is crossed, whichever comes first.
+     * Returns false if reading stopped because the limit was exceeded.
+     */
+    public boolean readFrom(InputStream in) throws IOException {
+        byte[] chunk = new byte[INITIAL_CAPACITY];
+        int read;
+        while ((read = in.read(chunk)) != -1) {
+            if (!append(chunk, read)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /** Reads to end of stream, keeping the first {@code limit} bytes and discarding the rest. */
+    public void drainFrom(InputStream in) throws IOException {
+        byte[] chunk = new byte[INITIAL_CAPACITY];
+        int read;
+        while ((read = in.read(chunk)) != -1) {
+            append(chunk, read);
+        }
+    }
+
+    @Override
+    public void consume(InputStream stdout) throws IOException {
+        drainFrom(stdout);
+    }
+
+    private boolean append(byte[] chunk, int length) {
+        int room = limit - size;
+        int accepted = Math.min(room, length);
+        if (accepted > 0) {
+            ensureCapacity(size + accepted);
+            System.arraycopy(chunk, 0, buffer, size, accepted);
+            size += accepted;
+        }
+        if (accepted < length) {
+            exceeded = true;
+            return false;
+        }
+        return true;
+    }
+
+    private void ensureCapacity(int required) {
+        if (required > buffer.length) {
+            int grown = (int) Math.min(limit, Math.max(required, (long) buffer.length * 2));
+            buffer = Arrays.copyOf(buffer, grown);
+        }
+    }
+
+    public boolean isExceeded() {
+        return exceeded;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public byte[] toByteArray() {
+        return Arrays.copyOf(buffer, size);
+    }
+
+    @Override
+    public String toString() {
+        return new String(buffer, 0, size, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,50 @@
+package com.shodhai.sandbox;
+
+import com.shodhai.config.JudgeProperties;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+
+@Component
+public class DockerExecutionBackend implements ExecutionBackend {
+
+    @Autowired
+    private JudgeProperties judgeProperties;
+
+    @Autowired
+    @Qualifier("dockerSandboxPool")
+    private SandboxPool pool;
+
+    @Override
+    public String name() {
+        return "docker";
+    }
+
+    @Override
+    public boolean probe() {
+        // "docker version" talks to the daemon, "docker --version" only proves the CLI is installed
+        boolean available = CommandProbe.succeeds(judgeProperties.getExecutor().getProbeTimeout(),
+                                                  "docker", "version", "--format", "{{.Server.Version}}");
+        if (available) {
+            pool.start(judgeProperties.getSandbox().getHealthCheckInterval());
+        }
+        return available;
+    }
+
+    @Override
+    public boolean executesCode() {
+        return true;
+    }
+
+    @Override
+    public SandboxLease acquire() throws IOException {
+        return pool.acquire();
+    }
+
+    @Override
+    public SandboxLease tryAcquire() {
+        return pool.tryAcquire();
+    }
+}
@@ -0,0 +1,188 @@
+package com.shodhai.sandbox;
+
+import com.shodhai.config.JudgeProperties;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Long-lived, network-isolated judge containers. Each container idles on
+ * {@code sleep infinity} and jobs are started in it with {@code docker exec}
+ * as an unprivileged user, so a test run no longer pays for container startup.
+ * Test runs are measured by the image's runmeter, which needs a container to
+ * itself; a lease gives it one. Memory is capped per container and raised with
+ * {@code docker update} when a problem allows more than the configured limit.
+ */
+@Component
+public class DockerSandboxExecutor implements SandboxExecutor {
+
+    private static final String WORK_DIR = "/sandbox";
+    private static final String SANDBOX_USER = "65534:65534";
+    private static final long COMMAND_TIMEOUT_SECONDS = 30;
+    // Room above a program's limit for what else lives in the container, e.g. warm executors
+    private static final long MEMORY_HEADROOM = 64L * 1024 * 1024;
+
+    @Autowired
+    private JudgeProperties judgeProperties;
+
+    // Containers whose image has runmeter, and each container's current memory cap
+    private final Set<String> metered = ConcurrentHashMap.newKeySet();
+    private final Map<String, Long> memoryCaps = new ConcurrentHashMap<>();
+
+    @Override
+    public String name() {
+        return "docker";
+    }
+
+    @Override
+    public String start() throws IOException {
+        JudgeProperties.Sandbox settings = judgeProperties.getSandbox();
+        String containerId = docker(
+            "run", "-d", "--rm",
+            "--label", "shodh.sandbox=true",
+            "--network=none",
+            "--memory=" + settings.getMemoryLimit(),
+            // No swap, so a program over the cap is OOM-killed rather than slowed down
+            "--memory-swap=" + settings.getMemoryLimit(),
+            "--cpus=" + settings.getCpus(),
+            "--pids-limit=128",
+            "--entrypoint=",
+            settings.getImage(),
+            "sleep", "infinity"
+        ).trim();
+        scrub(containerId);
+        memoryCaps.put(containerId, MemorySize.toBytes(settings.getMemoryLimit()));
+        try {
+            docker("exec", containerId, "test", "-x", RunMeter.COMMAND);
+            metered.add(containerId);
+        } catch (IOException e) {
+            // An image without runmeter still judges, timed by the wall clock alone
+        }
+        return containerId;
+    }
+
+    @Override
+    public void copyIn(String sandboxId, Path source) throws IOException {
+        docker("cp", source.toAbsolutePath() + "/.", sandboxId + ":" + WORK_DIR);
+        docker("exec", sandboxId, "chown", "-R", SANDBOX_USER, WORK_DIR);
+    }
+
+    @Override
+    public void copyOut(String sandboxId, Path target) throws IOException {
+        docker("cp", sandboxId + ":" + WORK_DIR + "/.", target.toAbsolutePath().toString());
+    }
+
+    @Override
+    public Process exec(String sandboxId, List<String> command, Path stdin) throws IOException {
+        List<String> args = new ArrayList<>(Arrays.asList(
+            "docker", "exec", "-i", "-u", SANDBOX_USER, "-w", WORK_DIR, sandboxId));
+        args.addAll(command);
+        return start(new ProcessBuilder(args), stdin);
+    }
+
+    @Override
+    public boolean isMetered(String sandboxId) {
+        return metered.contains(sandboxId);
+    }
+
+    @Override
+    public Process exec(String sandboxId, List<String> command, Path stdin, RunMeter meter) throws IOException {
+        // runmeter starts as root to keep its tag out of the program's reach, then runs it as the sandbox user
+        List<String> args = new ArrayList<>(Arrays.asList(
+            "docker", "exec", "-i", "-u", "0", "-e", RunMeter.TAG_VARIABLE, "-w", WORK_DIR, sandboxId));
+        args.addAll(List.of(RunMeter.COMMAND, "-u", SANDBOX_USER, "-t", String.valueOf(meter.getCpuLimitMillis())));
+        args.addAll(command);
+        ProcessBuilder processBuilder = new ProcessBuilder(args);
+        // Taken from the docker client's environment, so the tag does not show up on the host's command lines
+        processBuilder.environment().put(RunMeter.TAG_VARIABLE, meter.getTag());
+        return start(processBuilder, stdin);
+    }
+
+    @Override
+    public void reserveMemory(String sandboxId, long bytes) throws IOException {
+        long cap = bytes + MEMORY_HEADROOM;
+        Long current = memoryCaps.get(sandboxId);
+        if (current != null && current >= cap) {
+            return;
+        }
+        docker("update", "--memory=" + cap, "--memory-swap=" + cap, sandboxId);
+        memoryCaps.put(sandboxId, cap);
+    }
+
+    private static Process start(ProcessBuilder processBuilder, Path stdin) throws IOException {
+        if (stdin != null) {
+            // The docker client forwards the file to the container without it passing through the JVM
+            processBuilder.redirectInput(stdin.toFile());
+        }
+        return processBuilder.start();
+    }
+
+    @Override
+    public void scrub(String sandboxId) throws IOException {
+        // PID 1 (sleep) survives kill -1, everything the previous job left behind does not
+        docker("exec", sandboxId, "sh", "-c",
+               "kill -9 -1 2>/dev/null; rm -rf " + WORK_DIR + " /tmp/* /tmp/.[!.]* 2>/dev/null; " +
+               "mkdir -p " + WORK_DIR + " && chown " + SANDBOX_USER + " " + WORK_DIR);
+    }
+
+    @Override
+    public boolean isHealthy(String sandboxId) {
+        try {
+            return "true".equals(docker("inspect", "-f", "{{.State.Running}}", sandboxId).trim());
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    @Override
+    public void destroy(String sandboxId) {
+        metered.remove(sandboxId);
+        memoryCaps.remove(sandboxId);
+        try {
+            docker("rm", "-f", sandboxId);
+        } catch (IOException e) {
+            // Container is already gone or the daemon is unreachable; nothing left to clean up
+        }
+    }
+
+    private String docker(String... args) throws IOException {
+        List<String> command = new ArrayList<>();
+        command.add("docker");
+        command.addAll(Arrays.asList(args));
+
+        Process process = new ProcessBuilder(command).redirectErrorStream(true).start();
+        process.getOutputStream().close();
+        String output = readAll(process.getInputStream());
+        try {
+            if (!process.waitFor(COMMAND_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                process.destroyForcibly();
+                throw new IOException("docker " + args[0] + " timed out");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted waiting for docker " + args[0], e);
+        }
+        if (process.exitValue() != 0) {
+            throw new IOException("docker " + args[0] + " failed: " + output.trim());
+        }
+        return output;
+    }
+
+    private static String readAll(InputStream in) throws IOException {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        in.transferTo(buffer);
+        return buffer.toString(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,28 @@
+package com.shodhai.sandbox;
+
+import java.io.IOException;
+
+/**
+ * A way of running contestant code. Backends are probed by
+ * {@link ExecutionBackendRegistry}; the judge pins one for each submission.
+ */
+public interface ExecutionBackend {
+
+    String name();
+
+    /** Cheap capability check, run at startup and on the registry's recheck schedule. */
+    boolean probe();
+
+    /** False for backends that only simulate a verdict without running the code. */
+    boolean executesCode();
+
+    /** Whether processes a job leaves running in a leased sandbox are still there for the lease's next job. */
+    default boolean keepsProcesses() {
+        return true;
+    }
+
+    SandboxLease acquire() throws IOException;
+
+    /** Leases an already warm sandbox if one is idle right now, otherwise returns null. */
+    SandboxLease tryAcquire();
+}
@@ -0,0 +1,27 @@
+package com.shodhai.sandbox;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+/** Reports the active execution backend and the result of each backend's last probe. */
+@Component
+public class ExecutionBackendHealthIndicator implements HealthIndicator {
+
+    @Autowired
+    private ExecutionBackendRegistry executionBackendRegistry;
+
+    @Override
+    public Health health() {
+        ExecutionBackend active = executionBackendRegistry.current();
+        if (active == null) {
+            return Health.down().withDetail("active", "none").build();
+        }
+        return Health.up()
+            .withDetail("active", active.name())
+            .withDetail("executesCode", active.executesCode())
+            .withDetail("backends", executionBackendRegistry.getStatuses())
+            .build();
+    }
+}
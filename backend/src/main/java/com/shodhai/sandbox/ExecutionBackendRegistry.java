@@ -0,0 +1,141 @@
+package com.shodhai.sandbox;
+
+import com.shodhai.config.JudgeProperties;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Probes the configured execution backends at startup and on a fixed schedule,
+ * and keeps the first available one (in configured order) as the active backend.
+ * The judge reads {@link #current()} once per submission, so a backend change
+ * never affects a submission that is already running.
+ */
+@Service
+public class ExecutionBackendRegistry {
+
+    private static final Logger logger = LoggerFactory.getLogger(ExecutionBackendRegistry.class);
+
+    @Autowired
+    private JudgeProperties judgeProperties;
+
+    @Autowired
+    private List<ExecutionBackend> backends;
+
+    @Autowired
+    private MockExecutionBackend mockExecutionBackend;
+
+    private final Map<String, BackendStatus> statuses = Collections.synchronizedMap(new LinkedHashMap<>());
+    private volatile ExecutionBackend active;
+    private ScheduledExecutorService scheduler;
+
+    @PostConstruct
+    public void init() {
+        probeAll();
+
+        long intervalMillis = judgeProperties.getExecutor().getRecheckInterval().toMillis();
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "execution-backend-probe");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::probeAll, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    public ExecutionBackend current() {
+        return active;
+    }
+
+    public Map<String, BackendStatus> getStatuses() {
+        synchronized (statuses) {
+            return new LinkedHashMap<>(statuses);
+        }
+    }
+
+    synchronized void probeAll() {
+        ExecutionBackend selected = null;
+        for (String name : judgeProperties.getExecutor().getBackends()) {
+            ExecutionBackend backend = findBackend(name);
+            if (backend == null) {
+                logger.warn("Unknown execution backend '{}' in judge.executor.backends", name);
+                continue;
+            }
+
+            long start = System.nanoTime();
+            boolean available;
+            try {
+                available = backend.probe();
+            } catch (RuntimeException e) {
+                logger.warn("Probe for execution backend {} failed", name, e);
+                available = false;
+            }
+            long latencyMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+            statuses.put(backend.name(), new BackendStatus(available, latencyMillis, Instant.now()));
+
+            if (available && selected == null) {
+                selected = backend;
+            }
+        }
+
+        if (selected == null) {
+            logger.warn("No configured execution backend is available, falling back to mock execution");
+            selected = mockExecutionBackend;
+        }
+        if (selected != active) {
+            logger.info("Judge execution backend: {} (was {})", selected.name(), active != null ? active.name() : "none");
+            active = selected;
+        }
+    }
+
+    private ExecutionBackend findBackend(String name) {
+        for (ExecutionBackend backend : backends) {
+            if (backend.name().equalsIgnoreCase(name.trim())) {
+                return backend;
+            }
+        }
+        return null;
+    }
+
+    public static class BackendStatus {
+        private final boolean available;
+        private final long probeLatencyMillis;
+        private final Instant checkedAt;
+
+        public BackendStatus(boolean available, long probeLatencyMillis, Instant checkedAt) {
+            this.available = available;
+            this.probeLatencyMillis = probeLatencyMillis;
+            this.checkedAt = checkedAt;
+        }
+
+        public boolean isAvailable() {
+            return available;
+        }
+
+        public long getProbeLatencyMillis() {
+            return probeLatencyMillis;
+        }
+
+        public Instant getCheckedAt() {
+            return checkedAt;
+        }
+    }
+}
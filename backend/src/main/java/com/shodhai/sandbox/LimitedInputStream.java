@@ -0,0 +1,66 @@
+package com.shodhai.sandbox;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Counts bytes read from a process's stdout and fails with
+ * {@link OutputLimitExceededException} once the limit is crossed. Also records
+ * whether the consumer read all the way to end of stream.
+ */
+class LimitedInputStream extends FilterInputStream {
+
+    private final long limit;
+    private long count;
+    private boolean endOfStream;
+
+    LimitedInputStream(InputStream in, long limit) {
+        super(in);
+        this.limit = limit;
+    }
+
+    @Override
+    public int read() throws IOException {
+        int b = super.read();
+        if (b == -1) {
+            endOfStream = true;
+        } else {
+            advance(1);
+        }
+        return b;
+    }
+
+    @Override
+    public int read(byte[] buffer, int offset, int length) throws IOException {
+        int read = super.read(buffer, offset, length);
+        if (read == -1) {
+            endOfStream = true;
+        } else {
+            advance(read);
+        }
+        return read;
+    }
+
+    @Override
+    public long skip(long n) throws IOException {
+        long skipped = super.skip(n);
+        advance(skipped);
+        return skipped;
+    }
+
+    private void advance(long bytes) throws OutputLimitExceededException {
+        count += bytes;
+        if (count > limit) {
+            throw new OutputLimitExceededException(limit);
+        }
+    }
+
+    long getCount() {
+        return count;
+    }
+
+    boolean isEndOfStream() {
+        return endOfStream;
+    }
+}
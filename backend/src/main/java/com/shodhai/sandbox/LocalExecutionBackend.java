@@ -0,0 +1,53 @@
+package com.shodhai.sandbox;
+
+import com.shodhai.config.JudgeProperties;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+
+/**
+ * Runs submissions as unisolated host processes. Only selected when "local" is
+ * listed in {@code judge.executor.backends}; intended for development machines.
+ */
+@Component
+public class LocalExecutionBackend implements ExecutionBackend {
+
+    @Autowired
+    private JudgeProperties judgeProperties;
+
+    @Autowired
+    @Qualifier("localSandboxPool")
+    private SandboxPool pool;
+
+    @Override
+    public String name() {
+        return "local";
+    }
+
+    @Override
+    public boolean probe() {
+        boolean available = CommandProbe.succeeds(judgeProperties.getExecutor().getProbeTimeout(), "javac", "-version")
+            && CommandProbe.succeeds(judgeProperties.getExecutor().getProbeTimeout(), "timeout", "--version");
+        if (available) {
+            pool.start(judgeProperties.getSandbox().getHealthCheckInterval());
+        }
+        return available;
+    }
+
+    @Override
+    public boolean executesCode() {
+        return true;
+    }
+
+    @Override
+    public SandboxLease acquire() throws IOException {
+        return pool.acquire();
+    }
+
+    @Override
+    public SandboxLease tryAcquire() {
+        return pool.tryAcquire();
+    }
+}
@@ -0,0 +1,111 @@
+package com.shodhai.sandbox;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Runs jobs as plain host processes inside a scratch directory. It offers no
+ * isolation, so it is meant for development and as a stand-in executor when
+ * exercising {@link SandboxPool} without a Docker daemon.
+ */
+public class LocalSandboxExecutor implements SandboxExecutor {
+
+    private final Path root;
+
+    public LocalSandboxExecutor(Path root) {
+        this.root = root;
+    }
+
+    @Override
+    public String name() {
+        return "local";
+    }
+
+    @Override
+    public String start() throws IOException {
+        Files.createDirectories(root);
+        return Files.createTempDirectory(root, "sandbox_").toString();
+    }
+
+    @Override
+    public void copyIn(String sandboxId, Path source) throws IOException {
+        copyTree(source, Path.of(sandboxId));
+    }
+
+    @Override
+    public void copyOut(String sandboxId, Path target) throws IOException {
+        copyTree(Path.of(sandboxId), target);
+    }
+
+    @Override
+    public Process exec(String sandboxId, List<String> command, Path stdin) throws IOException {
+        ProcessBuilder processBuilder = new ProcessBuilder(command).directory(Path.of(sandboxId).toFile());
+        if (stdin != null) {
+            processBuilder.redirectInput(stdin.toFile());
+        }
+        return processBuilder.start();
+    }
+
+    @Override
+    public void scrub(String sandboxId) throws IOException {
+        Path dir = Path.of(sandboxId);
+        deleteTree(dir);
+        Files.createDirectories(dir);
+    }
+
+    @Override
+    public boolean isHealthy(String sandboxId) {
+        return Files.isDirectory(Path.of(sandboxId));
+    }
+
+    @Override
+    public void destroy(String sandboxId) {
+        try {
+            deleteTree(Path.of(sandboxId));
+        } catch (IOException e) {
+            // Best effort; the directory lives under the temp root anyway
+        }
+    }
+
+    private static void copyTree(Path source, Path target) throws IOException {
+        try (Stream<Path> paths = Files.walk(source)) {
+            paths.forEach(path -> {
+                Path destination = target.resolve(source.relativize(path).toString());
+                try {
+                    if (Files.isDirectory(path)) {
+                        Files.createDirectories(destination);
+                    } else {
+                        Files.copy(path, destination, StandardCopyOption.REPLACE_EXISTING);
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    private static void deleteTree(Path dir) throws IOException {
+        if (!Files.exists(dir)) {
+            return;
+        }
+        try (Stream<Path> paths = Files.walk(dir)) {
+            paths.sorted(Comparator.reverseOrder()).forEach(path -> {
+                try {
+                    Files.delete(path);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+}
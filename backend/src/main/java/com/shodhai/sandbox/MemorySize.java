@@ -0,0 +1,23 @@
+package com.shodhai.sandbox;
+
+import java.util.Locale;
+
+final class MemorySize {
+
+    private MemorySize() {}
+
+    /** Bytes in a docker size such as "512m", the format of {@code judge.sandbox.memory-limit}. */
+    static long toBytes(String size) {
+        String value = size.trim().toLowerCase(Locale.ROOT);
+        if (value.endsWith("b")) {
+            value = value.substring(0, value.length() - 1);
+        }
+        long unit = switch (value.isEmpty() ? ' ' : value.charAt(value.length() - 1)) {
+            case 'k' -> 1024L;
+            case 'm' -> 1024L * 1024;
+            case 'g' -> 1024L * 1024 * 1024;
+            default -> 1L;
+        };
+        return Long.parseLong(unit == 1 ? value : value.substring(0, value.length() - 1)) * unit;
+    }
+}
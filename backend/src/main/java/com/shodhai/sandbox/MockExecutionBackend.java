@@ -0,0 +1,33 @@
+package com.shodhai.sandbox;
+
+import org.springframework.stereotype.Component;
+
+/** Always-available fallback that lets the judge produce demo verdicts without running code. */
+@Component
+public class MockExecutionBackend implements ExecutionBackend {
+
+    @Override
+    public String name() {
+        return "mock";
+    }
+
+    @Override
+    public boolean probe() {
+        return true;
+    }
+
+    @Override
+    public boolean executesCode() {
+        return false;
+    }
+
+    @Override
+    public SandboxLease acquire() {
+        throw new UnsupportedOperationException("The mock backend does not run code");
+    }
+
+    @Override
+    public SandboxLease tryAcquire() {
+        return null;
+    }
+}
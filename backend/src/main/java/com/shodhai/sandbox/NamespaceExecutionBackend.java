@@ -0,0 +1,85 @@
+package com.shodhai.sandbox;
+
+import com.shodhai.config.JudgeProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Runs submissions in bubblewrap sandboxes on the judge host itself, with no
+ * Docker daemon or socket. Needs bwrap, unprivileged user namespaces, a
+ * delegated cgroup v2 directory and runmeter; see {@link NamespaceSandboxExecutor}.
+ */
+@Component
+public class NamespaceExecutionBackend implements ExecutionBackend {
+
+    private static final Logger logger = LoggerFactory.getLogger(NamespaceExecutionBackend.class);
+
+    @Autowired
+    private JudgeProperties judgeProperties;
+
+    @Autowired
+    private NamespaceSandboxExecutor executor;
+
+    @Autowired
+    @Qualifier("namespaceSandboxPool")
+    private SandboxPool pool;
+
+    @Override
+    public String name() {
+        return "namespace";
+    }
+
+    @Override
+    public boolean probe() {
+        JudgeProperties.Namespace settings = judgeProperties.getNamespace();
+        String cgroup = settings.getCgroup();
+        // Limits and measurements all come from the sandbox cgroups, so there are no sandboxes without them
+        if (cgroup.isBlank() || !Files.isWritable(Path.of(cgroup, "cgroup.subtree_control"))) {
+            logger.warn("Namespace sandboxes unavailable: judge.namespace.cgroup '{}' is not a writable "
+                        + "delegated cgroup v2 directory", cgroup);
+            return false;
+        }
+        List<String> command;
+        try {
+            command = executor.probeCommand();
+        } catch (IOException e) {
+            logger.warn("Namespace sandboxes unavailable: {}", e.getMessage());
+            return false;
+        }
+        // One real sandbox proves bwrap, user namespaces, the toolchain root and runmeter at once
+        boolean available = CommandProbe.succeeds(judgeProperties.getExecutor().getProbeTimeout(),
+                                                  command.toArray(new String[0]));
+        if (available) {
+            pool.start(judgeProperties.getSandbox().getHealthCheckInterval());
+        }
+        return available;
+    }
+
+    @Override
+    public boolean executesCode() {
+        return true;
+    }
+
+    @Override
+    public boolean keepsProcesses() {
+        return false;
+    }
+
+    @Override
+    public SandboxLease acquire() throws IOException {
+        return pool.acquire();
+    }
+
+    @Override
+    public SandboxLease tryAcquire() {
+        return pool.tryAcquire();
+    }
+}
@@ -0,0 +1,248 @@
+package com.shodhai.sandbox;
+
+import com.shodhai.config.JudgeProperties;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+/**
+ * Sandboxes built from plain Linux namespaces with bubblewrap, for hosts without
+ * a Docker daemon. A sandbox is a host work directory, as with the local
+ * executor, plus its own child of the delegated cgroup v2 directory
+ * {@code judge.namespace.cgroup}, which holds its memory, pids and CPU limits
+ * and is what runmeter measures; without one there are no sandboxes. Every job gets fresh user, PID, mount, network,
+ * IPC and UTS namespaces in which the toolchain directories of a dedicated root
+ * ({@code judge.namespace.root}, never the host's own /) are mounted read-only
+ * and only the work directory is writable, and runs as an unprivileged user under
+ * runmeter, which puts it in the sandbox's cgroup and applies rlimits. Nothing a
+ * job starts outlives it, and each costs a few milliseconds instead of a docker exec.
+ */
+public class NamespaceSandboxExecutor extends LocalSandboxExecutor {
+
+    private static final String WORK_DIR = "/sandbox";
+    private static final String SANDBOX_UID = "65534";
+    // Top-level entries of the toolchain root that are mounted; everything else stays outside
+    private static final Set<String> TOOLCHAIN = Set.of(
+        "bin", "etc", "lib", "lib32", "lib64", "libx32", "opt", "sbin", "usr");
+    private static final long FILE_SIZE_LIMIT = 64L * 1024 * 1024;
+    private static final long MEMORY_HEADROOM = 16L * 1024 * 1024;
+    private static final int PIDS_LIMIT = 128;
+    private static final long CPU_PERIOD_MICROS = 100_000;
+
+    private final JudgeProperties.Sandbox sandboxSettings;
+    private final JudgeProperties.Namespace settings;
+    // Judge state a sandbox must never see: test data, the database, the artifact cache
+    private final List<Path> privatePaths;
+
+    // Each sandbox's cgroup and current memory cap
+    private final Map<String, Path> cgroups = new ConcurrentHashMap<>();
+    private final Map<String, Long> memoryCaps = new ConcurrentHashMap<>();
+    private volatile List<String> rootMounts;
+
+    public NamespaceSandboxExecutor(Path root, JudgeProperties.Sandbox sandboxSettings,
+                                    JudgeProperties.Namespace settings, List<Path> privatePaths) {
+        super(root);
+        this.sandboxSettings = sandboxSettings;
+        this.settings = settings;
+        this.privatePaths = privatePaths;
+    }
+
+    @Override
+    public String name() {
+        return "namespace";
+    }
+
+    @Override
+    public String start() throws IOException {
+        if (settings.getCgroup().isBlank()) {
+            // runmeter would read the judge's own cgroup, and nothing would cap memory or processes
+            throw new IOException("judge.namespace.cgroup is not set");
+        }
+        String sandboxId = super.start();
+        Path cgroup = Path.of(settings.getCgroup(), Path.of(sandboxId).getFileName().toString());
+        try {
+            Files.createDirectory(cgroup);
+            long memory = MemorySize.toBytes(sandboxSettings.getMemoryLimit());
+            Files.writeString(cgroup.resolve("memory.max"), String.valueOf(memory));
+            // No swap, so a program over the cap is OOM-killed rather than slowed down
+            Files.writeString(cgroup.resolve("memory.swap.max"), "0");
+            Files.writeString(cgroup.resolve("pids.max"), String.valueOf(PIDS_LIMIT));
+            long quota = Math.round(Double.parseDouble(sandboxSettings.getCpus()) * CPU_PERIOD_MICROS);
+            Files.writeString(cgroup.resolve("cpu.max"), quota + " " + CPU_PERIOD_MICROS);
+            cgroups.put(sandboxId, cgroup);
+            memoryCaps.put(sandboxId, memory);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(cgroup);
+            super.destroy(sandboxId);
+            throw new IOException("Cannot set up cgroup " + cgroup + ": " + e.getMessage(), e);
+        }
+        return sandboxId;
+    }
+
+    @Override
+    public Process exec(String sandboxId, List<String> command, Path stdin) throws IOException {
+        return start(sandboxId, command, stdin, null);
+    }
+
+    @Override
+    public boolean isMetered(String sandboxId) {
+        return true;
+    }
+
+    @Override
+    public Process exec(String sandboxId, List<String> command, Path stdin, RunMeter meter) throws IOException {
+        return start(sandboxId, command, stdin, meter);
+    }
+
+    @Override
+    public void reserveMemory(String sandboxId, long bytes) throws IOException {
+        Path cgroup = cgroups.get(sandboxId);
+        long cap = bytes + MEMORY_HEADROOM;
+        Long current = memoryCaps.get(sandboxId);
+        if (cgroup == null || (current != null && current >= cap)) {
+            return;
+        }
+        Files.writeString(cgroup.resolve("memory.max"), String.valueOf(cap));
+        memoryCaps.put(sandboxId, cap);
+    }
+
+    @Override
+    public void scrub(String sandboxId) throws IOException {
+        kill(sandboxId);
+        super.scrub(sandboxId);
+    }
+
+    @Override
+    public boolean isHealthy(String sandboxId) {
+        Path cgroup = cgroups.get(sandboxId);
+        return super.isHealthy(sandboxId) && cgroup != null && Files.isDirectory(cgroup);
+    }
+
+    @Override
+    public void destroy(String sandboxId) {
+        kill(sandboxId);
+        super.destroy(sandboxId);
+        memoryCaps.remove(sandboxId);
+        Path cgroup = cgroups.remove(sandboxId);
+        if (cgroup != null) {
+            try {
+                Files.deleteIfExists(cgroup);
+            } catch (IOException e) {
+                // Still has processes on their way out; an empty cgroup directory costs nothing
+            }
+        }
+    }
+
+    private Process start(String sandboxId, List<String> command, Path stdin, RunMeter meter) throws IOException {
+        Path cgroup = cgroups.get(sandboxId);
+        if (cgroup == null) {
+            throw new IOException("No cgroup for sandbox " + sandboxId);
+        }
+        List<String> args = new ArrayList<>(List.of(
+            settings.getRunmeter(), "-f", String.valueOf(FILE_SIZE_LIMIT), "-c", cgroup.toString()));
+        if (meter != null) {
+            args.addAll(List.of("-t", String.valueOf(meter.getCpuLimitMillis())));
+        }
+        args.addAll(bwrap());
+        args.addAll(List.of(
+            "--bind", sandboxId, WORK_DIR, "--chdir", WORK_DIR,
+            "--clearenv", "--setenv", "PATH", "/usr/local/bin:/usr/bin:/bin", "--setenv", "HOME", WORK_DIR,
+            "--setenv", "LANG", "C.UTF-8", "--"));
+        args.addAll(command);
+
+        ProcessBuilder processBuilder = new ProcessBuilder(args);
+        if (meter != null) {
+            // runmeter stays outside the sandbox's PID namespace, where the program cannot read its environment
+            processBuilder.environment().put(RunMeter.TAG_VARIABLE, meter.getTag());
+        }
+        if (stdin != null) {
+            processBuilder.redirectInput(stdin.toFile());
+        }
+        return processBuilder.start();
+    }
+
+    /** A bare sandbox running {@code true}, for the backend's probe; fails if the toolchain root is unsafe. */
+    List<String> probeCommand() throws IOException {
+        List<String> args = new ArrayList<>(List.of(settings.getRunmeter()));
+        args.addAll(bwrap());
+        args.addAll(List.of("--", "true"));
+        return args;
+    }
+
+    private List<String> bwrap() throws IOException {
+        List<String> args = new ArrayList<>(List.of(
+            "bwrap", "--unshare-all", "--die-with-parent", "--new-session",
+            "--uid", SANDBOX_UID, "--gid", SANDBOX_UID, "--hostname", "sandbox"));
+        args.addAll(rootMounts());
+        args.addAll(List.of("--proc", "/proc", "--dev", "/dev", "--tmpfs", "/tmp"));
+        return args;
+    }
+
+    /**
+     * Read-only mounts of the toolchain root's allowed top-level entries, listed
+     * once. Refuses the host's / and any mount that would contain judge state.
+     */
+    private List<String> rootMounts() throws IOException {
+        List<String> mounts = rootMounts;
+        if (mounts != null) {
+            return mounts;
+        }
+        if (settings.getRoot().isBlank()) {
+            throw new IOException("judge.namespace.root is not set");
+        }
+        Path root = Path.of(settings.getRoot()).toRealPath();
+        if (root.getNameCount() == 0) {
+            throw new IOException("judge.namespace.root must be a dedicated toolchain root, not " + root);
+        }
+        List<Path> hidden = new ArrayList<>();
+        for (Path path : privatePaths) {
+            Path absolute = path.toAbsolutePath().normalize();
+            hidden.add(Files.exists(absolute) ? absolute.toRealPath() : absolute);
+        }
+        mounts = new ArrayList<>();
+        try (Stream<Path> entries = Files.list(root)) {
+            for (Path entry : entries.sorted().toList()) {
+                String name = entry.getFileName().toString();
+                if (!TOOLCHAIN.contains(name)) {
+                    continue;
+                }
+                if (Files.isSymbolicLink(entry)) {
+                    // Merged-/usr layouts link /bin and friends into /usr; keep them links, resolved inside the sandbox
+                    mounts.addAll(List.of("--symlink", Files.readSymbolicLink(entry).toString(), "/" + name));
+                } else if (Files.isDirectory(entry)) {
+                    Path source = entry.toRealPath();
+                    for (Path path : hidden) {
+                        if (path.startsWith(source)) {
+                            throw new IOException("Toolchain mount " + source + " would expose " + path);
+                        }
+                    }
+                    mounts.addAll(List.of("--ro-bind", source.toString(), "/" + name));
+                }
+            }
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        rootMounts = List.copyOf(mounts);
+        return rootMounts;
+    }
+
+    private void kill(String sandboxId) {
+        Path cgroup = cgroups.get(sandboxId);
+        if (cgroup == null) {
+            return;
+        }
+        try {
+            Files.writeString(cgroup.resolve("cgroup.kill"), "1");
+        } catch (IOException e) {
+            // Kernels before 5.14 have no cgroup.kill; runmeter already killed each job's process group
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package com.shodhai.sandbox;
+
+import java.io.IOException;
+
+public class OutputLimitExceededException extends IOException {
+    public OutputLimitExceededException(long limit) {
+        super("Output is larger than " + limit + " bytes");
+    }
+}
@@ -0,0 +1,111 @@
+package com.shodhai.sandbox;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Duration;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Drives a started sandbox process to completion: stdout is handed to a
+ * {@link StdoutConsumer} through a size-limited stream while stderr is drained
+ * into a {@link BoundedCapture} on a helper thread. The process is killed as soon
+ * as stdout crosses its cap or the consumer stops reading, and a watchdog kills
+ * it if it outlives the wall-clock limit.
+ */
+@Component
+public class ProcessRunner {
+
+    private final ExecutorService pumps = Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable, "sandbox-stderr");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final ScheduledExecutorService watchdog = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "sandbox-watchdog");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public RunResult run(Process process, Duration wallLimit, long stdoutLimit, StdoutConsumer stdout,
+                         long stderrLimit) throws IOException, InterruptedException {
+        return run(process, wallLimit, stdoutLimit, stdout, stderrLimit, null);
+    }
+
+    /** Like the above for a run started under {@code meter}, whose report is taken off stderr into the result. */
+    public RunResult run(Process process, Duration wallLimit, long stdoutLimit, StdoutConsumer stdout,
+                         long stderrLimit, RunMeter meter) throws IOException, InterruptedException {
+        long start = System.nanoTime();
+
+        // Stdin is either redirected from a file or unused; never leave the pipe open
+        process.getOutputStream().close();
+
+        BoundedCapture stderr = new BoundedCapture(stderrLimit);
+        Future<?> stderrPump = pumps.submit(() -> {
+            try (InputStream in = meter != null ? meter.filter(process.getErrorStream()) : process.getErrorStream()) {
+                stderr.drainFrom(in);
+            }
+            return null;
+        });
+
+        AtomicBoolean killed = new AtomicBoolean();
+        ScheduledFuture<?> kill = watchdog.schedule(() -> {
+            killed.set(true);
+            process.destroyForcibly();
+        }, wallLimit.toMillis(), TimeUnit.MILLISECONDS);
+
+        boolean outputLimitExceeded = false;
+        boolean stoppedEarly = false;
+        LimitedInputStream in = new LimitedInputStream(process.getInputStream(), stdoutLimit);
+        try {
+            stdout.consume(in);
+            stoppedEarly = !in.isEndOfStream();
+        } catch (OutputLimitExceededException e) {
+            outputLimitExceeded = true;
+        } catch (IOException e) {
+            // The watchdog closing the pipe under us is a timeout, not an I/O failure
+            if (!killed.get()) {
+                process.destroyForcibly();
+                throw e;
+            }
+        } finally {
+            if (outputLimitExceeded || stoppedEarly) {
+                process.destroyForcibly();
+            }
+            in.close();
+        }
+
+        int exitCode = process.waitFor();
+        kill.cancel(false);
+        awaitPump(stderrPump);
+        long wallTimeMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        return new RunResult(exitCode, wallTimeMillis, killed.get(), outputLimitExceeded, stoppedEarly,
+                             in.getCount(), stderr, meter != null ? meter.getUsage() : null);
+    }
+
+    private void awaitPump(Future<?> pump) throws InterruptedException {
+        try {
+            pump.get(1, TimeUnit.SECONDS);
+        } catch (ExecutionException | TimeoutException e) {
+            // Whatever stderr was captured so far is good enough for the error message
+            pump.cancel(true);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        watchdog.shutdownNow();
+        pumps.shutdownNow();
+    }
+}
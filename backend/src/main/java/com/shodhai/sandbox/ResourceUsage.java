@@ -0,0 +1,39 @@
+package com.shodhai.sandbox;
+
+/** CPU time and memory one metered run used, as reported by the sandbox's runmeter. */
+public class ResourceUsage {
+    private final long cpuTimeMicros;
+    private final long peakMemoryKilobytes;
+    private final boolean outOfMemory;
+    private final boolean cpuLimitExceeded;
+
+    public ResourceUsage(long cpuTimeMicros, long peakMemoryKilobytes, boolean outOfMemory,
+                         boolean cpuLimitExceeded) {
+        this.cpuTimeMicros = cpuTimeMicros;
+        this.peakMemoryKilobytes = peakMemoryKilobytes;
+        this.outOfMemory = outOfMemory;
+        this.cpuLimitExceeded = cpuLimitExceeded;
+    }
+
+    public long getCpuTimeMillis() {
+        return cpuTimeMicros / 1000;
+    }
+
+    public long getCpuTimeMicros() {
+        return cpuTimeMicros;
+    }
+
+    public long getPeakMemoryKilobytes() {
+        return peakMemoryKilobytes;
+    }
+
+    /** True when the sandbox's OOM killer struck during the run. */
+    public boolean isOutOfMemory() {
+        return outOfMemory;
+    }
+
+    /** True when the run was killed for using more CPU time than it was allowed. */
+    public boolean isCpuLimitExceeded() {
+        return cpuLimitExceeded;
+    }
+}
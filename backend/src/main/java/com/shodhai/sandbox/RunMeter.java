@@ -0,0 +1,168 @@
+package com.shodhai.sandbox;
+
+import java.io.ByteArrayOutputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.SecureRandom;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.Map;
+
+/**
+ * Measures one run with {@code runmeter} (backend/runtime/runmeter.c), which reads the
+ * sandbox's cgroup counters around the program and appends a report to its
+ * stderr. Each run gets a fresh random tag, handed to runmeter through its
+ * environment, so a program cannot print a report of its own; the report is
+ * taken off stderr before anyone else sees it.
+ */
+public class RunMeter {
+
+    static final String COMMAND = "/usr/local/bin/runmeter";
+    static final String TAG_VARIABLE = "RUNMETER_TAG";
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+    // The report is about 80 bytes; anything longer was not written by runmeter alone
+    private static final int REPORT_LIMIT = 256;
+
+    private final long cpuLimitMillis;
+    private final String tag;
+    private final ByteArrayOutputStream report = new ByteArrayOutputStream();
+    private volatile boolean reportComplete;
+
+    /** {@code cpuLimitMillis} is the CPU time after which runmeter kills the program; 0 for none. */
+    public RunMeter(long cpuLimitMillis) {
+        byte[] bytes = new byte[16];
+        RANDOM.nextBytes(bytes);
+        this.cpuLimitMillis = cpuLimitMillis;
+        this.tag = HexFormat.of().formatHex(bytes);
+    }
+
+    String getTag() {
+        return tag;
+    }
+
+    long getCpuLimitMillis() {
+        return cpuLimitMillis;
+    }
+
+    /** The run's stderr as the program wrote it; the report is kept back for {@link #getUsage()}. */
+    InputStream filter(InputStream stderr) {
+        return new ReportFilter(stderr);
+    }
+
+    /** What the run used, or null if it ended without a report, e.g. because it was killed from outside. */
+    public ResourceUsage getUsage() {
+        if (!reportComplete) {
+            return null;
+        }
+        // Written by the stderr pump; ByteArrayOutputStream is synchronized
+        String text = report.toString(StandardCharsets.UTF_8);
+        Map<String, String> fields = new HashMap<>();
+        for (String field : text.trim().split("\\s+")) {
+            int equals = field.indexOf('=');
+            if (equals > 0) {
+                fields.putIfAbsent(field.substring(0, equals), field.substring(equals + 1));
+            }
+        }
+        try {
+            return new ResourceUsage(Long.parseLong(fields.get("cpu_us")), Long.parseLong(fields.get("peak_kb")),
+                                     "1".equals(fields.get("oom")), "1".equals(fields.get("cpu_limit")));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Passes stderr through until the tagged report line starts, and diverts the
+     * report itself: the rest of that line, up to {@link #REPORT_LIMIT} bytes.
+     * Whatever follows the report comes from a process that escaped runmeter's
+     * kill, e.g. with setsid(), and is dropped.
+     */
+    private class ReportFilter extends FilterInputStream {
+
+        private final byte[] marker = ("\n" + tag + " ").getBytes(StandardCharsets.US_ASCII);
+        private final byte[] chunk = new byte[8192];
+        // Bytes that may be the start of the marker are held back until it is clear they are not
+        private int matched;
+        private boolean reporting;
+        private boolean reported;
+        private byte[] ready = new byte[0];
+        private int readyPosition;
+
+        ReportFilter(InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public int read() throws IOException {
+            byte[] single = new byte[1];
+            return read(single, 0, 1) == -1 ? -1 : single[0] & 0xFF;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            if (length == 0) {
+                return 0;
+            }
+            while (readyPosition == ready.length) {
+                int read = in.read(chunk);
+                if (read == -1) {
+                    if (matched == 0 || reporting) {
+                        return -1;
+                    }
+                    // Stderr ended partway into something that looked like the marker
+                    ready = Arrays.copyOf(marker, matched);
+                    readyPosition = 0;
+                    matched = 0;
+                } else {
+                    scan(read);
+                }
+            }
+            int count = Math.min(length, ready.length - readyPosition);
+            System.arraycopy(ready, readyPosition, buffer, offset, count);
+            readyPosition += count;
+            return count;
+        }
+
+        @Override
+        public int available() {
+            return ready.length - readyPosition;
+        }
+
+        private void scan(int length) {
+            ByteArrayOutputStream passed = new ByteArrayOutputStream(length);
+            for (int i = 0; i < length; i++) {
+                byte b = chunk[i];
+                if (reported) {
+                    continue;
+                }
+                if (reporting) {
+                    if (b == '\n') {
+                        reported = true;
+                        reportComplete = true;
+                    } else if (report.size() < REPORT_LIMIT) {
+                        report.write(b);
+                    } else {
+                        // Too long to be runmeter's report; the run counts as unmeasured
+                        reported = true;
+                    }
+                } else if (b == marker[matched]) {
+                    matched++;
+                    reporting = matched == marker.length;
+                } else {
+                    // Only the marker's first byte is a newline, so a failed match can only restart at b
+                    passed.write(marker, 0, matched);
+                    matched = b == marker[0] ? 1 : 0;
+                    if (matched == 0) {
+                        passed.write(b);
+                    }
+                }
+            }
+            ready = passed.toByteArray();
+            readyPosition = 0;
+        }
+    }
+}
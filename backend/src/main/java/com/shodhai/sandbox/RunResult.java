@@ -0,0 +1,59 @@
+package com.shodhai.sandbox;
+
+/** Outcome of one process run inside a sandbox. */
+public class RunResult {
+    private final int exitCode;
+    private final long wallTimeMillis;
+    private final boolean killedByWatchdog;
+    private final boolean outputLimitExceeded;
+    private final boolean stoppedEarly;
+    private final long stdoutBytes;
+    private final BoundedCapture stderr;
+    private final ResourceUsage usage;
+
+    public RunResult(int exitCode, long wallTimeMillis, boolean killedByWatchdog, boolean outputLimitExceeded,
+                     boolean stoppedEarly, long stdoutBytes, BoundedCapture stderr, ResourceUsage usage) {
+        this.exitCode = exitCode;
+        this.wallTimeMillis = wallTimeMillis;
+        this.killedByWatchdog = killedByWatchdog;
+        this.outputLimitExceeded = outputLimitExceeded;
+        this.stoppedEarly = stoppedEarly;
+        this.stdoutBytes = stdoutBytes;
+        this.stderr = stderr;
+        this.usage = usage;
+    }
+
+    public int getExitCode() {
+        return exitCode;
+    }
+
+    public long getWallTimeMillis() {
+        return wallTimeMillis;
+    }
+
+    public boolean isKilledByWatchdog() {
+        return killedByWatchdog;
+    }
+
+    public boolean isOutputLimitExceeded() {
+        return outputLimitExceeded;
+    }
+
+    /** True when the stdout consumer stopped reading before the process finished writing. */
+    public boolean isStoppedEarly() {
+        return stoppedEarly;
+    }
+
+    public long getStdoutBytes() {
+        return stdoutBytes;
+    }
+
+    public BoundedCapture getStderr() {
+        return stderr;
+    }
+
+    /** CPU time and memory measured in the sandbox; null for runs that were not metered or lost their report. */
+    public ResourceUsage getUsage() {
+        return usage;
+    }
+}
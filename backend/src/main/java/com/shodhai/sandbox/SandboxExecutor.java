@@ -0,0 +1,51 @@
+package com.shodhai.sandbox;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Lifecycle of a reusable sandbox. Implementations start an isolated environment
+ * once and then run many short jobs inside it; {@link SandboxPool} decides when a
+ * sandbox is scrubbed, reused or recycled.
+ */
+public interface SandboxExecutor {
+
+    String name();
+
+    /** Starts a fresh sandbox and returns its id. */
+    String start() throws IOException;
+
+    /** Copies the contents of a host directory into the sandbox working directory. */
+    void copyIn(String sandboxId, Path source) throws IOException;
+
+    /** Copies the sandbox working directory back into a host directory. */
+    void copyOut(String sandboxId, Path target) throws IOException;
+
+    /**
+     * Starts a command inside the sandbox working directory. Stdout and stderr are
+     * piped; stdin is streamed from {@code stdin} when given, otherwise piped.
+     */
+    Process exec(String sandboxId, List<String> command, Path stdin) throws IOException;
+
+    /** Whether {@link #exec(String, List, Path, RunMeter)} can measure runs in this sandbox. */
+    default boolean isMetered(String sandboxId) {
+        return false;
+    }
+
+    /** Like {@link #exec(String, List, Path)}, with the run measured by {@code meter}. */
+    default Process exec(String sandboxId, List<String> command, Path stdin, RunMeter meter) throws IOException {
+        throw new IOException(name() + " sandboxes cannot meter runs");
+    }
+
+    /** Lets programs in the sandbox use at least {@code bytes} of memory; a no-op where memory is not capped. */
+    default void reserveMemory(String sandboxId, long bytes) throws IOException {
+    }
+
+    /** Kills leftover processes and empties the working directory so the next lease starts clean. */
+    void scrub(String sandboxId) throws IOException;
+
+    boolean isHealthy(String sandboxId);
+
+    void destroy(String sandboxId);
+}
@@ -0,0 +1,80 @@
+package com.shodhai.sandbox;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Exclusive use of one pooled sandbox. Closing the lease hands the sandbox back
+ * to its pool; call {@link #markBroken()} first if it should not be reused.
+ */
+public class SandboxLease implements AutoCloseable {
+
+    private final SandboxPool pool;
+    private final SandboxExecutor executor;
+    private final String sandboxId;
+    private final int uses;
+    private boolean broken;
+    private boolean released;
+
+    SandboxLease(SandboxPool pool, SandboxExecutor executor, String sandboxId, int uses) {
+        this.pool = pool;
+        this.executor = executor;
+        this.sandboxId = sandboxId;
+        this.uses = uses;
+    }
+
+    public void copyIn(Path source) throws IOException {
+        executor.copyIn(sandboxId, source);
+    }
+
+    public void copyOut(Path target) throws IOException {
+        executor.copyOut(sandboxId, target);
+    }
+
+    public Process exec(List<String> command, Path stdin) throws IOException {
+        return executor.exec(sandboxId, command, stdin);
+    }
+
+    /** Starts a run measured by {@code meter}; only valid when {@link #isMetered()}. */
+    public Process exec(List<String> command, Path stdin, RunMeter meter) throws IOException {
+        return executor.exec(sandboxId, command, stdin, meter);
+    }
+
+    public boolean isMetered() {
+        return executor.isMetered(sandboxId);
+    }
+
+    /** Whether the sandbox is still usable, e.g. to tell a failed run from a sandbox that died under it. */
+    public boolean isHealthy() {
+        return executor.isHealthy(sandboxId);
+    }
+
+    public void reserveMemory(long bytes) throws IOException {
+        executor.reserveMemory(sandboxId, bytes);
+    }
+
+    public void markBroken() {
+        this.broken = true;
+    }
+
+    public String getSandboxId() {
+        return sandboxId;
+    }
+
+    int getUses() {
+        return uses;
+    }
+
+    boolean isBroken() {
+        return broken;
+    }
+
+    @Override
+    public void close() {
+        if (!released) {
+            released = true;
+            pool.release(this);
+        }
+    }
+}
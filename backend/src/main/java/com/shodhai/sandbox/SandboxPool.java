@@ -0,0 +1,232 @@
+package com.shodhai.sandbox;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingDeque;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Pool of pre-started sandboxes. Callers lease a sandbox, run their jobs in it
+ * and close the lease; the pool then scrubs it and keeps it warm for the next
+ * caller until it has been used {@code maxReuses} times or fails a health check.
+ */
+public class SandboxPool implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(SandboxPool.class);
+
+    private final SandboxExecutor executor;
+    private final int size;
+    private final int maxReuses;
+    private final Duration acquireTimeout;
+
+    private final Semaphore permits;
+    private final BlockingDeque<PooledSandbox> idle = new LinkedBlockingDeque<>();
+    private final ScheduledExecutorService maintenance;
+
+    private final AtomicLong created = new AtomicLong();
+    private final AtomicLong recycled = new AtomicLong();
+    private final AtomicLong leases = new AtomicLong();
+    private volatile boolean closed;
+    private volatile boolean started;
+
+    public SandboxPool(SandboxExecutor executor, int size, int maxReuses, Duration acquireTimeout) {
+        this.executor = executor;
+        this.size = Math.max(1, size);
+        this.maxReuses = Math.max(1, maxReuses);
+        this.acquireTimeout = acquireTimeout;
+        this.permits = new Semaphore(this.size, true);
+        this.maintenance = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, executor.name() + "-sandbox-pool");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Starts filling the pool in the background and schedules periodic health checks.
+     * Calling it again is a no-op, so backends can start their pool the first time
+     * they are found to be available.
+     */
+    public synchronized void start(Duration healthCheckInterval) {
+        if (started || closed) {
+            return;
+        }
+        started = true;
+        maintenance.execute(this::replenish);
+        long intervalMillis = healthCheckInterval.toMillis();
+        maintenance.scheduleWithFixedDelay(this::checkHealth, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    public SandboxLease acquire() throws IOException {
+        if (closed) {
+            throw new IOException("Sandbox pool is shut down");
+        }
+        try {
+            if (!permits.tryAcquire(acquireTimeout.toMillis(), TimeUnit.MILLISECONDS)) {
+                throw new IOException("No " + executor.name() + " sandbox available within " + acquireTimeout.toSeconds() + "s");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted waiting for a sandbox", e);
+        }
+
+        try {
+            PooledSandbox sandbox = idle.pollFirst();
+            if (sandbox == null) {
+                sandbox = create();
+            }
+            leases.incrementAndGet();
+            return new SandboxLease(this, executor, sandbox.id, sandbox.uses);
+        } catch (IOException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    /**
+     * Leases an idle sandbox without waiting and without starting a new one, so
+     * opportunistic callers only ever borrow capacity nobody is using.
+     */
+    public SandboxLease tryAcquire() {
+        if (closed) {
+            return null;
+        }
+        try {
+            // A zero timeout honours fairness, so judge workers already waiting for a sandbox go first
+            if (!permits.tryAcquire(0, TimeUnit.MILLISECONDS)) {
+                return null;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+        PooledSandbox sandbox = idle.pollFirst();
+        if (sandbox == null) {
+            permits.release();
+            return null;
+        }
+        leases.incrementAndGet();
+        return new SandboxLease(this, executor, sandbox.id, sandbox.uses);
+    }
+
+    void release(SandboxLease lease) {
+        PooledSandbox sandbox = new PooledSandbox(lease.getSandboxId(), lease.getUses() + 1);
+        try {
+            boolean reusable = !closed && !lease.isBroken() && sandbox.uses < maxReuses;
+            if (reusable) {
+                try {
+                    executor.scrub(sandbox.id);
+                } catch (IOException e) {
+                    logger.warn("Failed to scrub sandbox {}, recycling it", sandbox.id, e);
+                    reusable = false;
+                }
+            }
+            if (reusable && idle.size() < size) {
+                // Most recently used first, so a lightly loaded node keeps reusing hot sandboxes
+                idle.offerFirst(sandbox);
+            } else {
+                retire(sandbox);
+            }
+        } finally {
+            permits.release();
+        }
+    }
+
+    public int getIdleCount() {
+        return idle.size();
+    }
+
+    public int getLeasedCount() {
+        return size - permits.availablePermits();
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public long getCreatedCount() {
+        return created.get();
+    }
+
+    public long getRecycledCount() {
+        return recycled.get();
+    }
+
+    public long getLeaseCount() {
+        return leases.get();
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        maintenance.shutdownNow();
+        PooledSandbox sandbox;
+        while ((sandbox = idle.pollFirst()) != null) {
+            executor.destroy(sandbox.id);
+        }
+    }
+
+    private PooledSandbox create() throws IOException {
+        String id = executor.start();
+        created.incrementAndGet();
+        logger.debug("Started {} sandbox {}", executor.name(), id);
+        return new PooledSandbox(id, 0);
+    }
+
+    private void retire(PooledSandbox sandbox) {
+        executor.destroy(sandbox.id);
+        recycled.incrementAndGet();
+        logger.debug("Recycled {} sandbox {} after {} uses", executor.name(), sandbox.id, sandbox.uses);
+        if (!closed) {
+            maintenance.execute(this::replenish);
+        }
+    }
+
+    private void replenish() {
+        while (!closed && idle.size() + getLeasedCount() < size) {
+            try {
+                idle.offerLast(create());
+            } catch (IOException e) {
+                logger.warn("Could not start {} sandbox: {}", executor.name(), e.getMessage());
+                return;
+            }
+        }
+    }
+
+    private void checkHealth() {
+        List<PooledSandbox> snapshot = new ArrayList<>(idle);
+        for (PooledSandbox sandbox : snapshot) {
+            // Skip sandboxes that were leased since the snapshot was taken
+            if (!idle.remove(sandbox)) {
+                continue;
+            }
+            if (executor.isHealthy(sandbox.id)) {
+                idle.offerLast(sandbox);
+            } else {
+                logger.warn("Sandbox {} failed its health check, replacing it", sandbox.id);
+                retire(sandbox);
+            }
+        }
+        replenish();
+    }
+
+    private static class PooledSandbox {
+        private final String id;
+        private final int uses;
+
+        PooledSandbox(String id, int uses) {
+            this.id = id;
+            this.uses = uses;
+        }
+    }
+}
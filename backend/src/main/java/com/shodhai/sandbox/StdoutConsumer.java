@@ -0,0 +1,14 @@
+package com.shodhai.sandbox;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Reads a sandboxed process's stdout. A consumer may stop before end of stream,
+ * for example once a wrong answer is proven; {@link ProcessRunner} then kills the
+ * process instead of waiting for it to finish.
+ */
+@FunctionalInterface
+public interface StdoutConsumer {
+    void consume(InputStream stdout) throws IOException;
+}
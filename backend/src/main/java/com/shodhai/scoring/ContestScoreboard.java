@@ -0,0 +1,194 @@
+package com.shodhai.scoring;
+
+import com.shodhai.dto.LeaderboardEntryDto;
+import com.shodhai.dto.LeaderboardPositionDto;
+import com.shodhai.dto.ProblemResultDto;
+import com.shodhai.entity.Submission;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * ICPC standings of one contest. Contestants are ranked by problems solved, then
+ * penalty minutes (time of each first accepted submission plus a fixed penalty per
+ * earlier rejected one), then the time of their last solve. They are kept in an
+ * {@link OrderStatisticTree}, so a verdict costs O(log n + problems) and a rank or
+ * a page of the board is found without sorting. Contestants with equal solved,
+ * penalty and last solve time share a rank. Thread-safe.
+ */
+public class ContestScoreboard {
+
+    private static final Comparator<ContestantScore> SCORE = Comparator
+        .comparingInt((ContestantScore c) -> -c.solved)
+        .thenComparingLong(c -> c.penalty)
+        .thenComparingLong(c -> c.lastSolvedAt);
+
+    private static final Comparator<ContestantScore> RANKING = SCORE.thenComparing(c -> c.username);
+
+    private final LocalDateTime startTime;
+    private final int penaltyMinutes;
+
+    // All guarded by this
+    private final Map<Long, Integer> problemIndex = new HashMap<>();
+    private long[] problemIds = new long[0];
+    private long[] firstSolvedAt = new long[0];
+    private final Map<String, ContestantScore> contestants = new HashMap<>();
+    private final OrderStatisticTree<ContestantScore> ranking = new OrderStatisticTree<>(RANKING);
+    private long version;
+
+    public ContestScoreboard(LocalDateTime startTime, int penaltyMinutes, Collection<Long> problemIds) {
+        this.startTime = startTime;
+        this.penaltyMinutes = penaltyMinutes;
+        problemIds.stream().sorted().forEach(this::problem);
+    }
+
+    /** Counts a submission the judge has accepted into its queue. */
+    public synchronized void recordAttempt(String username) {
+        // The submission count is not part of the ordering, so the tree needs no update
+        contestant(username).submissions++;
+        version++;
+    }
+
+    /** Applies a final verdict. Compilation errors and missing results carry no penalty. */
+    public synchronized void recordVerdict(String username, Long problemId, Submission.SubmissionResult result,
+                                           LocalDateTime submittedAt) {
+        if (result == null || result == Submission.SubmissionResult.COMPILATION_ERROR) {
+            return;
+        }
+        int problem = problem(problemId);
+        long second = secondsFromStart(submittedAt);
+        ContestantScore contestant = contestant(username);
+        ranking.remove(contestant);
+        if (result == Submission.SubmissionResult.ACCEPTED) {
+            if (second < contestant.solvedAt[problem]) {
+                contestant.solve(problem, second);
+                firstSolvedAt[problem] = Math.min(firstSolvedAt[problem], second);
+            }
+        } else {
+            contestant.addRejection(problem, second);
+        }
+        contestant.recompute(penaltyMinutes);
+        ranking.add(contestant);
+        version++;
+    }
+
+    /**
+     * Restores one contestant from database aggregates: the first accepted time per
+     * solved problem and the number of counted rejections per problem.
+     */
+    public synchronized void restore(String username, int submissions, Map<Long, LocalDateTime> firstAccepted,
+                                     Map<Long, Integer> wrongAttempts) {
+        ContestantScore contestant = contestant(username);
+        ranking.remove(contestant);
+        contestant.submissions = submissions;
+        wrongAttempts.forEach((problemId, wrong) -> {
+            int problem = problem(problemId);
+            contestant.ensureProblems(problemIds.length);
+            contestant.restoredWrong[problem] = wrong;
+            contestant.wrongAttempts[problem] = wrong;
+        });
+        firstAccepted.forEach((problemId, acceptedAt) -> {
+            int problem = problem(problemId);
+            contestant.ensureProblems(problemIds.length);
+            long second = secondsFromStart(acceptedAt);
+            contestant.solve(problem, second);
+            firstSolvedAt[problem] = Math.min(firstSolvedAt[problem], second);
+        });
+        contestant.recompute(penaltyMinutes);
+        ranking.add(contestant);
+        version++;
+    }
+
+    public synchronized int size() {
+        return ranking.size();
+    }
+
+    /** Increases on every change; used to skip unchanged boards. */
+    public synchronized long getVersion() {
+        return version;
+    }
+
+    /** Up to {@code limit} entries in rank order, starting at position {@code offset}. */
+    public synchronized List<LeaderboardEntryDto> entries(int offset, int limit) {
+        List<ContestantScore> page = ranking.range(offset, limit);
+        List<LeaderboardEntryDto> entries = new ArrayList<>(page.size());
+        ContestantScore previous = null;
+        int rank = 0;
+        for (int i = 0; i < page.size(); i++) {
+            ContestantScore contestant = page.get(i);
+            if (previous == null) {
+                rank = ranking.countBefore(contestant, SCORE::compare) + 1;
+            } else if (SCORE.compare(previous, contestant) != 0) {
+                rank = offset + i + 1;
+            }
+            entries.add(toEntry(contestant, rank));
+            previous = contestant;
+        }
+        return entries;
+    }
+
+    /** A user's entry with up to {@code neighbours} entries above and below it; empty if they never submitted. */
+    public synchronized Optional<LeaderboardPositionDto> around(String username, int neighbours) {
+        ContestantScore contestant = contestants.get(username);
+        if (contestant == null) {
+            return Optional.empty();
+        }
+        int index = ranking.indexOf(contestant);
+        int offset = Math.max(0, index - neighbours);
+        List<LeaderboardEntryDto> entries = entries(offset, index - offset + neighbours + 1);
+        return Optional.of(new LeaderboardPositionDto(entries.get(index - offset), offset, ranking.size(), entries));
+    }
+
+    private LeaderboardEntryDto toEntry(ContestantScore contestant, int rank) {
+        contestant.ensureProblems(problemIds.length);
+        List<ProblemResultDto> problems = new ArrayList<>(problemIds.length);
+        for (int p = 0; p < problemIds.length; p++) {
+            boolean solved = contestant.solvedAt[p] != ContestantScore.UNSOLVED;
+            problems.add(new ProblemResultDto(problemIds[p], solved, contestant.wrongAttempts[p],
+                                              solved ? ContestantScore.minutes(contestant.solvedAt[p]) : null,
+                                              solved && contestant.solvedAt[p] == firstSolvedAt[p]));
+        }
+        LocalDateTime lastSolved = contestant.lastSolvedAt >= 0 ? startTime.plusSeconds(contestant.lastSolvedAt) : null;
+        return new LeaderboardEntryDto(contestant.username, contestant.solved, contestant.submissions, lastSolved,
+                                       contestant.penalty, rank, problems);
+    }
+
+    private ContestantScore contestant(String username) {
+        ContestantScore contestant = contestants.get(username);
+        if (contestant == null) {
+            contestant = new ContestantScore(username, problemIds.length);
+            contestants.put(username, contestant);
+            ranking.add(contestant);
+        }
+        contestant.ensureProblems(problemIds.length);
+        return contestant;
+    }
+
+    /** Index of a problem in the per-contestant arrays, appending problems added after startup. */
+    private int problem(Long problemId) {
+        Integer index = problemIndex.get(problemId);
+        if (index != null) {
+            return index;
+        }
+        int added = problemIds.length;
+        problemIndex.put(problemId, added);
+        problemIds = Arrays.copyOf(problemIds, added + 1);
+        problemIds[added] = problemId;
+        firstSolvedAt = Arrays.copyOf(firstSolvedAt, added + 1);
+        firstSolvedAt[added] = ContestantScore.UNSOLVED;
+        return added;
+    }
+
+    // Submissions before the start (e.g. while testing the contest) count as minute zero
+    private long secondsFromStart(LocalDateTime time) {
+        return time != null ? Math.max(0, Duration.between(startTime, time).getSeconds()) : 0;
+    }
+}
@@ -0,0 +1,99 @@
+package com.shodhai.scoring;
+
+import java.util.Arrays;
+
+/**
+ * One contestant's ICPC state. Per-problem values live in primitive arrays indexed
+ * by the scoreboard's problem index; the totals used for ranking are derived from
+ * them by {@link #recompute}. Guarded by the owning {@link ContestScoreboard}.
+ */
+class ContestantScore {
+
+    static final long UNSOLVED = Long.MAX_VALUE;
+
+    final String username;
+    int submissions;
+
+    // Ranking key; only changed while the contestant is out of the ranking tree
+    int solved;
+    long penalty;
+    long lastSolvedAt = -1;
+
+    // Seconds after contest start of the first accepted submission, or UNSOLVED
+    long[] solvedAt;
+    // Rejected submissions counted against the problem: submitted before solvedAt
+    int[] wrongAttempts;
+    // Rejections known only as a count because they were restored from the database
+    int[] restoredWrong;
+    // Submission times of rejections judged since startup, unsorted; null until needed
+    long[][] liveRejections;
+    int[] liveRejectionCount;
+
+    ContestantScore(String username, int problems) {
+        this.username = username;
+        this.solvedAt = new long[problems];
+        this.wrongAttempts = new int[problems];
+        this.restoredWrong = new int[problems];
+        this.liveRejections = new long[problems][];
+        this.liveRejectionCount = new int[problems];
+        Arrays.fill(solvedAt, UNSOLVED);
+    }
+
+    void ensureProblems(int problems) {
+        int old = solvedAt.length;
+        if (old >= problems) {
+            return;
+        }
+        solvedAt = Arrays.copyOf(solvedAt, problems);
+        Arrays.fill(solvedAt, old, problems, UNSOLVED);
+        wrongAttempts = Arrays.copyOf(wrongAttempts, problems);
+        restoredWrong = Arrays.copyOf(restoredWrong, problems);
+        liveRejections = Arrays.copyOf(liveRejections, problems);
+        liveRejectionCount = Arrays.copyOf(liveRejectionCount, problems);
+    }
+
+    void addRejection(int problem, long second) {
+        long[] times = liveRejections[problem];
+        int count = liveRejectionCount[problem];
+        if (times == null) {
+            times = liveRejections[problem] = new long[4];
+        } else if (count == times.length) {
+            times = liveRejections[problem] = Arrays.copyOf(times, count * 2);
+        }
+        times[count] = second;
+        liveRejectionCount[problem] = count + 1;
+        if (second < solvedAt[problem]) {
+            wrongAttempts[problem]++;
+        }
+    }
+
+    /** Moves the first accepted time of a problem, recounting the rejections that precede it. */
+    void solve(int problem, long second) {
+        solvedAt[problem] = second;
+        int wrong = restoredWrong[problem];
+        long[] times = liveRejections[problem];
+        for (int i = 0; i < liveRejectionCount[problem]; i++) {
+            if (times[i] < second) {
+                wrong++;
+            }
+        }
+        wrongAttempts[problem] = wrong;
+    }
+
+    void recompute(int penaltyMinutes) {
+        solved = 0;
+        penalty = 0;
+        lastSolvedAt = -1;
+        for (int p = 0; p < solvedAt.length; p++) {
+            if (solvedAt[p] != UNSOLVED) {
+                solved++;
+                penalty += minutes(solvedAt[p]) + (long) penaltyMinutes * wrongAttempts[p];
+                lastSolvedAt = Math.max(lastSolvedAt, solvedAt[p]);
+            }
+        }
+    }
+
+    static long minutes(long second) {
+        return second / 60;
+    }
+}
@@ -0,0 +1,176 @@
+package com.shodhai.scoring;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Treap whose nodes know the size of their subtree, so insertion, removal,
+ * "how many elements come before this one" and "element at position k" all take
+ * O(log n) expected time. Elements must be unique under the comparator and must
+ * not change their ordering while they are in the tree. Not thread-safe.
+ */
+public class OrderStatisticTree<T> {
+
+    private final Comparator<? super T> order;
+    private Node<T> root;
+
+    public OrderStatisticTree(Comparator<? super T> order) {
+        this.order = order;
+    }
+
+    public int size() {
+        return size(root);
+    }
+
+    public void add(T value) {
+        root = insert(root, new Node<>(value, ThreadLocalRandom.current().nextInt()));
+    }
+
+    public boolean remove(T value) {
+        int before = size(root);
+        root = delete(root, value);
+        return size(root) < before;
+    }
+
+    /**
+     * Number of elements strictly before {@code key} under {@code prefix}, which must
+     * be a coarser version of the tree order: a &lt; b under {@code prefix} implies
+     * a &lt; b in the tree. With the tree order itself this is the element's index.
+     */
+    public <K> int countBefore(K key, PrefixComparator<? super T, K> prefix) {
+        int count = 0;
+        Node<T> node = root;
+        while (node != null) {
+            if (prefix.compare(node.value, key) < 0) {
+                count += size(node.left) + 1;
+                node = node.right;
+            } else {
+                node = node.left;
+            }
+        }
+        return count;
+    }
+
+    public int indexOf(T value) {
+        return countBefore(value, order::compare);
+    }
+
+    /** Up to {@code limit} elements in order, starting at position {@code from}. */
+    public List<T> range(int from, int limit) {
+        List<T> result = new ArrayList<>(Math.max(0, Math.min(limit, size() - from)));
+        collect(root, Math.max(0, from), limit, result);
+        return result;
+    }
+
+    /** Compares a tree element with a key of another type. */
+    @FunctionalInterface
+    public interface PrefixComparator<T, K> {
+        int compare(T element, K key);
+    }
+
+    // In-order walk that skips whole subtrees before "from" and stops once "limit" is reached
+    private void collect(Node<T> node, int from, int limit, List<T> out) {
+        if (node == null || out.size() >= limit) {
+            return;
+        }
+        int leftSize = size(node.left);
+        if (from < leftSize) {
+            collect(node.left, from, limit, out);
+        }
+        if (out.size() < limit && from <= leftSize) {
+            out.add(node.value);
+        }
+        collect(node.right, Math.max(0, from - leftSize - 1), limit, out);
+    }
+
+    private Node<T> insert(Node<T> node, Node<T> fresh) {
+        if (node == null) {
+            return fresh;
+        }
+        if (fresh.priority > node.priority) {
+            Node<T>[] parts = split(node, fresh.value);
+            fresh.left = parts[0];
+            fresh.right = parts[1];
+            return update(fresh);
+        }
+        if (order.compare(fresh.value, node.value) < 0) {
+            node.left = insert(node.left, fresh);
+        } else {
+            node.right = insert(node.right, fresh);
+        }
+        return update(node);
+    }
+
+    private Node<T> delete(Node<T> node, T value) {
+        if (node == null) {
+            return null;
+        }
+        int cmp = order.compare(value, node.value);
+        if (cmp == 0) {
+            return merge(node.left, node.right);
+        }
+        if (cmp < 0) {
+            node.left = delete(node.left, value);
+        } else {
+            node.right = delete(node.right, value);
+        }
+        return update(node);
+    }
+
+    /** Splits into elements before {@code value} and elements at or after it. */
+    @SuppressWarnings("unchecked")
+    private Node<T>[] split(Node<T> node, T value) {
+        if (node == null) {
+            return new Node[] {null, null};
+        }
+        if (order.compare(node.value, value) < 0) {
+            Node<T>[] parts = split(node.right, value);
+            node.right = parts[0];
+            parts[0] = update(node);
+            return parts;
+        }
+        Node<T>[] parts = split(node.left, value);
+        node.left = parts[1];
+        parts[1] = update(node);
+        return parts;
+    }
+
+    private Node<T> merge(Node<T> left, Node<T> right) {
+        if (left == null) {
+            return right;
+        }
+        if (right == null) {
+            return left;
+        }
+        if (left.priority > right.priority) {
+            left.right = merge(left.right, right);
+            return update(left);
+        }
+        right.left = merge(left, right.left);
+        return update(right);
+    }
+
+    private static <T> Node<T> update(Node<T> node) {
+        node.size = 1 + size(node.left) + size(node.right);
+        return node;
+    }
+
+    private static int size(Node<?> node) {
+        return node != null ? node.size : 0;
+    }
+
+    private static class Node<T> {
+        private final T value;
+        private final int priority;
+        private int size = 1;
+        private Node<T> left;
+        private Node<T> right;
+
+        Node(T value, int priority) {
+            this.value = value;
+            this.priority = priority;
+        }
+    }
+}
@@ -1,219 +1,400 @@
 package com.shodhai.service;
 
-import com.shodhai.entity.Problem;
+import com.shodhai.checker.CheckResult;
+import com.shodhai.checker.ExpectedOutput;
+import com.shodhai.checker.OutputChecker;
+import com.shodhai.compiler.CompilationResult;
+import com.shodhai.config.JudgeProperties;
 import com.shodhai.entity.Submission;
-import com.shodhai.entity.TestCase;
-import com.shodhai.repository.ProblemRepository;
-import com.shodhai.repository.SubmissionRepository;
+import com.shodhai.language.LanguageRuntime;
+import com.shodhai.language.LanguageRuntimes;
+import com.shodhai.sandbox.ExecutionBackend;
+import com.shodhai.sandbox.ExecutionBackendRegistry;
+import com.shodhai.sandbox.ProcessRunner;
+import com.shodhai.sandbox.ResourceUsage;
+import com.shodhai.sandbox.RunMeter;
+import com.shodhai.sandbox.RunResult;
+import com.shodhai.sandbox.SandboxLease;
+import com.shodhai.testdata.TestDataStore;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
-import java.io.*;
+import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
-import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.IntConsumer;
 
 @Service
 public class CodeJudgeService {
     
     private static final Logger logger = LoggerFactory.getLogger(CodeJudgeService.class);
     
+    private static final long WATCHDOG_GRACE_SECONDS = 5;
+    private static final int DEFAULT_MEMORY_LIMIT_MB = 256;
+    // A metered run is limited by CPU time; the wall clock only stops programs that sleep or block
+    private static final int METERED_WALL_TIME_FACTOR = 2;
+    
+    @Autowired
+    private JudgeScheduler judgeScheduler;
+    
+    @Autowired
+    private ExecutionBackendRegistry executionBackendRegistry;
+    
+    @Autowired
+    private ProcessRunner processRunner;
+    
+    @Autowired
+    private JudgeProperties judgeProperties;
+    
     @Autowired
-    private SubmissionRepository submissionRepository;
+    private TestDataStore testDataStore;
     
     @Autowired
-    private ProblemRepository problemRepository;
+    private LanguageRuntimes languageRuntimes;
     
-    public void judgeSubmission(Submission submission) {
-        CompletableFuture.runAsync(() -> {
+    /**
+     * Compiles and runs a submission against a problem snapshot on the calling
+     * thread, filling in its verdict, message, execution time and memory. Touches neither
+     * the database nor JPA associations, so remote judge workers use it too.
+     * {@code onProgress} receives the number of finished test runs. Returns whether
+     * the verdict may be reused for identical submissions: not when the pinned
+     * backend does not run code or the compiler timed out, as both depend on the
+     * judge rather than on the source.
+     */
+    public boolean evaluate(Submission submission, ProblemSnapshot problem, IntConsumer onProgress)
+            throws IOException, InterruptedException {
+        LanguageRuntime runtime = languageRuntimes.get(submission.getLanguage());
+        
+        // Create temporary directory for this submission
+        Path tempPath = Files.createTempDirectory("submission_" + submission.getSubmissionId() + "_");
+        
+        try {
+            // Write code to file
+            Path codeFile = tempPath.resolve(runtime.sourceFileName());
+            Files.write(codeFile, submission.getCode().getBytes());
+            
+            // Pin the backend for the whole submission and lease one warm sandbox from it
+            ExecutionBackend backend = executionBackendRegistry.current();
+            SandboxLease sandbox = backend.executesCode() ? backend.acquire() : null;
             try {
-                logger.info("Starting judgment for submission: {}", submission.getSubmissionId());
-                
-                // Update status to RUNNING
-                submission.setStatus(Submission.SubmissionStatus.RUNNING);
-                submissionRepository.save(submission);
-                
-                Problem problem = submission.getProblem();
-                
-                // Eagerly load test cases to avoid LazyInitializationException
-                Problem problemWithTestCases = problemRepository.findByIdWithTestCases(problem.getId())
-                    .orElseThrow(() -> new RuntimeException("Problem not found"));
-                List<TestCase> testCases = problemWithTestCases.getTestCases();
-                
-                // Create temporary directory for this submission
-                String tempDir = System.getProperty("java.io.tmpdir") + "/submission_" + submission.getId();
-                Path tempPath = Paths.get(tempDir);
-                Files.createDirectories(tempPath);
-                
-                try {
-                    // Write code to file
-                    String fileName = getFileNameForLanguage("java"); // Default to Java for now
-                    Path codeFile = tempPath.resolve(fileName);
-                    Files.write(codeFile, submission.getCode().getBytes());
-                    
-                    // Run test cases
-                    boolean allPassed = true;
-                    String errorMessage = null;
-                    long totalExecutionTime = 0;
-                    
-                    for (TestCase testCase : testCases) {
-                        JudgeResult result = runTestCase(codeFile.toString(), testCase, problem.getTimeLimit());
-                        totalExecutionTime += result.getExecutionTime();
-                        
-                        if (!result.isPassed()) {
-                            allPassed = false;
-                            errorMessage = result.getErrorMessage();
-                            break;
-                        }
-                    }
-                    
-                    // Update submission result
-                    if (allPassed) {
-                        submission.setResult(Submission.SubmissionResult.ACCEPTED);
-                        submission.setErrorMessage(null);
-                    } else {
-                        submission.setResult(Submission.SubmissionResult.WRONG_ANSWER);
-                        submission.setErrorMessage(errorMessage);
-                    }
-                    
-                    submission.setExecutionTime((int) totalExecutionTime);
-                    submission.setStatus(Submission.SubmissionStatus.COMPLETED);
-                    
-                } finally {
-                    // Cleanup temporary directory
-                    try {
-                        Files.walk(tempPath)
-                            .sorted((a, b) -> b.compareTo(a))
-                            .forEach(path -> {
-                                try {
-                                    Files.delete(path);
-                                } catch (IOException e) {
-                                    logger.warn("Failed to delete temporary file: {}", path, e);
-                                }
-                            });
-                    } catch (IOException e) {
-                        logger.warn("Failed to cleanup temporary directory: {}", tempDir, e);
-                    }
+                return judgeInWorkspace(submission, problem, runtime, tempPath, backend, sandbox, onProgress);
+            } catch (IOException e) {
+                if (sandbox != null) {
+                    sandbox.markBroken();
+                }
+                throw e;
+            } finally {
+                if (sandbox != null) {
+                    sandbox.close();
                 }
-                
-                // Save final result
-                submissionRepository.save(submission);
-                logger.info("Completed judgment for submission: {} with result: {}", 
-                           submission.getSubmissionId(), submission.getResult());
-                
-            } catch (Exception e) {
-                logger.error("Error judging submission: {}", submission.getSubmissionId(), e);
-                submission.setStatus(Submission.SubmissionStatus.COMPLETED);
-                submission.setResult(Submission.SubmissionResult.RUNTIME_ERROR);
-                submission.setErrorMessage("Internal error during judgment: " + e.getMessage());
-                submissionRepository.save(submission);
             }
-        });
+            
+        } finally {
+            // Cleanup temporary directory
+            try {
+                Files.walk(tempPath)
+                    .sorted((a, b) -> b.compareTo(a))
+                    .forEach(path -> {
+                        try {
+                            Files.delete(path);
+                        } catch (IOException e) {
+                            logger.warn("Failed to delete temporary file: {}", path, e);
+                        }
+                    });
+            } catch (IOException e) {
+                logger.warn("Failed to cleanup temporary directory: {}", tempPath, e);
+            }
+        }
     }
     
-    private JudgeResult runTestCase(String codeFile, TestCase testCase, Integer timeLimit) {
-        try {
-            long startTime = System.currentTimeMillis();
-            
-            // Check if Docker is available
-            boolean dockerAvailable = isDockerAvailable();
+    private boolean judgeInWorkspace(Submission submission, ProblemSnapshot problem, LanguageRuntime runtime,
+                                  Path workspace, ExecutionBackend backend, SandboxLease lease,
+                                  IntConsumer onProgress) throws IOException, InterruptedException {
+        // Compile once; the compiled program stays in the workspace for every test case
+        CompilationResult compileResult = lease != null
+            ? runtime.compile(lease, backend, workspace)
+            // Mock execution does not run the code, so there is nothing to compile
+            : CompilationResult.success();
+        if (!compileResult.isSuccess()) {
+            submission.setResult(Submission.SubmissionResult.COMPILATION_ERROR);
+            submission.setErrorMessage(compileResult.getOutput());
+            submission.setExecutionTime(0);
+            submission.setStatus(Submission.SubmissionStatus.COMPLETED);
+        } else {
+            // Run test cases against the compiled artifact
+            JudgeResult summary = runTestCases(problem, runtime, workspace, backend, lease, onProgress);
             
-            if (dockerAvailable) {
-                return runWithDocker(codeFile, testCase, timeLimit, startTime);
+            // Update submission result
+            if (summary.isPassed()) {
+                submission.setResult(Submission.SubmissionResult.ACCEPTED);
+                submission.setErrorMessage(null);
             } else {
-                // Fallback: Mock execution for testing without Docker
-                return runMockExecution(testCase, startTime);
+                submission.setResult(summary.getVerdict());
+                submission.setErrorMessage(summary.getErrorMessage());
             }
             
-        } catch (Exception e) {
-            JudgeResult result = new JudgeResult();
-            result.setPassed(false);
-            result.setErrorMessage("Execution error: " + e.getMessage());
-            result.setExecutionTime(0);
-            return result;
+            submission.setExecutionTime(summary.getExecutionTime());
+            submission.setMemoryUsed(summary.getMemoryUsed() != null
+                ? (int) Math.ceil(summary.getMemoryUsed() / 1024.0) : null);
+            submission.setStatus(Submission.SubmissionStatus.COMPLETED);
         }
+        return lease != null && !compileResult.isTimedOut();
     }
     
-    private boolean isDockerAvailable() {
+    /**
+     * Runs the test cases on the submission's own sandbox plus any idle ones it can
+     * borrow, up to {@code judge.parallel-tests}. Slots take test cases in index order
+     * and a failure cancels every run with a higher index, so the reported verdict is
+     * always that of the lowest-indexed failing test, as in a sequential run.
+     */
+    private JudgeResult runTestCases(ProblemSnapshot problem, LanguageRuntime runtime, Path workspace,
+                                     ExecutionBackend backend, SandboxLease lease, IntConsumer onProgress)
+            throws IOException, InterruptedException {
+        List<TestCaseHandle> testCases = problem.getTestCases();
+        TestRun run = new TestRun(testCases.size(), onProgress);
+        TestSlot ownSlot = run.addSlot(lease);
+        
+        int memoryLimit = problem.getMemoryLimit() != null ? problem.getMemoryLimit() : DEFAULT_MEMORY_LIMIT_MB;
+        
+        List<SandboxLease> borrowed = new ArrayList<>();
+        if (lease != null) {
+            lease.reserveMemory(memoryLimit * 1024L * 1024);
+            runtime.prepare(lease, backend);
+            int wanted = Math.min(judgeProperties.getParallelTests(), testCases.size()) - 1;
+            borrowed = borrowIdleSandboxes(runtime, backend, workspace, memoryLimit, wanted);
+        }
+        // Asked after prepare, which may have started a warm executor for the command to use
+        TestCommand command = new TestCommand(runtime.runCommand(backend, memoryLimit),
+                                              languageRuntimes.timeLimitSeconds(runtime, problem.getTimeLimit()),
+                                              memoryLimit);
+        
         try {
-            ProcessBuilder processBuilder = new ProcessBuilder("docker", "--version");
-            Process process = processBuilder.start();
-            int exitCode = process.waitFor();
-            return exitCode == 0;
-        } catch (Exception e) {
-            return false;
+            List<Future<?>> helpers = new ArrayList<>();
+            for (SandboxLease extra : borrowed) {
+                TestSlot slot = run.addSlot(extra);
+                helpers.add(judgeScheduler.runTestSlot(() -> {
+                    runSlot(slot, run, problem, command);
+                    return null;
+                }));
+            }
+            // The judge worker drives its own sandbox while the helpers drive the borrowed ones
+            Throwable failure = null;
+            try {
+                runSlot(ownSlot, run, problem, command);
+            } catch (IOException | InterruptedException | RuntimeException e) {
+                failure = e;
+            }
+            awaitSlots(helpers, run, failure);
+        } finally {
+            for (SandboxLease extra : borrowed) {
+                extra.close();
+            }
+        }
+        return run.summarize();
+    }
+    
+    private List<SandboxLease> borrowIdleSandboxes(LanguageRuntime runtime, ExecutionBackend backend, Path workspace,
+                                                   int memoryLimit, int wanted) throws InterruptedException {
+        List<SandboxLease> borrowed = new ArrayList<>();
+        while (borrowed.size() < wanted) {
+            SandboxLease extra = backend.tryAcquire();
+            if (extra == null) {
+                break;
+            }
+            try {
+                // The workspace already holds the compiled program
+                extra.copyIn(workspace);
+                extra.reserveMemory(memoryLimit * 1024L * 1024);
+                runtime.prepare(extra, backend);
+                borrowed.add(extra);
+            } catch (IOException e) {
+                logger.warn("Could not prepare sandbox {} for parallel tests: {}", extra.getSandboxId(), e.getMessage());
+                extra.markBroken();
+                extra.close();
+                break;
+            }
         }
+        return borrowed;
     }
     
-    private JudgeResult runWithDocker(String codeFile, TestCase testCase, Integer timeLimit, long startTime) throws Exception {
-        // Build Docker command with file mount
-        ProcessBuilder processBuilder = new ProcessBuilder(
-            "docker", "run", "--rm",
-            "-v", codeFile + ":/app/Main.java",
-            "--memory=128m",
-            "--cpus=1",
-            "--network=none",
-            "--entrypoint=",
-            "shodh-a-code-judge:latest",
-            "bash", "-c",
-            "cd /app && javac Main.java && echo '" + testCase.getInput() + "' | timeout " + (timeLimit != null ? timeLimit : 5) + " java Main"
-        );
-        
-        processBuilder.redirectErrorStream(true);
-        Process process = processBuilder.start();
-        
-        // Write input to process
-        try (OutputStreamWriter writer = new OutputStreamWriter(process.getOutputStream())) {
-            writer.write(testCase.getInput() + "\n");
-            writer.flush();
-            writer.close();
-        }
-        
-        // Read output
-        StringBuilder output = new StringBuilder();
-        try (BufferedReader reader = new BufferedReader(new InputStreamReader(process.getInputStream()))) {
-            String line;
-            while ((line = reader.readLine()) != null) {
-                output.append(line).append("\n");
+    /**
+     * Runs test cases on one slot until none are left. An {@link IOException} is the
+     * judge failing, not the program: it marks the slot's sandbox broken, stops the
+     * other slots and fails the whole judgment rather than deciding a verdict.
+     */
+    private void runSlot(TestSlot slot, TestRun run, ProblemSnapshot problem, TestCommand command)
+            throws IOException, InterruptedException {
+        int index;
+        while ((index = run.next()) >= 0) {
+            slot.begin(index);
+            JudgeResult result;
+            try {
+                result = runTestCase(slot, problem.getTestCases().get(index), command, problem.getChecker());
+            } catch (IOException e) {
+                if (run.isCancelled(index)) {
+                    // Killing a cancelled run closes its pipes under the reader; its result is not needed
+                    continue;
+                }
+                run.abort();
+                if (slot.getLease() != null) {
+                    slot.getLease().markBroken();
+                }
+                throw e;
+            } catch (InterruptedException | RuntimeException e) {
+                run.abort();
+                throw e;
             }
+            run.complete(index, result);
         }
+    }
+    
+    /**
+     * Waits for the helper slots, which must have stopped before their borrowed
+     * leases are closed, then throws {@code failure} or the first helper's failure.
+     */
+    private void awaitSlots(List<Future<?>> helpers, TestRun run, Throwable failure)
+            throws IOException, InterruptedException {
+        for (Future<?> helper : helpers) {
+            while (true) {
+                try {
+                    helper.get();
+                    break;
+                } catch (InterruptedException e) {
+                    failure = failure != null ? failure : e;
+                    run.abort();
+                } catch (ExecutionException e) {
+                    failure = failure != null ? failure : e.getCause();
+                    break;
+                }
+            }
+        }
+        if (failure instanceof IOException e) {
+            throw e;
+        }
+        if (failure instanceof InterruptedException e) {
+            throw e;
+        }
+        if (failure instanceof RuntimeException e) {
+            throw e;
+        }
+        if (failure instanceof Error e) {
+            throw e;
+        }
+    }
+    
+    private JudgeResult runTestCase(TestSlot slot, TestCaseHandle testCase, TestCommand command, OutputChecker checker)
+            throws IOException, InterruptedException {
+        long startTime = System.currentTimeMillis();
         
-        // Wait for process to complete
-        int exitCode = process.waitFor();
-        boolean finished = (exitCode == 0);
-        long executionTime = System.currentTimeMillis() - startTime;
+        if (slot.getLease() != null) {
+            return runInSandbox(slot, testCase, command, checker);
+        } else {
+            // Mock backend: simulate a verdict without running the code
+            return runMockExecution(testCase, startTime);
+        }
+    }
+    
+    private JudgeResult runInSandbox(TestSlot slot, TestCaseHandle testCase, TestCommand command,
+                                     OutputChecker checker) throws IOException, InterruptedException {
+        SandboxLease lease = slot.getLease();
+        int limitSeconds = command.getTimeLimitSeconds();
+        // Metered sandboxes judge CPU time and memory; others fall back to the wall clock alone
+        RunMeter meter = lease.isMetered() ? new RunMeter(limitSeconds * 1000L) : null;
+        int wallSeconds = meter != null ? limitSeconds * METERED_WALL_TIME_FACTOR : limitSeconds;
+        Path expectedFile = testDataStore.resolve(testCase.getExpectedOutputHash());
+        ExpectedOutput expected = new ExpectedOutput(() -> Files.newInputStream(expectedFile),
+                                                     testCase.getOutputDigest(), testCase.getOutputNormalizedSize());
+        AtomicReference<CheckResult> checkResult = new AtomicReference<>();
         
-        String actualOutput = output.toString().trim();
-        String expectedOutput = testCase.getExpectedOutput().trim();
+        // The stored input file becomes the sandbox's stdin as-is, without passing through the heap
+        List<String> timed = new ArrayList<>(Arrays.asList("timeout", String.valueOf(wallSeconds)));
+        timed.addAll(command.getCommand());
+        Path input = testDataStore.resolve(testCase.getInputHash());
+        Process process = meter != null ? lease.exec(timed, input, meter) : lease.exec(timed, input);
+        slot.started(process);
+        // The checker reads stdout as it is produced and stops at the first proven mismatch
+        RunResult run = processRunner.run(process, Duration.ofSeconds(wallSeconds + WATCHDOG_GRACE_SECONDS),
+                                          judgeProperties.getOutputLimit().toBytes(),
+                                          stdout -> checkResult.set(checker.check(stdout, expected)),
+                                          judgeProperties.getStderrLimit().toBytes(), meter);
+        ResourceUsage usage = run.getUsage();
         
         JudgeResult result = new JudgeResult();
-        result.setExecutionTime((int) executionTime);
-        
-        // Debug logging
-        System.out.println("=== JUDGE DEBUG ===");
-        System.out.println("Test Case Input: '" + testCase.getInput() + "'");
-        System.out.println("Expected Output: '" + expectedOutput + "'");
-        System.out.println("Actual Output: '" + actualOutput + "'");
-        System.out.println("Exit Code: " + exitCode);
-        System.out.println("Finished: " + finished);
-        System.out.println("==================");
-        
-        if (!finished) {
+        if (usage != null) {
+            result.setExecutionTime((int) usage.getCpuTimeMillis());
+            result.setMemoryUsed((int) usage.getPeakMemoryKilobytes());
+        } else {
+            result.setExecutionTime((int) run.getWallTimeMillis());
+        }
+        
+        logger.debug("Test case {} finished: exit code {}, {} bytes stdout, {} bytes stderr, {} ms wall, "
+                     + "{} ms CPU, {} KB peak", testCase.getId(), run.getExitCode(), run.getStdoutBytes(), run.getStderr().size(),
+                     run.getWallTimeMillis(), usage != null ? usage.getCpuTimeMillis() : "?",
+                     usage != null ? usage.getPeakMemoryKilobytes() : "?");
+        
+        if (run.isOutputLimitExceeded()) {
             result.setPassed(false);
-            result.setErrorMessage("Process did not complete normally");
-        } else if (exitCode == 124) {
+            result.setVerdict(Submission.SubmissionResult.OUTPUT_LIMIT_EXCEEDED);
+            result.setErrorMessage("OUTPUT_LIMIT_EXCEEDED: output is larger than "
+                                   + judgeProperties.getOutputLimit().toBytes() + " bytes");
+            return result;
+        }
+        if (run.isStoppedEarly() && checkResult.get() != null && !checkResult.get().isAccepted()) {
+            // Killed on purpose once the answer was known to be wrong, so the exit code means nothing
+            result.setPassed(false);
+            result.setVerdict(Submission.SubmissionResult.WRONG_ANSWER);
+            result.setErrorMessage("WRONG_ANSWER - " + checkResult.get().getMessage());
+            return result;
+        }
+        if (usage != null && (usage.isCpuLimitExceeded() || usage.getCpuTimeMillis() > limitSeconds * 1000L)) {
+            result.setPassed(false);
+            result.setVerdict(Submission.SubmissionResult.TIME_LIMIT_EXCEEDED);
+            result.setErrorMessage("TIME_LIMIT_EXCEEDED: used " + usage.getCpuTimeMillis() + " ms of CPU time, limit "
+                                   + limitSeconds * 1000L + " ms");
+            return result;
+        }
+        if (run.getExitCode() == 124 || run.isKilledByWatchdog()) {
             result.setPassed(false);
+            result.setVerdict(Submission.SubmissionResult.TIME_LIMIT_EXCEEDED);
             result.setErrorMessage("TIME_LIMIT_EXCEEDED");
-        } else if (exitCode != 0) {
+            return result;
+        }
+        if (usage != null && (usage.isOutOfMemory()
+                              || usage.getPeakMemoryKilobytes() > command.getMemoryLimitMegabytes() * 1024L)) {
             result.setPassed(false);
-            result.setErrorMessage("RUNTIME_ERROR: " + actualOutput);
-        } else if (!actualOutput.equals(expectedOutput)) {
+            result.setVerdict(Submission.SubmissionResult.MEMORY_LIMIT_EXCEEDED);
+            result.setErrorMessage("MEMORY_LIMIT_EXCEEDED: " + (usage.isOutOfMemory() ? "killed for running out of memory"
+                                   : "peak " + (usage.getPeakMemoryKilobytes() + 1023) / 1024 + " MB")
+                                   + ", limit " + command.getMemoryLimitMegabytes() + " MB");
+            return result;
+        }
+        if (run.getExitCode() != 0) {
+            if (!lease.isHealthy()) {
+                // The sandbox went away under the program, e.g. its container was stopped
+                throw new IOException("Sandbox " + lease.getSandboxId() + " stopped during the run");
+            }
+            result.setPassed(false);
+            result.setVerdict(Submission.SubmissionResult.RUNTIME_ERROR);
+            result.setErrorMessage("RUNTIME_ERROR: " + run.getStderr().toString().trim());
+            return result;
+        }
+        
+        if (checkResult.get() == null || !checkResult.get().isAccepted()) {
             result.setPassed(false);
-            result.setErrorMessage("WRONG_ANSWER - Expected: '" + expectedOutput + "', Got: '" + actualOutput + "'");
+            result.setVerdict(Submission.SubmissionResult.WRONG_ANSWER);
+            result.setErrorMessage("WRONG_ANSWER - " + (checkResult.get() != null
+                ? checkResult.get().getMessage() : "output could not be checked"));
         } else {
             result.setPassed(true);
         }
@@ -221,7 +402,7 @@ public class CodeJudgeService {
         return result;
     }
     
-    private JudgeResult runMockExecution(TestCase testCase, long startTime) {
+    private JudgeResult runMockExecution(TestCaseHandle testCase, long startTime) throws IOException {
         // Mock execution for testing without Docker
         JudgeResult result = new JudgeResult();
         result.setExecutionTime((int) (System.currentTimeMillis() - startTime));
@@ -235,8 +416,8 @@ public class CodeJudgeService {
         
         // Simple logic: parse input and output for basic problems
         // This is a simplified judge for demo purposes
-        String input = testCase.getInput().trim();
-        String expectedOutput = testCase.getExpectedOutput().trim();
+        String input = testDataStore.readString(testCase.getInputHash()).trim();
+        String expectedOutput = testDataStore.readString(testCase.getExpectedOutputHash()).trim();
         
         // Enhanced validation: check if the expected output matches what should be calculated
         if (input.contains(" ") && expectedOutput.matches("-?\\d+")) {
@@ -252,14 +433,17 @@ public class CodeJudgeService {
                     result.setPassed(expected == correctSum);
                     
                     if (!result.isPassed()) {
+                        result.setVerdict(Submission.SubmissionResult.WRONG_ANSWER);
                         result.setErrorMessage("WRONG_ANSWER - Expected sum: " + correctSum + ", but test case expects: " + expected);
                     }
                 } else {
                     result.setPassed(false);
+                    result.setVerdict(Submission.SubmissionResult.WRONG_ANSWER);
                     result.setErrorMessage("Invalid input format - need two numbers");
                 }
             } catch (NumberFormatException e) {
                 result.setPassed(false);
+                result.setVerdict(Submission.SubmissionResult.WRONG_ANSWER);
                 result.setErrorMessage("Invalid input format - non-numeric input");
             }
         } else {
@@ -270,23 +454,150 @@ public class CodeJudgeService {
         return result;
     }
     
-    private String getFileNameForLanguage(String language) {
-        switch (language.toLowerCase()) {
-            case "java":
-                return "Main.java";
-            case "python":
-                return "main.py";
-            case "javascript":
-                return "main.js";
-            default:
-                return "Main.java";
+    /** What every test run of a submission executes, and within which limits. */
+    private static class TestCommand {
+        private final List<String> command;
+        private final int timeLimitSeconds;
+        private final int memoryLimitMegabytes;
+        
+        TestCommand(List<String> command, int timeLimitSeconds, int memoryLimitMegabytes) {
+            this.command = command;
+            this.timeLimitSeconds = timeLimitSeconds;
+            this.memoryLimitMegabytes = memoryLimitMegabytes;
+        }
+        
+        List<String> getCommand() {
+            return command;
+        }
+        
+        int getTimeLimitSeconds() {
+            return timeLimitSeconds;
+        }
+        
+        int getMemoryLimitMegabytes() {
+            return memoryLimitMegabytes;
+        }
+    }
+    
+    /** Shared state of one submission's test cases across its sandbox slots. */
+    private static class TestRun {
+        private final JudgeResult[] results;
+        private final List<TestSlot> slots = new CopyOnWriteArrayList<>();
+        private final AtomicInteger nextIndex = new AtomicInteger();
+        private final AtomicInteger firstFailure = new AtomicInteger(Integer.MAX_VALUE);
+        private final AtomicInteger completed = new AtomicInteger();
+        private final IntConsumer onProgress;
+        
+        TestRun(int testCount, IntConsumer onProgress) {
+            this.results = new JudgeResult[testCount];
+            this.onProgress = onProgress;
+        }
+        
+        TestSlot addSlot(SandboxLease lease) {
+            TestSlot slot = new TestSlot(lease, this);
+            slots.add(slot);
+            return slot;
+        }
+        
+        /** Next test index to run, or -1 once everything that can still matter has been handed out. */
+        int next() {
+            int index = nextIndex.getAndIncrement();
+            return index < results.length && index < firstFailure.get() ? index : -1;
+        }
+        
+        boolean isCancelled(int index) {
+            return index > firstFailure.get();
+        }
+        
+        void complete(int index, JudgeResult result) {
+            results[index] = result;
+            onProgress.accept(completed.incrementAndGet());
+            if (!result.isPassed()) {
+                int failure = firstFailure.accumulateAndGet(index, Math::min);
+                for (TestSlot slot : slots) {
+                    slot.cancelIfAfter(failure);
+                }
+            }
+        }
+        
+        void abort() {
+            firstFailure.set(-1);
+            for (TestSlot slot : slots) {
+                slot.cancelIfAfter(-1);
+            }
+        }
+        
+        JudgeResult summarize() {
+            int failure = firstFailure.get();
+            int last = failure == Integer.MAX_VALUE ? results.length - 1 : failure;
+            // Every index up to the first failure was run to completion; later ones were cancelled.
+            // Like the limits, the reported time and memory are those of the most demanding test.
+            int maxExecutionTime = 0;
+            Integer maxMemoryUsed = null;
+            for (int i = 0; i <= last; i++) {
+                maxExecutionTime = Math.max(maxExecutionTime, results[i].getExecutionTime());
+                Integer memoryUsed = results[i].getMemoryUsed();
+                if (memoryUsed != null && (maxMemoryUsed == null || memoryUsed > maxMemoryUsed)) {
+                    maxMemoryUsed = memoryUsed;
+                }
+            }
+            
+            JudgeResult summary = new JudgeResult();
+            summary.setPassed(failure == Integer.MAX_VALUE);
+            if (!summary.isPassed()) {
+                summary.setVerdict(results[failure].getVerdict());
+                summary.setErrorMessage(results[failure].getErrorMessage());
+            }
+            summary.setExecutionTime(maxExecutionTime);
+            summary.setMemoryUsed(maxMemoryUsed);
+            return summary;
+        }
+    }
+    
+    /** One sandbox working through test cases; its running process is killed if its test is cancelled. */
+    private static class TestSlot {
+        private final SandboxLease lease;
+        private final TestRun run;
+        private volatile int index = -1;
+        private volatile Process process;
+        
+        TestSlot(SandboxLease lease, TestRun run) {
+            this.lease = lease;
+            this.run = run;
+        }
+        
+        SandboxLease getLease() {
+            return lease;
+        }
+        
+        void begin(int index) {
+            this.process = null;
+            this.index = index;
+        }
+        
+        void started(Process process) {
+            this.process = process;
+            // A failure may have been recorded between picking the test and starting it
+            if (run.isCancelled(index)) {
+                process.destroyForcibly();
+            }
+        }
+        
+        void cancelIfAfter(int failure) {
+            Process current = process;
+            if (current != null && index > failure) {
+                current.destroyForcibly();
+            }
         }
     }
     
     private static class JudgeResult {
         private boolean passed;
+        private Submission.SubmissionResult verdict;
         private String errorMessage;
         private int executionTime;
+        // Peak memory in kilobytes, when the run was metered
+        private Integer memoryUsed;
         
         public boolean isPassed() {
             return passed;
@@ -296,6 +607,14 @@ public class CodeJudgeService {
             this.passed = passed;
         }
         
+        public Submission.SubmissionResult getVerdict() {
+            return verdict;
+        }
+        
+        public void setVerdict(Submission.SubmissionResult verdict) {
+            this.verdict = verdict;
+        }
+        
         public String getErrorMessage() {
             return errorMessage;
         }
@@ -311,5 +630,13 @@ public class CodeJudgeService {
         public void setExecutionTime(int executionTime) {
             this.executionTime = executionTime;
         }
+        
+        public Integer getMemoryUsed() {
+            return memoryUsed;
+        }
+        
+        public void setMemoryUsed(Integer memoryUsed) {
+            this.memoryUsed = memoryUsed;
+        }
     }
 }
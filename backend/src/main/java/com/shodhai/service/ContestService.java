@@ -2,17 +2,17 @@ package com.shodhai.service;
 
 import com.shodhai.dto.ContestDto;
 import com.shodhai.dto.LeaderboardEntryDto;
+import com.shodhai.dto.LeaderboardPositionDto;
 import com.shodhai.dto.ProblemDto;
 import com.shodhai.entity.Contest;
 import com.shodhai.entity.Problem;
-import com.shodhai.entity.Submission;
 import com.shodhai.repository.ContestRepository;
-import com.shodhai.repository.SubmissionRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.List;
-import java.util.Map;
+import java.util.Optional;
 import java.util.stream.Collectors;
 
 @Service
@@ -22,7 +22,10 @@ public class ContestService {
     private ContestRepository contestRepository;
     
     @Autowired
-    private SubmissionRepository submissionRepository;
+    private LeaderboardService leaderboardService;
+    
+    @Autowired
+    private LeaderboardStreamService leaderboardStreamService;
     
     public ContestDto getContestByContestId(String contestId) {
         Contest contest = contestRepository.findByContestId(contestId)
@@ -43,71 +46,37 @@ public class ContestService {
         );
     }
     
-    public List<LeaderboardEntryDto> getLeaderboard(String contestId) {
+    public List<LeaderboardEntryDto> getLeaderboardPage(String contestId, int offset, int limit) {
         Contest contest = contestRepository.findByContestId(contestId)
             .orElseThrow(() -> new RuntimeException("Contest not found with ID: " + contestId));
         
-        List<Submission> acceptedSubmissions = submissionRepository.findAcceptedSubmissionsByContest(contest.getId());
-        
-        // Group by user and count unique problems solved
-        Map<String, List<Submission>> userSubmissions = acceptedSubmissions.stream()
-            .collect(Collectors.groupingBy(submission -> submission.getUser().getUsername()));
+        // Maintained incrementally from submission events, see LeaderboardService
+        return leaderboardService.getPage(contest.getId(), offset, limit);
+    }
+    
+    public int getLeaderboardSize(String contestId) {
+        Contest contest = contestRepository.findByContestId(contestId)
+            .orElseThrow(() -> new RuntimeException("Contest not found with ID: " + contestId));
         
-        List<LeaderboardEntryDto> leaderboard = userSubmissions.entrySet().stream()
-            .map(entry -> {
-                String username = entry.getKey();
-                List<Submission> submissions = entry.getValue();
-                
-                // Count unique problems solved
-                long problemsSolved = submissions.stream()
-                    .map(submission -> submission.getProblem().getId())
-                    .distinct()
-                    .count();
-                
-                // Get total submissions for this user
-                long totalSubmissions = submissionRepository.findByContestId(contestId).stream()
-                    .filter(sub -> sub.getUser().getUsername().equals(username))
-                    .count();
-                
-                // Get last submission time
-                submissions.stream()
-                    .max((s1, s2) -> s1.getSubmittedAt().compareTo(s2.getSubmittedAt()))
-                    .ifPresent(lastSubmission -> {
-                        // This will be handled in the mapping
-                    });
-                
-                return new LeaderboardEntryDto(
-                    username,
-                    (int) problemsSolved,
-                    (int) totalSubmissions,
-                    submissions.stream()
-                        .max((s1, s2) -> s1.getSubmittedAt().compareTo(s2.getSubmittedAt()))
-                        .map(Submission::getSubmittedAt)
-                        .orElse(null),
-                    0 // Rank will be set after sorting
-                );
-            })
-            .sorted((a, b) -> {
-                // Sort by problems solved (desc), then by last submission time (asc)
-                int problemsComparison = Integer.compare(b.getProblemsSolved(), a.getProblemsSolved());
-                if (problemsComparison != 0) return problemsComparison;
-                
-                if (a.getLastSubmissionTime() == null) return 1;
-                if (b.getLastSubmissionTime() == null) return -1;
-                return a.getLastSubmissionTime().compareTo(b.getLastSubmissionTime());
-            })
-            .collect(Collectors.toList());
+        return leaderboardService.getSize(contest.getId());
+    }
+    
+    public Optional<LeaderboardPositionDto> getLeaderboardPosition(String contestId, String username, int neighbours) {
+        Contest contest = contestRepository.findByContestId(contestId)
+            .orElseThrow(() -> new RuntimeException("Contest not found with ID: " + contestId));
         
-        // Set ranks
-        for (int i = 0; i < leaderboard.size(); i++) {
-            leaderboard.get(i).setRank(i + 1);
-        }
+        return leaderboardService.getPosition(contest.getId(), username, neighbours);
+    }
+    
+    public SseEmitter streamLeaderboard(String contestId) {
+        Contest contest = contestRepository.findByContestId(contestId)
+            .orElseThrow(() -> new RuntimeException("Contest not found with ID: " + contestId));
         
-        return leaderboard;
+        return leaderboardStreamService.subscribe(contest.getId());
     }
     
     private ProblemDto convertToProblemDto(Problem problem) {
-        return new ProblemDto(
+        ProblemDto dto = new ProblemDto(
             problem.getId(),
             problem.getTitle(),
             problem.getDescription(),
@@ -116,5 +85,10 @@ public class ContestService {
             problem.getTimeLimit(),
             problem.getMemoryLimit()
         );
+        if (problem.getCheckerType() != null) {
+            dto.setCheckerType(problem.getCheckerType().name());
+        }
+        dto.setCheckerEpsilon(problem.getCheckerEpsilon());
+        return dto;
     }
 }
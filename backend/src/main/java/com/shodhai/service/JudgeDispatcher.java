@@ -0,0 +1,208 @@
+package com.shodhai.service;
+
+import com.shodhai.config.JudgeProperties;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Service;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Moves jobs from the durable {@link JudgeQueue} onto this node's judge workers.
+ * A single dispatcher thread claims as many jobs as there are idle workers,
+ * heartbeats the leases of running jobs, and re-queues jobs whose node stopped
+ * heartbeating. At startup it also queues submissions that lost their job, so
+ * work abandoned by a crash or restart is picked up again.
+ */
+@Service
+public class JudgeDispatcher implements SmartLifecycle {
+
+    private static final Logger logger = LoggerFactory.getLogger(JudgeDispatcher.class);
+
+    @Autowired
+    private JudgeQueue judgeQueue;
+
+    @Autowired
+    private JudgeScheduler judgeScheduler;
+
+    @Autowired
+    private JudgeJobRunner judgeJobRunner;
+
+    @Autowired
+    private JudgeProperties judgeProperties;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private final String nodeId = ManagementFactory.getRuntimeMXBean().getName();
+    private final Set<JudgeLease> inFlight = ConcurrentHashMap.newKeySet();
+    private final AtomicLong queuedJobs = new AtomicLong();
+    private ScheduledExecutorService dispatcher;
+    private Timer queueWaitTimer;
+    private volatile boolean running;
+
+    @PostConstruct
+    public void init() {
+        Gauge.builder("judge.queue.depth", queuedJobs, AtomicLong::get)
+            .description("Submissions waiting for a judge worker")
+            .register(meterRegistry);
+        Gauge.builder("judge.queue.capacity", judgeProperties, JudgeProperties::getQueueCapacity)
+            .description("Maximum number of queued submissions")
+            .register(meterRegistry);
+        queueWaitTimer = Timer.builder("judge.queue.wait")
+            .description("Time a submission spends queued before a worker picks it up")
+            .publishPercentileHistogram()
+            .register(meterRegistry);
+    }
+
+    /** Wakes the dispatcher after a job was queued, instead of waiting for the next poll. */
+    public void wakeUp() {
+        ScheduledExecutorService current = dispatcher;
+        if (running && current != null) {
+            current.execute(this::dispatch);
+        }
+    }
+
+    /** Records how long a job waited for its claim, whether a local or a remote worker took it. */
+    public void recordQueueWait(JudgeLease lease) {
+        queueWaitTimer.record(Duration.between(lease.getQueuedAt(), LocalDateTime.now()));
+    }
+
+    @Override
+    public void start() {
+        int orphans = judgeQueue.enqueueOrphans();
+        int expired = judgeQueue.requeueExpired();
+        if (orphans > 0 || expired > 0) {
+            logger.info("Recovered abandoned judge work: {} unqueued submissions, {} expired leases", orphans, expired);
+        }
+
+        dispatcher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "judge-dispatcher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        Duration lease = judgeProperties.getJobs().getLeaseDuration();
+        long pollMillis = Math.max(10, judgeProperties.getJobs().getPollInterval().toMillis());
+        long heartbeatMillis = Math.max(100, lease.toMillis() / 3);
+        dispatcher.scheduleWithFixedDelay(this::dispatch, 0, pollMillis, TimeUnit.MILLISECONDS);
+        dispatcher.scheduleWithFixedDelay(this::heartbeat, heartbeatMillis, heartbeatMillis, TimeUnit.MILLISECONDS);
+        dispatcher.scheduleWithFixedDelay(this::recoverOrphans, lease.toMillis(), lease.toMillis(), TimeUnit.MILLISECONDS);
+        running = true;
+        logger.info("Judge dispatcher {} started, lease {} s", nodeId, lease.toSeconds());
+    }
+
+    private void dispatch() {
+        if (!running) {
+            return;
+        }
+        try {
+            List<JudgeLease> leases = judgeQueue.claim(nodeId, judgeScheduler.getIdleWorkers());
+            for (JudgeLease lease : leases) {
+                recordQueueWait(lease);
+                inFlight.add(lease);
+                try {
+                    judgeScheduler.submit(lease.getSubmissionId(), () -> run(lease));
+                } catch (JudgeQueueFullException e) {
+                    inFlight.remove(lease);
+                    judgeQueue.release(lease);
+                }
+            }
+            queuedJobs.set(judgeQueue.getQueuedCount());
+        } catch (RuntimeException e) {
+            logger.warn("Failed to claim judge jobs", e);
+        }
+    }
+
+    private void run(JudgeLease lease) {
+        lease.setWorker(Thread.currentThread());
+        try {
+            if (!lease.isAbandoned()) {
+                judgeJobRunner.run(lease);
+            }
+        } finally {
+            lease.setWorker(null);
+            inFlight.remove(lease);
+            if (running) {
+                // A worker just became idle
+                wakeUp();
+            }
+        }
+    }
+
+    private void heartbeat() {
+        for (JudgeLease lease : inFlight) {
+            try {
+                if (!lease.isAbandoned() && !judgeQueue.heartbeat(lease)) {
+                    logger.warn("Lost lease on submission {}, abandoning its judgment", lease.getSubmissionId());
+                    lease.abandon();
+                }
+            } catch (RuntimeException e) {
+                // Keep judging; the lease only expires if heartbeats keep failing
+                logger.warn("Heartbeat failed for submission {}", lease.getSubmissionId(), e);
+            }
+        }
+        try {
+            int expired = judgeQueue.requeueExpired();
+            if (expired > 0) {
+                logger.info("Re-queued {} judge jobs with expired leases", expired);
+            }
+        } catch (RuntimeException e) {
+            logger.warn("Failed to re-queue expired judge jobs", e);
+        }
+    }
+
+    private void recoverOrphans() {
+        try {
+            int orphans = judgeQueue.enqueueOrphans();
+            if (orphans > 0) {
+                logger.info("Queued {} submissions that had no judge job", orphans);
+            }
+        } catch (RuntimeException e) {
+            logger.warn("Failed to queue unqueued submissions", e);
+        }
+    }
+
+    /**
+     * Stops claiming, then lets running judgments finish while their leases are
+     * still heartbeated. Whatever has not finished when the judge scheduler gives
+     * up is released back to the queue for another node or the next start.
+     */
+    @Override
+    public void stop() {
+        running = false;
+        if (!judgeScheduler.drain()) {
+            logger.warn("Judge workers did not finish in time, releasing {} submissions", inFlight.size());
+        }
+        for (JudgeLease lease : inFlight) {
+            lease.abandon();
+            try {
+                judgeQueue.release(lease);
+                logger.info("Released unfinished submission {} back to the judge queue", lease.getSubmissionId());
+            } catch (RuntimeException e) {
+                logger.warn("Could not release submission {}; it is re-queued once its lease expires",
+                           lease.getSubmissionId(), e);
+            }
+        }
+        dispatcher.shutdownNow();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+}
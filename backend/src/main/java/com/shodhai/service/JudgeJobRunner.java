@@ -0,0 +1,145 @@
+package com.shodhai.service;
+
+import com.shodhai.config.JudgeProperties;
+import com.shodhai.entity.Submission;
+import com.shodhai.repository.SubmissionRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+/**
+ * Carries a claimed judge job from lease to verdict on the node that owns the
+ * database: loads the submission, reports its progress and saves the verdict.
+ * The judging itself is {@link CodeJudgeService#evaluate}, either on a local
+ * worker thread or on a remote judge worker.
+ */
+@Service
+public class JudgeJobRunner {
+    
+    private static final Logger logger = LoggerFactory.getLogger(JudgeJobRunner.class);
+    
+    @Autowired
+    private SubmissionRepository submissionRepository;
+    
+    @Autowired
+    private CodeJudgeService codeJudgeService;
+    
+    @Autowired
+    private ProblemSnapshotCache problemSnapshotCache;
+    
+    @Autowired
+    private JudgeQueue judgeQueue;
+    
+    @Autowired
+    private LeaderboardService leaderboardService;
+    
+    @Autowired
+    private SubmissionStatusService submissionStatusService;
+    
+    @Autowired
+    private VerdictCache verdictCache;
+    
+    @Autowired
+    private JudgeProperties judgeProperties;
+    
+    /**
+     * Judges the submission behind a claimed job on the calling worker thread. The
+     * verdict is saved together with completing the job, and only while the lease
+     * is held; abandoned work leaves the job for its next claim.
+     */
+    public void run(JudgeLease lease) {
+        Submission submission = start(lease);
+        if (submission == null) {
+            return;
+        }
+        
+        try {
+            logger.info("Starting judgment for submission: {} (attempt {})", submission.getSubmissionId(),
+                        lease.getAttempt());
+            
+            // Limits, checker and test cases come from a detached snapshot, not from JPA entities
+            ProblemSnapshot problem = problemSnapshotCache.get(submission.getProblem().getId());
+            String submissionId = submission.getSubmissionId();
+            submissionStatusService.running(submissionId, problem.getTestCases().size());
+            boolean reusable = codeJudgeService.evaluate(
+                submission, problem, completed -> submissionStatusService.progress(submissionId, completed));
+            if (reusable) {
+                // Saved with the verdict, so identical resubmissions on this test set can reuse it
+                submission.setVerdictKey(verdictCache.key(submission.getCode(), submission.getLanguage(), problem));
+            }
+            
+            // Save final result
+            finish(lease, submission);
+            logger.info("Completed judgment for submission: {} with result: {}", 
+                       submission.getSubmissionId(), submission.getResult());
+            
+        } catch (Exception e) {
+            if (lease.isAbandoned()) {
+                // Interrupted on purpose; the job is released or already judged elsewhere
+                logger.info("Stopped judging submission {}: lease abandoned", submission.getSubmissionId());
+                return;
+            }
+            logger.error("Error judging submission: {}", submission.getSubmissionId(), e);
+            fail(lease, submission, e.getMessage());
+        }
+    }
+    
+    /**
+     * Loads the submission behind a freshly claimed job and marks it RUNNING.
+     * Returns null if there is nothing left to judge: the submission is gone or
+     * already judged, or it used up its attempts and was failed here.
+     */
+    public Submission start(JudgeLease lease) {
+        Submission submission = submissionRepository.findWithDetailsBySubmissionId(lease.getSubmissionId())
+            .orElse(null);
+        if (submission == null || submission.getStatus() == Submission.SubmissionStatus.COMPLETED) {
+            judgeQueue.drop(lease);
+            return null;
+        }
+        submissionStatusService.resume(submission, submission.getUser().getUsername(),
+                                       submission.getProblem().getTitle());
+        
+        if (lease.getAttempt() > judgeProperties.getJobs().getMaxAttempts()) {
+            // Each earlier attempt took its node down or timed out; judging it again would do the same
+            logger.error("Giving up on submission {} after {} attempts", submission.getSubmissionId(),
+                         lease.getAttempt() - 1);
+            fail(lease, submission, "judging failed repeatedly");
+            return null;
+        }
+        
+        // Update status to RUNNING
+        submissionRepository.markRunning(submission.getSubmissionId());
+        submission.setStatus(Submission.SubmissionStatus.RUNNING);
+        return submission;
+    }
+    
+    /** Records an internal error as the verdict. */
+    public void fail(JudgeLease lease, Submission submission, String reason) {
+        submission.setStatus(Submission.SubmissionStatus.COMPLETED);
+        submission.setResult(Submission.SubmissionResult.RUNTIME_ERROR);
+        submission.setErrorMessage("Internal error during judgment: " + reason);
+        finish(lease, submission);
+    }
+    
+    /**
+     * Saves the verdict if the lease still holds, and only then publishes it.
+     * Returns false if the verdict was discarded.
+     */
+    public boolean finish(JudgeLease lease, Submission submission) {
+        if (lease.isAbandoned()) {
+            logger.info("Discarding verdict for submission {}: lease abandoned", submission.getSubmissionId());
+            return false;
+        }
+        if (!judgeQueue.complete(lease, submission)) {
+            logger.warn("Lease on submission {} expired before its verdict was saved; it will be judged again",
+                        submission.getSubmissionId());
+            return false;
+        }
+        leaderboardService.recordVerdict(submission.getContest().getId(), submission.getUser().getUsername(),
+                                         submission.getProblem().getId(), submission.getResult(),
+                                         submission.getSubmittedAt());
+        submissionStatusService.completed(submission);
+        return true;
+    }
+}
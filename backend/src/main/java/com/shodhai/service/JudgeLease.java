@@ -0,0 +1,65 @@
+package com.shodhai.service;
+
+import java.time.LocalDateTime;
+
+/**
+ * A claimed judge job. Only the holder of the current token may extend or
+ * complete the job. {@link #abandon()} marks a lease whose work must not produce
+ * a verdict, because the lease was lost or the node is shutting down.
+ */
+public class JudgeLease {
+
+    private final Long jobId;
+    private final String submissionId;
+    private final String token;
+    private final int attempt;
+    private final LocalDateTime queuedAt;
+    private volatile boolean abandoned;
+    private Thread worker; // guarded by this
+
+    public JudgeLease(Long jobId, String submissionId, String token, int attempt, LocalDateTime queuedAt) {
+        this.jobId = jobId;
+        this.submissionId = submissionId;
+        this.token = token;
+        this.attempt = attempt;
+        this.queuedAt = queuedAt;
+    }
+
+    public Long getJobId() {
+        return jobId;
+    }
+
+    public String getSubmissionId() {
+        return submissionId;
+    }
+
+    public String getToken() {
+        return token;
+    }
+
+    /** 1 for the first claim of the job, higher after crashes or expired leases. */
+    public int getAttempt() {
+        return attempt;
+    }
+
+    public LocalDateTime getQueuedAt() {
+        return queuedAt;
+    }
+
+    public boolean isAbandoned() {
+        return abandoned;
+    }
+
+    synchronized void setWorker(Thread worker) {
+        this.worker = worker;
+    }
+
+    /** Stops the work behind this lease; whatever it computes afterwards is discarded. */
+    synchronized void abandon() {
+        abandoned = true;
+        // Only while the worker is still on this job, so the interrupt cannot leak into its next one
+        if (worker != null) {
+            worker.interrupt();
+        }
+    }
+}
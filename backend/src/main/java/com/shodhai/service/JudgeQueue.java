@@ -0,0 +1,132 @@
+package com.shodhai.service;
+
+import com.shodhai.config.JudgeProperties;
+import com.shodhai.entity.JudgeJob;
+import com.shodhai.entity.Submission;
+import com.shodhai.repository.JudgeJobRepository;
+import com.shodhai.repository.SubmissionRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Durable judge queue in the {@code judge_jobs} table. Jobs are claimed with a
+ * time-limited lease through a conditional update, so several nodes can poll the
+ * same table. A verdict is only saved together with marking its job done under a
+ * still-valid lease, so a job that was re-queued and judged again elsewhere can
+ * never record two verdicts.
+ */
+@Service
+public class JudgeQueue {
+    
+    private static final Logger logger = LoggerFactory.getLogger(JudgeQueue.class);
+    
+    @Autowired
+    private JudgeJobRepository judgeJobRepository;
+    
+    @Autowired
+    private SubmissionRepository submissionRepository;
+    
+    @Autowired
+    private JudgeProperties judgeProperties;
+    
+    /** Queues a saved submission. Throws {@link JudgeQueueFullException} when the backlog is at capacity. */
+    public void enqueue(String submissionId) {
+        if (getQueuedCount() >= judgeProperties.getQueueCapacity()) {
+            logger.warn("Judge queue full, rejecting submission: {}", submissionId);
+            throw new JudgeQueueFullException("Judge queue is full, please resubmit shortly");
+        }
+        judgeJobRepository.save(new JudgeJob(submissionId));
+    }
+    
+    public long getQueuedCount() {
+        return judgeJobRepository.countByState(JudgeJob.JobState.QUEUED);
+    }
+    
+    /** Claims up to {@code max} queued jobs, oldest first. Jobs taken by another node in the meantime are skipped. */
+    @Transactional
+    public List<JudgeLease> claim(String owner, int max) {
+        List<JudgeLease> leases = new ArrayList<>();
+        if (max <= 0) {
+            return leases;
+        }
+        LocalDateTime expiresAt = LocalDateTime.now().plus(judgeProperties.getJobs().getLeaseDuration());
+        for (Long jobId : judgeJobRepository.findQueuedIds(PageRequest.of(0, max))) {
+            String token = UUID.randomUUID().toString();
+            if (judgeJobRepository.claim(jobId, token, owner, expiresAt) == 1) {
+                judgeJobRepository.findById(jobId).ifPresent(job -> leases.add(
+                    new JudgeLease(job.getId(), job.getSubmissionId(), token, job.getAttempts(), job.getCreatedAt())));
+            }
+        }
+        return leases;
+    }
+    
+    /** The lease behind a job if {@code token} still holds it; used to check calls from remote judge workers. */
+    public Optional<JudgeLease> find(Long jobId, String token) {
+        return judgeJobRepository.findById(jobId)
+            .filter(job -> job.getState() == JudgeJob.JobState.LEASED && job.getLeaseToken() != null
+                           && job.getLeaseToken().equals(token))
+            .map(job -> new JudgeLease(job.getId(), job.getSubmissionId(), token, job.getAttempts(), job.getCreatedAt()));
+    }
+    
+    /** Extends a lease; false if it expired and the job was re-queued or claimed by someone else. */
+    @Transactional
+    public boolean heartbeat(JudgeLease lease) {
+        LocalDateTime expiresAt = LocalDateTime.now().plus(judgeProperties.getJobs().getLeaseDuration());
+        return judgeJobRepository.extendLease(lease.getJobId(), lease.getToken(), expiresAt) == 1;
+    }
+    
+    /**
+     * Marks the job done and saves its verdict in one transaction. Returns false,
+     * saving nothing, if the lease is no longer held.
+     */
+    @Transactional
+    public boolean complete(JudgeLease lease, Submission submission) {
+        if (judgeJobRepository.complete(lease.getJobId(), lease.getToken()) != 1) {
+            return false;
+        }
+        submissionRepository.save(submission);
+        return true;
+    }
+    
+    /** Marks a job done without a verdict, e.g. when its submission no longer exists. */
+    @Transactional
+    public void drop(JudgeLease lease) {
+        judgeJobRepository.complete(lease.getJobId(), lease.getToken());
+    }
+    
+    /** Gives a job back without counting the attempt, e.g. when the node shuts down mid-judgment. */
+    @Transactional
+    public void release(JudgeLease lease) {
+        judgeJobRepository.release(lease.getJobId(), lease.getToken());
+    }
+    
+    /** Re-queues jobs whose worker stopped heartbeating; their submissions go back to PENDING. */
+    @Transactional
+    public int requeueExpired() {
+        LocalDateTime now = LocalDateTime.now();
+        submissionRepository.resetExpiredToPending(now);
+        return judgeJobRepository.requeueExpired(now);
+    }
+    
+    /** Queues unfinished submissions that have no job, e.g. because the node died between the two inserts. */
+    @Transactional
+    public int enqueueOrphans() {
+        // Skip recent ones, which another node may be about to queue itself
+        LocalDateTime before = LocalDateTime.now().minus(judgeProperties.getJobs().getLeaseDuration());
+        List<String> orphans = submissionRepository.findUnqueuedSubmissionIds(before);
+        for (String submissionId : orphans) {
+            judgeJobRepository.save(new JudgeJob(submissionId));
+        }
+        return orphans.size();
+    }
+}
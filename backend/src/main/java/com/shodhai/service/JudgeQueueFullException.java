@@ -0,0 +1,7 @@
+package com.shodhai.service;
+
+public class JudgeQueueFullException extends RuntimeException {
+    public JudgeQueueFullException(String message) {
+        super(message);
+    }
+}
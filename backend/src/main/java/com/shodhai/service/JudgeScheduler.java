@@ -0,0 +1,148 @@
+package com.shodhai.service;
+
+import com.shodhai.config.JudgeProperties;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Dedicated worker pool for judging submissions. Judge jobs spend most of their
+ * time blocked on child processes, so they get their own fixed-size pool instead
+ * of sharing the ForkJoinPool common pool. Jobs come from {@link JudgeDispatcher},
+ * or from the remote judge worker loop in a standalone worker; both only claim as
+ * many as there are idle workers.
+ */
+@Service
+public class JudgeScheduler {
+
+    private static final Logger logger = LoggerFactory.getLogger(JudgeScheduler.class);
+
+    @Autowired
+    private JudgeProperties judgeProperties;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private ThreadPoolExecutor executor;
+    private ExecutorService testRunners;
+
+    @PostConstruct
+    public void init() {
+        int workers = Math.max(1, judgeProperties.getWorkers());
+
+        // The backlog lives in the judge_jobs table; this queue only absorbs a claim racing a finishing worker
+        executor = new ThreadPoolExecutor(
+            workers, workers,
+            0L, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(workers),
+            new JudgeThreadFactory("judge-worker-"),
+            new ThreadPoolExecutor.AbortPolicy()
+        );
+        // Helpers for parallel test runs; their number is bounded by the sandboxes a worker can lease
+        testRunners = Executors.newCachedThreadPool(new JudgeThreadFactory("judge-tests-"));
+
+        Gauge.builder("judge.workers.active", executor, ThreadPoolExecutor::getActiveCount)
+            .description("Judge workers currently running a submission")
+            .register(meterRegistry);
+        Gauge.builder("judge.workers.max", judgeProperties, JudgeProperties::getWorkers)
+            .description("Configured number of judge workers")
+            .register(meterRegistry);
+        if (judgeProperties.getWorkers() <= 0) {
+            logger.info("Judge scheduler started without workers; remote judge workers do the judging");
+        } else {
+            logger.info("Judge scheduler started with {} workers", workers);
+        }
+    }
+
+    /**
+     * Hands a claimed job to a worker. Throws {@link JudgeQueueFullException} instead
+     * of blocking when no worker can take it.
+     */
+    public void submit(String submissionId, Runnable job) {
+        if (executor.isShutdown()) {
+            throw new JudgeQueueFullException("Judge is shutting down, please resubmit shortly");
+        }
+
+        try {
+            executor.execute(job);
+        } catch (RejectedExecutionException e) {
+            logger.warn("Judge queue full, rejecting submission: {}", submissionId);
+            throw new JudgeQueueFullException("Judge queue is full, please resubmit shortly");
+        }
+    }
+
+    /**
+     * Runs part of an in-flight judgment on a helper thread. Unlike {@link #submit},
+     * this never queues behind other submissions.
+     */
+    public Future<?> runTestSlot(Callable<?> task) {
+        return testRunners.submit(task);
+    }
+
+    /** Workers that could start a job right now; always 0 on a node with {@code judge.workers: 0}. */
+    public int getIdleWorkers() {
+        if (judgeProperties.getWorkers() <= 0) {
+            return 0;
+        }
+        return Math.max(0, executor.getMaximumPoolSize() - executor.getActiveCount() - executor.getQueue().size());
+    }
+
+    public int getActiveWorkers() {
+        return executor.getActiveCount();
+    }
+
+    /**
+     * Stops accepting work and waits up to {@code judge.shutdown-timeout} for
+     * running judgments to finish so their verdicts are saved. Returns false if
+     * some are still running; the caller decides what happens to them.
+     */
+    public boolean drain() {
+        executor.shutdown();
+        long timeoutMillis = judgeProperties.getShutdownTimeout().toMillis();
+        logger.info("Draining judge workers ({} running), waiting up to {} ms", executor.getActiveCount(), timeoutMillis);
+        try {
+            return executor.awaitTermination(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+        testRunners.shutdownNow();
+    }
+
+    private static class JudgeThreadFactory implements ThreadFactory {
+        private final String prefix;
+        private final AtomicInteger counter = new AtomicInteger();
+
+        JudgeThreadFactory(String prefix) {
+            this.prefix = prefix;
+        }
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, prefix + counter.incrementAndGet());
+            thread.setDaemon(false);
+            return thread;
+        }
+    }
+}
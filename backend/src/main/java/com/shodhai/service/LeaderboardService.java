@@ -0,0 +1,146 @@
+package com.shodhai.service;
+
+import com.shodhai.dto.LeaderboardEntryDto;
+import com.shodhai.dto.LeaderboardPositionDto;
+import com.shodhai.entity.Contest;
+import com.shodhai.entity.Problem;
+import com.shodhai.entity.Submission;
+import com.shodhai.repository.ContestRepository;
+import com.shodhai.repository.LeaderboardRowView;
+import com.shodhai.repository.ProblemAttemptsView;
+import com.shodhai.repository.ProblemRepository;
+import com.shodhai.repository.SolvedProblemView;
+import com.shodhai.repository.SubmissionRepository;
+import com.shodhai.scoring.ContestScoreboard;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory ICPC standings kept up to date from submission events instead of being
+ * recomputed per request. Each contest has a {@link ContestScoreboard} holding
+ * per-user, per-problem results in a rank-indexed tree. The state is rebuilt at
+ * startup from aggregate queries over the submissions table.
+ */
+@Service
+public class LeaderboardService {
+    
+    private static final Logger logger = LoggerFactory.getLogger(LeaderboardService.class);
+    
+    private static final int DEFAULT_PENALTY_MINUTES = 20;
+    
+    @Autowired
+    private SubmissionRepository submissionRepository;
+    
+    @Autowired
+    private ContestRepository contestRepository;
+    
+    @Autowired
+    private ProblemRepository problemRepository;
+    
+    private final Map<Long, ContestScoreboard> contests = new ConcurrentHashMap<>();
+    
+    /**
+     * Runs before the web server starts, so no submission event can race the rebuild.
+     * All queries are aggregated in the database, so the work grows with the number
+     * of users and problems rather than with the number of submissions.
+     */
+    @PostConstruct
+    public void rebuild() {
+        int users = 0;
+        for (Contest contest : contestRepository.findAll()) {
+            Map<String, Map<Long, LocalDateTime>> solvedByUser = new HashMap<>();
+            for (SolvedProblemView solved : submissionRepository.findSolvedProblems(contest.getId())) {
+                solvedByUser.computeIfAbsent(solved.getUsername(), username -> new HashMap<>())
+                    .put(solved.getProblemId(), solved.getFirstAcceptedAt());
+            }
+            Map<String, Map<Long, Integer>> wrongByUser = new HashMap<>();
+            for (ProblemAttemptsView attempts : submissionRepository.findWrongAttempts(contest.getId())) {
+                wrongByUser.computeIfAbsent(attempts.getUsername(), username -> new HashMap<>())
+                    .put(attempts.getProblemId(), attempts.getWrongAttempts().intValue());
+            }
+            ContestScoreboard scoreboard = createScoreboard(contest);
+            contests.put(contest.getId(), scoreboard);
+            for (LeaderboardRowView row : submissionRepository.findLeaderboardRows(contest.getId())) {
+                scoreboard.restore(row.getUsername(), row.getTotalSubmissions().intValue(),
+                                   solvedByUser.getOrDefault(row.getUsername(), Map.of()),
+                                   wrongByUser.getOrDefault(row.getUsername(), Map.of()));
+                users++;
+            }
+        }
+        logger.info("Leaderboards rebuilt for {} users across {} contests", users, contests.size());
+    }
+    
+    /** Counts a submission the judge has accepted into its queue. */
+    public void recordAttempt(Long contestId, String username) {
+        scoreboard(contestId).recordAttempt(username);
+    }
+    
+    /** Applies a final verdict: a solve, a penalised rejection, or nothing for compilation errors. */
+    public void recordVerdict(Long contestId, String username, Long problemId,
+                              Submission.SubmissionResult result, LocalDateTime submittedAt) {
+        scoreboard(contestId).recordVerdict(username, problemId, result, submittedAt);
+    }
+    
+    /** Every user who has submitted, best first. */
+    public List<LeaderboardEntryDto> getLeaderboard(Long contestId) {
+        return getTop(contestId, Integer.MAX_VALUE);
+    }
+    
+    public List<LeaderboardEntryDto> getTop(Long contestId, int limit) {
+        return getPage(contestId, 0, limit);
+    }
+    
+    /** Entries at positions {@code offset} to {@code offset + limit - 1}, read from the rank index. */
+    public List<LeaderboardEntryDto> getPage(Long contestId, int offset, int limit) {
+        ContestScoreboard scoreboard = contests.get(contestId);
+        return scoreboard != null ? scoreboard.entries(offset, limit) : new ArrayList<>();
+    }
+    
+    public int getSize(Long contestId) {
+        ContestScoreboard scoreboard = contests.get(contestId);
+        return scoreboard != null ? scoreboard.size() : 0;
+    }
+    
+    public Optional<LeaderboardPositionDto> getPosition(Long contestId, String username, int neighbours) {
+        ContestScoreboard scoreboard = contests.get(contestId);
+        return scoreboard != null ? scoreboard.around(username, neighbours) : Optional.empty();
+    }
+    
+    /** Increases whenever an entry of the contest changes; used to skip unchanged boards. */
+    public long getVersion(Long contestId) {
+        ContestScoreboard scoreboard = contests.get(contestId);
+        return scoreboard != null ? scoreboard.getVersion() : 0;
+    }
+    
+    private ContestScoreboard scoreboard(Long contestId) {
+        ContestScoreboard scoreboard = contests.get(contestId);
+        if (scoreboard != null) {
+            return scoreboard;
+        }
+        // Contests created after startup are loaded on their first submission
+        Contest contest = contestRepository.findById(contestId)
+            .orElseThrow(() -> new RuntimeException("Contest not found: " + contestId));
+        ContestScoreboard created = createScoreboard(contest);
+        scoreboard = contests.putIfAbsent(contestId, created);
+        return scoreboard != null ? scoreboard : created;
+    }
+    
+    private ContestScoreboard createScoreboard(Contest contest) {
+        List<Long> problemIds = problemRepository.findByContestId(contest.getId()).stream()
+            .map(Problem::getId)
+            .toList();
+        int penaltyMinutes = contest.getPenaltyMinutes() != null ? contest.getPenaltyMinutes() : DEFAULT_PENALTY_MINUTES;
+        return new ContestScoreboard(contest.getStartTime(), penaltyMinutes, problemIds);
+    }
+}
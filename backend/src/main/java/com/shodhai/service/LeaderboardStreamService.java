@@ -0,0 +1,185 @@
+package com.shodhai.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.shodhai.config.StreamProperties;
+import com.shodhai.dto.LeaderboardEntryDto;
+import com.shodhai.dto.LeaderboardUpdateDto;
+import com.shodhai.stream.SseConnection;
+import com.shodhai.stream.SseHub;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Live leaderboard over server-sent events. A subscriber first gets a
+ * {@code snapshot} event; afterwards verdicts are coalesced into windows of
+ * {@code stream.leaderboard-window} and each window that changed the board sends
+ * one {@code delta} event with the entries whose rank or score moved. The diff
+ * and its JSON are computed once per contest per window, however many clients
+ * are connected.
+ */
+@Service
+public class LeaderboardStreamService {
+    
+    private static final Logger logger = LoggerFactory.getLogger(LeaderboardStreamService.class);
+    
+    @Autowired
+    private LeaderboardService leaderboardService;
+    
+    @Autowired
+    private SseHub sseHub;
+    
+    @Autowired
+    private StreamProperties streamProperties;
+    
+    @Autowired
+    private ObjectMapper objectMapper;
+    
+    private final Map<Long, ContestStream> streams = new ConcurrentHashMap<>();
+    private ScheduledExecutorService broadcaster;
+    
+    @PostConstruct
+    public void init() {
+        broadcaster = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "leaderboard-broadcaster");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long windowMillis = Math.max(1, streamProperties.getLeaderboardWindow().toMillis());
+        broadcaster.scheduleWithFixedDelay(this::publishChanges, windowMillis, windowMillis, TimeUnit.MILLISECONDS);
+    }
+    
+    public SseEmitter subscribe(Long contestId) {
+        while (true) {
+            ContestStream stream = streams.computeIfAbsent(contestId, ContestStream::new);
+            SseConnection connection = sseHub.open(closed -> stream.remove(closed));
+            if (stream.add(connection)) {
+                return connection.getEmitter();
+            }
+            // The stream was retired by its last subscriber leaving; start a new one
+            connection.close();
+        }
+    }
+    
+    private void publishChanges() {
+        for (ContestStream stream : streams.values()) {
+            try {
+                stream.publishIfChanged();
+            } catch (RuntimeException e) {
+                logger.warn("Failed to publish leaderboard changes for contest {}", stream.contestId, e);
+            }
+        }
+    }
+    
+    @PreDestroy
+    public void shutdown() {
+        broadcaster.shutdownNow();
+    }
+    
+    private class ContestStream {
+        private final Long contestId;
+        
+        // All guarded by this
+        private final Set<SseConnection> connections = ConcurrentHashMap.newKeySet();
+        private Map<String, LeaderboardEntryDto> published = new HashMap<>();
+        private List<LeaderboardEntryDto> publishedBoard = new ArrayList<>();
+        private long publishedVersion = -1;
+        private long sequence;
+        private boolean retired;
+        
+        ContestStream(Long contestId) {
+            this.contestId = contestId;
+        }
+        
+        synchronized boolean add(SseConnection connection) {
+            if (retired) {
+                return false;
+            }
+            if (publishedVersion < 0) {
+                publish(leaderboardService.getVersion(contestId), leaderboardService.getLeaderboard(contestId));
+            }
+            // The snapshot is the last published board, so the deltas that follow line up with it
+            connection.send("snapshot", String.valueOf(sequence),
+                            toJson(new LeaderboardUpdateDto(sequence, publishedBoard)));
+            connections.add(connection);
+            return true;
+        }
+        
+        synchronized void remove(SseConnection connection) {
+            connections.remove(connection);
+            if (connections.isEmpty() && !retired) {
+                retired = true;
+                streams.remove(contestId, this);
+            }
+        }
+        
+        synchronized void publishIfChanged() {
+            if (connections.isEmpty()) {
+                return;
+            }
+            long version = leaderboardService.getVersion(contestId);
+            if (version == publishedVersion) {
+                return;
+            }
+            List<LeaderboardEntryDto> changed = publish(version, leaderboardService.getLeaderboard(contestId));
+            if (changed.isEmpty()) {
+                return;
+            }
+            sequence++;
+            String json = toJson(new LeaderboardUpdateDto(sequence, changed));
+            for (SseConnection connection : connections) {
+                connection.send("delta", String.valueOf(sequence), json);
+            }
+        }
+        
+        /** Records the board as published and returns the entries that differ from the previous one. */
+        private List<LeaderboardEntryDto> publish(long version, List<LeaderboardEntryDto> board) {
+            List<LeaderboardEntryDto> changed = new ArrayList<>();
+            Map<String, LeaderboardEntryDto> current = new HashMap<>(board.size() * 2);
+            for (LeaderboardEntryDto entry : board) {
+                current.put(entry.getUsername(), entry);
+                if (!sameEntry(entry, published.get(entry.getUsername()))) {
+                    changed.add(entry);
+                }
+            }
+            published = current;
+            publishedBoard = board;
+            publishedVersion = version;
+            return changed;
+        }
+    }
+    
+    private static boolean sameEntry(LeaderboardEntryDto a, LeaderboardEntryDto b) {
+        return b != null
+            && a.getRank() == b.getRank()
+            && a.getProblemsSolved() == b.getProblemsSolved()
+            && a.getTotalSubmissions() == b.getTotalSubmissions()
+            && a.getPenalty() == b.getPenalty()
+            && Objects.equals(a.getLastSubmissionTime(), b.getLastSubmissionTime())
+            && Objects.equals(a.getProblems(), b.getProblems());
+    }
+    
+    private String toJson(Object payload) {
+        try {
+            return objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize leaderboard update", e);
+        }
+    }
+}
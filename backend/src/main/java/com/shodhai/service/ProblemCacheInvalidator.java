@@ -0,0 +1,54 @@
+package com.shodhai.service;
+
+import com.shodhai.entity.Problem;
+import com.shodhai.entity.TestCase;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * JPA listener on {@link Problem} and {@link TestCase} that drops the affected
+ * problem from {@link ProblemSnapshotCache} whenever either is written.
+ */
+@Component
+public class ProblemCacheInvalidator {
+    
+    @Autowired
+    @Lazy
+    private ProblemSnapshotCache problemSnapshotCache;
+    
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void onChange(Object entity) {
+        Long problemId = problemIdOf(entity);
+        if (problemId == null) {
+            return;
+        }
+        problemSnapshotCache.invalidate(problemId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            // A judge may reload the old rows before the edit commits, so invalidate again afterwards
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    problemSnapshotCache.invalidate(problemId);
+                }
+            });
+        }
+    }
+    
+    private static Long problemIdOf(Object entity) {
+        if (entity instanceof Problem problem) {
+            return problem.getId();
+        }
+        if (entity instanceof TestCase testCase && testCase.getProblem() != null) {
+            return testCase.getProblem().getId();
+        }
+        return null;
+    }
+}
@@ -0,0 +1,102 @@
+package com.shodhai.service;
+
+import com.shodhai.checker.OutputChecker;
+import com.shodhai.checker.OutputCheckers;
+import com.shodhai.entity.Problem;
+import com.shodhai.entity.TestCase;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.List;
+
+/**
+ * Immutable, judge-ready copy of a problem: limits, checker and test cases in a
+ * stable order. Judge workers only ever see snapshots, never JPA entities.
+ */
+public final class ProblemSnapshot {
+    
+    private final Long problemId;
+    private final Integer timeLimit;
+    private final Integer memoryLimit;
+    private final Problem.CheckerType checkerType;
+    private final Double checkerEpsilon;
+    private final OutputChecker checker;
+    private final List<TestCaseHandle> testCases;
+    private final String testSetVersion;
+    
+    public ProblemSnapshot(Problem problem) {
+        // Ordered by id so "first failing test" means the same test on every run
+        this(problem.getId(), problem.getTimeLimit(), problem.getMemoryLimit(), problem.getCheckerType(),
+             problem.getCheckerEpsilon(), problem.getTestCases().stream()
+                 .sorted(Comparator.comparing(TestCase::getId))
+                 .map(TestCaseHandle::new)
+                 .toList());
+    }
+    
+    /** Rebuilds a snapshot received from the API node; test cases must already be in judging order. */
+    public ProblemSnapshot(Long problemId, Integer timeLimit, Integer memoryLimit, Problem.CheckerType checkerType,
+                           Double checkerEpsilon, List<TestCaseHandle> testCases) {
+        this.problemId = problemId;
+        this.timeLimit = timeLimit;
+        this.memoryLimit = memoryLimit;
+        this.checkerType = checkerType;
+        this.checkerEpsilon = checkerEpsilon;
+        this.checker = OutputCheckers.create(checkerType, checkerEpsilon);
+        this.testCases = List.copyOf(testCases);
+        this.testSetVersion = fingerprint();
+    }
+    
+    public Long getProblemId() {
+        return problemId;
+    }
+    
+    public Integer getTimeLimit() {
+        return timeLimit;
+    }
+    
+    public Integer getMemoryLimit() {
+        return memoryLimit;
+    }
+    
+    public Problem.CheckerType getCheckerType() {
+        return checkerType;
+    }
+    
+    public Double getCheckerEpsilon() {
+        return checkerEpsilon;
+    }
+    
+    public OutputChecker getChecker() {
+        return checker;
+    }
+    
+    public List<TestCaseHandle> getTestCases() {
+        return testCases;
+    }
+    
+    /**
+     * SHA-256 (hex) over everything that decides a verdict besides the code: limits,
+     * checker and the data of every test case in order. Any edit to them changes it.
+     */
+    public String getTestSetVersion() {
+        return testSetVersion;
+    }
+    
+    private String fingerprint() {
+        StringBuilder text = new StringBuilder()
+            .append(timeLimit).append('|').append(memoryLimit).append('|')
+            .append(checkerType).append('|').append(checkerEpsilon);
+        for (TestCaseHandle testCase : testCases) {
+            text.append('|').append(testCase.getInputHash()).append(':').append(testCase.getExpectedOutputHash());
+        }
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(text.toString().getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package com.shodhai.service;
+
+import com.shodhai.config.JudgeProperties;
+import com.shodhai.repository.ProblemRepository;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Read-through cache of {@link ProblemSnapshot}s for the judge. Entries are kept
+ * in LRU order, bounded by {@code judge.problem-cache.max-size} and dropped once
+ * older than {@code judge.problem-cache.ttl}; edits invalidate them explicitly
+ * through {@link ProblemCacheInvalidator}.
+ */
+@Service
+public class ProblemSnapshotCache {
+    
+    private static final Logger logger = LoggerFactory.getLogger(ProblemSnapshotCache.class);
+    
+    @Autowired
+    private ProblemRepository problemRepository;
+    
+    @Autowired
+    private JudgeProperties judgeProperties;
+    
+    @Autowired
+    private MeterRegistry meterRegistry;
+    
+    // Access-ordered, guarded by this
+    private final LinkedHashMap<Long, CachedSnapshot> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long invalidations;
+    
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+    
+    @PostConstruct
+    public void init() {
+        FunctionCounter.builder("cache.gets", hits, AtomicLong::get)
+            .description("Problem snapshot lookups served from the cache")
+            .tags("cache", "problemSnapshots", "result", "hit")
+            .register(meterRegistry);
+        FunctionCounter.builder("cache.gets", misses, AtomicLong::get)
+            .description("Problem snapshot lookups that had to load from the database")
+            .tags("cache", "problemSnapshots", "result", "miss")
+            .register(meterRegistry);
+        FunctionCounter.builder("cache.evictions", evictions, AtomicLong::get)
+            .description("Problem snapshots dropped for size or age")
+            .tags("cache", "problemSnapshots")
+            .register(meterRegistry);
+        Gauge.builder("cache.size", this, ProblemSnapshotCache::size)
+            .description("Problem snapshots currently cached")
+            .tags("cache", "problemSnapshots")
+            .register(meterRegistry);
+    }
+    
+    public ProblemSnapshot get(Long problemId) {
+        long loadedAfter;
+        synchronized (this) {
+            CachedSnapshot cached = entries.get(problemId);
+            if (cached != null && !isExpired(cached)) {
+                hits.incrementAndGet();
+                return cached.snapshot;
+            }
+            if (cached != null) {
+                entries.remove(problemId);
+                evictions.incrementAndGet();
+            }
+            loadedAfter = invalidations;
+        }
+        
+        misses.incrementAndGet();
+        ProblemSnapshot snapshot = problemRepository.findByIdWithTestCases(problemId)
+            .map(ProblemSnapshot::new)
+            .orElseThrow(() -> new RuntimeException("Problem not found"));
+        
+        synchronized (this) {
+            // An edit that raced with the load may have made this snapshot stale; serve it but don't keep it
+            if (invalidations == loadedAfter) {
+                entries.put(problemId, new CachedSnapshot(snapshot, System.nanoTime()));
+                evictOverflow();
+            }
+        }
+        return snapshot;
+    }
+    
+    public synchronized void invalidate(Long problemId) {
+        invalidations++;
+        if (entries.remove(problemId) != null) {
+            logger.debug("Invalidated cached snapshot of problem {}", problemId);
+        }
+    }
+    
+    public synchronized void invalidateAll() {
+        invalidations++;
+        entries.clear();
+    }
+    
+    public synchronized int size() {
+        return entries.size();
+    }
+    
+    private void evictOverflow() {
+        int maxSize = Math.max(1, judgeProperties.getProblemCache().getMaxSize());
+        Iterator<Map.Entry<Long, CachedSnapshot>> eldest = entries.entrySet().iterator();
+        while (entries.size() > maxSize && eldest.hasNext()) {
+            eldest.next();
+            eldest.remove();
+            evictions.incrementAndGet();
+        }
+    }
+    
+    private boolean isExpired(CachedSnapshot cached) {
+        return System.nanoTime() - cached.loadedAt > judgeProperties.getProblemCache().getTtl().toNanos();
+    }
+    
+    private static class CachedSnapshot {
+        private final ProblemSnapshot snapshot;
+        private final long loadedAt;
+        
+        CachedSnapshot(ProblemSnapshot snapshot, long loadedAt) {
+            this.snapshot = snapshot;
+            this.loadedAt = loadedAt;
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package com.shodhai.service;
+
+import com.shodhai.dto.JudgeJobDto;
+import com.shodhai.dto.JudgeProblemDto;
+import com.shodhai.dto.JudgeReportDto;
+import com.shodhai.dto.JudgeTestCaseDto;
+import com.shodhai.entity.Submission;
+import com.shodhai.repository.SubmissionRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * API-node side of remote judging. Remote workers claim jobs from the same
+ * {@link JudgeQueue} as local workers and hold the same leases; this service
+ * hands them the code and problem snapshot and records what they report. Every
+ * call after the claim is checked against the job's lease token.
+ */
+@Service
+public class RemoteJudgeService {
+    
+    private static final Logger logger = LoggerFactory.getLogger(RemoteJudgeService.class);
+    
+    @Autowired
+    private JudgeQueue judgeQueue;
+    
+    @Autowired
+    private JudgeJobRunner judgeJobRunner;
+    
+    @Autowired
+    private JudgeDispatcher judgeDispatcher;
+    
+    @Autowired
+    private ProblemSnapshotCache problemSnapshotCache;
+    
+    @Autowired
+    private SubmissionRepository submissionRepository;
+    
+    @Autowired
+    private SubmissionStatusService submissionStatusService;
+    
+    @Autowired
+    private VerdictCache verdictCache;
+    
+    /** Leases up to {@code max} jobs to a remote worker, with everything it needs to judge them. */
+    public List<JudgeJobDto> claim(String workerId, int max) {
+        List<JudgeJobDto> jobs = new ArrayList<>();
+        for (JudgeLease lease : judgeQueue.claim("remote:" + workerId, max)) {
+            judgeDispatcher.recordQueueWait(lease);
+            Submission submission = judgeJobRunner.start(lease);
+            if (submission == null) {
+                continue;
+            }
+            try {
+                ProblemSnapshot problem = problemSnapshotCache.get(submission.getProblem().getId());
+                submissionStatusService.running(submission.getSubmissionId(), problem.getTestCases().size());
+                jobs.add(new JudgeJobDto(lease.getJobId(), lease.getSubmissionId(), lease.getToken(),
+                                         lease.getAttempt(), submission.getCode(), submission.getLanguage(),
+                                         toDto(problem)));
+                logger.info("Leased submission {} to judge worker {} (attempt {})", submission.getSubmissionId(),
+                            workerId, lease.getAttempt());
+            } catch (RuntimeException e) {
+                logger.error("Error preparing submission {} for a remote worker", submission.getSubmissionId(), e);
+                judgeJobRunner.fail(lease, submission, e.getMessage());
+            }
+        }
+        return jobs;
+    }
+    
+    /** False if the lease is lost; the worker should then stop judging the job. */
+    public boolean heartbeat(Long jobId, String token) {
+        return judgeQueue.find(jobId, token).map(judgeQueue::heartbeat).orElse(false);
+    }
+    
+    public boolean progress(Long jobId, String token, int testsCompleted) {
+        Optional<JudgeLease> lease = judgeQueue.find(jobId, token);
+        lease.ifPresent(held -> submissionStatusService.progress(held.getSubmissionId(), testsCompleted));
+        return lease.isPresent();
+    }
+    
+    /**
+     * Saves a remote worker's verdict under its lease. Returns false, saving
+     * nothing, if the lease is no longer held. Throws IllegalArgumentException
+     * for an unknown result.
+     */
+    public boolean complete(Long jobId, JudgeReportDto report) {
+        Submission.SubmissionResult result = Submission.SubmissionResult.valueOf(report.getResult());
+        JudgeLease lease = judgeQueue.find(jobId, report.getLeaseToken()).orElse(null);
+        if (lease == null) {
+            return false;
+        }
+        Submission submission = submissionRepository.findWithDetailsBySubmissionId(lease.getSubmissionId())
+            .orElse(null);
+        if (submission == null) {
+            judgeQueue.drop(lease);
+            return true;
+        }
+        submission.setStatus(Submission.SubmissionStatus.COMPLETED);
+        submission.setResult(result);
+        submission.setErrorMessage(report.getErrorMessage());
+        submission.setExecutionTime(report.getExecutionTime());
+        submission.setMemoryUsed(report.getMemoryUsed());
+        // Keyed by the time limit the worker judged under, which its own configuration decides
+        if (report.getTestSetVersion() != null && report.getTimeLimitSeconds() != null) {
+            submission.setVerdictKey(verdictCache.key(submission.getCode(), submission.getLanguage(),
+                                                      report.getTestSetVersion(), report.getTimeLimitSeconds()));
+        }
+        return judgeJobRunner.finish(lease, submission);
+    }
+    
+    /** Returns a job the worker will not finish, e.g. because it is shutting down. */
+    public boolean release(Long jobId, String token) {
+        Optional<JudgeLease> lease = judgeQueue.find(jobId, token);
+        lease.ifPresent(judgeQueue::release);
+        return lease.isPresent();
+    }
+    
+    private JudgeProblemDto toDto(ProblemSnapshot problem) {
+        List<JudgeTestCaseDto> testCases = problem.getTestCases().stream()
+            .map(testCase -> new JudgeTestCaseDto(testCase.getId(), testCase.getInputHash(), testCase.getInputSize(),
+                                                  testCase.getExpectedOutputHash(), testCase.getOutputDigest(),
+                                                  testCase.getOutputNormalizedSize()))
+            .toList();
+        return new JudgeProblemDto(problem.getProblemId(), problem.getTimeLimit(), problem.getMemoryLimit(),
+                                   problem.getCheckerType() != null ? problem.getCheckerType().name() : null,
+                                   problem.getCheckerEpsilon(), testCases);
+    }
+}
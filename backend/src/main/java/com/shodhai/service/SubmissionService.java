@@ -1,15 +1,26 @@
 package com.shodhai.service;
 
 import com.shodhai.dto.SubmissionDto;
+import com.shodhai.dto.SubmissionStatusDto;
 import com.shodhai.entity.Problem;
 import com.shodhai.entity.Submission;
 import com.shodhai.entity.User;
+import com.shodhai.language.LanguageRuntimes;
+import com.shodhai.repository.CachedVerdictView;
 import com.shodhai.repository.ProblemRepository;
 import com.shodhai.repository.SubmissionRepository;
+import com.shodhai.repository.SubmissionStatusView;
 import com.shodhai.repository.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.UUID;
 
 @Service
@@ -25,9 +36,35 @@ public class SubmissionService {
     private ProblemRepository problemRepository;
     
     @Autowired
-    private CodeJudgeService codeJudgeService;
+    private JudgeQueue judgeQueue;
     
-    public String submitCode(String username, Long problemId, String code) {
+    @Autowired
+    private JudgeDispatcher judgeDispatcher;
+    
+    @Autowired
+    private LeaderboardService leaderboardService;
+    
+    @Autowired
+    private SubmissionStatusService submissionStatusService;
+    
+    @Autowired
+    private ProblemSnapshotCache problemSnapshotCache;
+    
+    @Autowired
+    private VerdictCache verdictCache;
+    
+    @Autowired
+    private LanguageRuntimes languageRuntimes;
+    
+    /**
+     * Saves and queues a submission. Code identical to an earlier submission on the
+     * same test set gets that verdict right away and is never queued; the returned
+     * submission is then already COMPLETED.
+     */
+    public Submission submitCode(String username, Long problemId, String code, String language) {
+        // Unknown or disabled languages are rejected before anything is stored
+        String languageId = languageRuntimes.get(language).id();
+        
         // Get or create user
         User user = userRepository.findByUsername(username)
             .orElseGet(() -> {
@@ -42,21 +79,64 @@ public class SubmissionService {
         // Create submission
         String submissionId = UUID.randomUUID().toString();
         Submission submission = new Submission(submissionId, code, user, problem, problem.getContest());
+        submission.setLanguage(languageId);
+        
+        String verdictKey = verdictCache.key(code, languageId, problemSnapshotCache.get(problemId));
+        Optional<CachedVerdictView> cached = verdictCache.find(verdictKey);
+        if (cached.isPresent()) {
+            return completeFromCache(submission, cached.get(), verdictKey, username, problem);
+        }
         
         // Save submission
         submission = submissionRepository.save(submission);
         
-        // Start judging asynchronously
-        codeJudgeService.judgeSubmission(submission);
+        // Queue for judging; drop the submission again if the judge queue is full. A crash between
+        // the two inserts leaves an unqueued submission, which the dispatcher queues at startup.
+        submissionStatusService.track(submission, username, problem.getTitle());
+        try {
+            judgeQueue.enqueue(submissionId);
+        } catch (JudgeQueueFullException e) {
+            submissionStatusService.forget(submissionId);
+            submissionRepository.delete(submission);
+            throw e;
+        }
+        judgeDispatcher.wakeUp();
+        leaderboardService.recordAttempt(problem.getContest().getId(), username);
         
-        return submissionId;
+        return submission;
+    }
+    
+    private Submission completeFromCache(Submission submission, CachedVerdictView verdict, String verdictKey,
+                                         String username, Problem problem) {
+        submission.setStatus(Submission.SubmissionStatus.COMPLETED);
+        submission.setResult(verdict.getResult());
+        submission.setErrorMessage(verdict.getErrorMessage());
+        submission.setExecutionTime(verdict.getExecutionTime());
+        submission.setMemoryUsed(verdict.getMemoryUsed());
+        submission.setVerdictKey(verdictKey);
+        submission.setCached(true);
+        submission = submissionRepository.save(submission);
+        
+        // Same bookkeeping as a judged submission, minus the queue
+        submissionStatusService.track(submission, username, problem.getTitle());
+        submissionStatusService.completed(submission);
+        Long contestId = problem.getContest().getId();
+        leaderboardService.recordAttempt(contestId, username);
+        leaderboardService.recordVerdict(contestId, username, problem.getId(), submission.getResult(),
+                                         submission.getSubmittedAt());
+        return submission;
     }
     
     public SubmissionDto getSubmission(String submissionId) {
-        Submission submission = submissionRepository.findBySubmissionId(submissionId)
+        // User and problem come in the same query instead of two lazy loads
+        Submission submission = submissionRepository.findWithDetailsBySubmissionId(submissionId)
             .orElseThrow(() -> new RuntimeException("Submission not found with ID: " + submissionId));
-        
-        return new SubmissionDto(
+        return toDto(submission);
+    }
+    
+    /** Maps a submission whose user and problem are loaded. */
+    public static SubmissionDto toDto(Submission submission) {
+        SubmissionDto dto = new SubmissionDto(
             submission.getSubmissionId(),
             submission.getCode(),
             submission.getStatus().toString(),
@@ -68,6 +148,46 @@ public class SubmissionService {
             submission.getUser().getUsername(),
             submission.getProblem().getTitle()
         );
+        dto.setLanguage(submission.getLanguage() != null
+            ? submission.getLanguage() : LanguageRuntimes.DEFAULT_LANGUAGE);
+        dto.setCached(submission.isCached());
+        return dto;
+    }
+    
+    /**
+     * Statuses and verdicts of many submissions in one query, in the order asked for.
+     * Unknown IDs are skipped; username and problem title are left out.
+     */
+    public List<SubmissionStatusDto> getStatuses(Collection<String> submissionIds) {
+        Map<String, SubmissionStatusView> found = new HashMap<>();
+        for (SubmissionStatusView view : submissionRepository.findStatusesBySubmissionIds(submissionIds)) {
+            found.put(view.getSubmissionId(), view);
+        }
+        
+        List<SubmissionStatusDto> statuses = new ArrayList<>(found.size());
+        for (String submissionId : submissionIds) {
+            SubmissionStatusView view = found.remove(submissionId);
+            if (view != null) {
+                SubmissionStatusDto status = new SubmissionStatusDto(
+                    view.getSubmissionId(),
+                    view.getStatus().toString(),
+                    view.getResult() != null ? view.getResult().toString() : null,
+                    view.getErrorMessage(),
+                    view.getExecutionTime(),
+                    view.getMemoryUsed(),
+                    view.getSubmittedAt(),
+                    null,
+                    null
+                );
+                status.setCached(Boolean.TRUE.equals(view.getCached()));
+                statuses.add(status);
+            }
+        }
+        return statuses;
+    }
+    
+    public Optional<SseEmitter> streamStatus(String submissionId) {
+        return submissionStatusService.subscribe(submissionId);
     }
     
     public Submission saveSubmission(Submission submission) {
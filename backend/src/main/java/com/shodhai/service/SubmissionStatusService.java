@@ -0,0 +1,234 @@
+package com.shodhai.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.shodhai.config.StreamProperties;
+import com.shodhai.dto.SubmissionStatusDto;
+import com.shodhai.entity.Submission;
+import com.shodhai.repository.SubmissionRepository;
+import com.shodhai.stream.SseConnection;
+import com.shodhai.stream.SseHub;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Pushes submission status to subscribers as the judge moves a submission
+ * through PENDING, RUNNING with per-test progress and COMPLETED. The latest
+ * status of in-flight and recently finished submissions is kept in memory, so
+ * subscribing costs no database read unless the submission is older than
+ * {@code stream.status-retention}.
+ */
+@Service
+public class SubmissionStatusService {
+    
+    @Autowired
+    private SubmissionRepository submissionRepository;
+    
+    @Autowired
+    private SseHub sseHub;
+    
+    @Autowired
+    private StreamProperties streamProperties;
+    
+    @Autowired
+    private ObjectMapper objectMapper;
+    
+    private final Map<String, TrackedSubmission> tracked = new ConcurrentHashMap<>();
+    private ScheduledExecutorService sweeper;
+    
+    @PostConstruct
+    public void init() {
+        sweeper = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "submission-status-sweeper");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long intervalMillis = Math.max(1000, streamProperties.getStatusRetention().toMillis() / 2);
+        sweeper.scheduleWithFixedDelay(this::sweep, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+    
+    /** Starts tracking a newly saved submission; call before it is queued so PENDING comes first. */
+    public void track(Submission submission, String username, String problemTitle) {
+        tracked.put(submission.getSubmissionId(), new TrackedSubmission(initialStatus(submission, username, problemTitle)));
+    }
+    
+    /** Tracks a submission picked up from the judge queue after a restart; no-op if already tracked. */
+    public void resume(Submission submission, String username, String problemTitle) {
+        tracked.computeIfAbsent(submission.getSubmissionId(),
+                                id -> new TrackedSubmission(initialStatus(submission, username, problemTitle)));
+    }
+    
+    /** Drops a submission that was never queued. */
+    public void forget(String submissionId) {
+        TrackedSubmission submission = tracked.remove(submissionId);
+        if (submission != null) {
+            submission.closeAll();
+        }
+    }
+    
+    public void running(String submissionId, int testsTotal) {
+        update(submissionId, status -> {
+            status.setStatus(Submission.SubmissionStatus.RUNNING.toString());
+            status.setTestsCompleted(0);
+            status.setTestsTotal(testsTotal);
+        });
+    }
+    
+    public void progress(String submissionId, int testsCompleted) {
+        update(submissionId, status -> status.setTestsCompleted(testsCompleted));
+    }
+    
+    public void completed(Submission submission) {
+        update(submission.getSubmissionId(), status -> {
+            status.setStatus(submission.getStatus().toString());
+            status.setResult(submission.getResult() != null ? submission.getResult().toString() : null);
+            status.setErrorMessage(submission.getErrorMessage());
+            status.setExecutionTime(submission.getExecutionTime());
+            status.setMemoryUsed(submission.getMemoryUsed());
+            status.setCached(submission.isCached());
+        });
+    }
+    
+    /**
+     * Opens a status stream that sends the current status right away and every
+     * change after it, and ends after COMPLETED. Empty if the submission does not exist.
+     */
+    public Optional<SseEmitter> subscribe(String submissionId) {
+        TrackedSubmission submission = tracked.get(submissionId);
+        if (submission != null) {
+            SseConnection connection = sseHub.open(closed -> submission.remove(closed));
+            submission.add(connection);
+            return Optional.of(connection.getEmitter());
+        }
+        
+        // Finished long ago: one read, one event, done
+        return submissionRepository.findBySubmissionId(submissionId).map(stored -> {
+            SseConnection connection = sseHub.open(closed -> { });
+            connection.send("status", null, toJson(toStatusDto(stored)));
+            connection.finish();
+            return connection.getEmitter();
+        });
+    }
+    
+    private void update(String submissionId, Consumer<SubmissionStatusDto> change) {
+        TrackedSubmission submission = tracked.get(submissionId);
+        if (submission != null) {
+            submission.publish(change);
+        }
+    }
+    
+    private void sweep() {
+        long cutoff = System.nanoTime() - streamProperties.getStatusRetention().toNanos();
+        tracked.entrySet().removeIf(entry -> entry.getValue().isCompletedBefore(cutoff));
+    }
+    
+    private SubmissionStatusDto initialStatus(Submission submission, String username, String problemTitle) {
+        return new SubmissionStatusDto(
+            submission.getSubmissionId(),
+            submission.getStatus().toString(),
+            null,
+            null,
+            null,
+            null,
+            submission.getSubmittedAt(),
+            username,
+            problemTitle
+        );
+    }
+    
+    private SubmissionStatusDto toStatusDto(Submission submission) {
+        SubmissionStatusDto status = new SubmissionStatusDto(
+            submission.getSubmissionId(),
+            submission.getStatus().toString(),
+            submission.getResult() != null ? submission.getResult().toString() : null,
+            submission.getErrorMessage(),
+            submission.getExecutionTime(),
+            submission.getMemoryUsed(),
+            submission.getSubmittedAt(),
+            submission.getUser().getUsername(),
+            submission.getProblem().getTitle()
+        );
+        status.setCached(submission.isCached());
+        return status;
+    }
+    
+    private String toJson(SubmissionStatusDto status) {
+        try {
+            return objectMapper.writeValueAsString(status);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize submission status", e);
+        }
+    }
+    
+    @PreDestroy
+    public void shutdown() {
+        sweeper.shutdownNow();
+    }
+    
+    private class TrackedSubmission {
+        // All guarded by this
+        private final SubmissionStatusDto status;
+        private final Set<SseConnection> subscribers = new HashSet<>();
+        private String json;
+        private long completedAt;
+        
+        TrackedSubmission(SubmissionStatusDto status) {
+            this.status = status;
+            this.json = toJson(status);
+        }
+        
+        synchronized void publish(Consumer<SubmissionStatusDto> change) {
+            change.accept(status);
+            json = toJson(status);
+            boolean completed = isCompleted();
+            if (completed) {
+                completedAt = System.nanoTime();
+            }
+            for (SseConnection subscriber : subscribers) {
+                subscriber.send("status", null, json);
+                if (completed) {
+                    subscriber.finish();
+                }
+            }
+        }
+        
+        synchronized void add(SseConnection connection) {
+            connection.send("status", null, json);
+            if (isCompleted()) {
+                connection.finish();
+            } else {
+                subscribers.add(connection);
+            }
+        }
+        
+        synchronized void remove(SseConnection connection) {
+            subscribers.remove(connection);
+        }
+        
+        synchronized void closeAll() {
+            subscribers.forEach(SseConnection::close);
+            subscribers.clear();
+        }
+        
+        synchronized boolean isCompletedBefore(long cutoff) {
+            return isCompleted() && completedAt - cutoff < 0;
+        }
+        
+        private boolean isCompleted() {
+            return Submission.SubmissionStatus.COMPLETED.toString().equals(status.getStatus());
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.shodhai.service;
+
+import com.shodhai.entity.TestCase;
+
+/** Detached, immutable view of a test case: just enough to find its data in the TestDataStore. */
+public final class TestCaseHandle {
+    
+    private final Long id;
+    private final String inputHash;
+    private final long inputSize;
+    private final String expectedOutputHash;
+    private final String outputDigest;
+    private final Long outputNormalizedSize;
+    
+    public TestCaseHandle(TestCase testCase) {
+        this.id = testCase.getId();
+        this.inputHash = testCase.getInputHash();
+        this.inputSize = testCase.getInputSize();
+        this.expectedOutputHash = testCase.getExpectedOutputHash();
+        this.outputDigest = testCase.getOutputDigest();
+        this.outputNormalizedSize = testCase.getOutputNormalizedSize();
+    }
+    
+    public TestCaseHandle(Long id, String inputHash, long inputSize, String expectedOutputHash,
+                          String outputDigest, Long outputNormalizedSize) {
+        this.id = id;
+        this.inputHash = inputHash;
+        this.inputSize = inputSize;
+        this.expectedOutputHash = expectedOutputHash;
+        this.outputDigest = outputDigest;
+        this.outputNormalizedSize = outputNormalizedSize;
+    }
+    
+    public Long getId() {
+        return id;
+    }
+    
+    public String getInputHash() {
+        return inputHash;
+    }
+    
+    public long getInputSize() {
+        return inputSize;
+    }
+    
+    public String getExpectedOutputHash() {
+        return expectedOutputHash;
+    }
+    
+    public String getOutputDigest() {
+        return outputDigest;
+    }
+    
+    public Long getOutputNormalizedSize() {
+        return outputNormalizedSize;
+    }
+}
@@ -0,0 +1,56 @@
+package com.shodhai.service;
+
+import com.shodhai.checker.NormalizedDigest;
+import com.shodhai.entity.Problem;
+import com.shodhai.entity.TestCase;
+import com.shodhai.testdata.StoredFile;
+import com.shodhai.testdata.TestDataStore;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+
+@Service
+public class TestCaseService {
+    
+    @Autowired
+    private TestDataStore testDataStore;
+    
+    /**
+     * Stores the data of a small test case given inline. The input gets a trailing
+     * newline if it lacks one, since many programs read whole lines from stdin.
+     */
+    public TestCase createTestCase(String input, String expectedOutput, Problem problem) {
+        String terminatedInput = input.endsWith("\n") ? input : input + "\n";
+        try {
+            StoredFile storedInput = testDataStore.put(terminatedInput.getBytes(StandardCharsets.UTF_8));
+            StoredFile storedOutput = testDataStore.put(expectedOutput.getBytes(StandardCharsets.UTF_8));
+            return createTestCase(storedInput, storedOutput, problem);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to store test data", e);
+        }
+    }
+    
+    /** Streams a test case into the store as-is, for test packs too large to hold in memory. */
+    public TestCase createTestCase(InputStream input, InputStream expectedOutput, Problem problem) throws IOException {
+        StoredFile storedInput = testDataStore.put(input);
+        StoredFile storedOutput = testDataStore.put(expectedOutput);
+        return createTestCase(storedInput, storedOutput, problem);
+    }
+    
+    private TestCase createTestCase(StoredFile input, StoredFile expectedOutput, Problem problem) throws IOException {
+        NormalizedDigest digest = new NormalizedDigest();
+        try (InputStream in = testDataStore.open(expectedOutput.getHash())) {
+            byte[] buffer = new byte[8192];
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                digest.update(buffer, 0, read);
+            }
+        }
+        return new TestCase(input.getHash(), input.getSize(), expectedOutput.getHash(), expectedOutput.getSize(),
+                            digest.hex(), digest.size(), problem);
+    }
+}
@@ -0,0 +1,108 @@
+package com.shodhai.service;
+
+import com.shodhai.config.JudgeProperties;
+import com.shodhai.entity.Submission;
+import com.shodhai.language.LanguageRuntimes;
+import com.shodhai.repository.CachedVerdictView;
+import com.shodhai.repository.SubmissionRepository;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.EnumSet;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Reuses verdicts for byte-identical resubmissions. Every submission judged by
+ * a backend that runs code, and whose compilation did not time out, is stamped
+ * with a verdict key: a SHA-256 over its language, its source as written
+ * (only CRLF line endings are read as LF), the test set version of the problem
+ * snapshot it was judged against, and the time limit its tests ran under.
+ * Editing test cases, limits or the checker changes the version, and changing
+ * the language's time multiplier the time limit, so verdicts judged under other
+ * conditions are never found again.
+ * The verdicts themselves stay in the submissions table, so the cache is shared
+ * by every node and survives restarts.
+ */
+@Service
+public class VerdictCache {
+    
+    // Time, memory and runtime failures can depend on load or be internal errors; these cannot
+    private static final Set<Submission.SubmissionResult> REUSABLE = EnumSet.of(
+        Submission.SubmissionResult.ACCEPTED,
+        Submission.SubmissionResult.WRONG_ANSWER,
+        Submission.SubmissionResult.COMPILATION_ERROR
+    );
+    
+    @Autowired
+    private SubmissionRepository submissionRepository;
+    
+    @Autowired
+    private JudgeProperties judgeProperties;
+    
+    @Autowired
+    private LanguageRuntimes languageRuntimes;
+    
+    @Autowired
+    private MeterRegistry meterRegistry;
+    
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    
+    @PostConstruct
+    public void init() {
+        FunctionCounter.builder("cache.gets", hits, AtomicLong::get)
+            .description("Submissions answered with the verdict of an identical earlier submission")
+            .tags("cache", "verdicts", "result", "hit")
+            .register(meterRegistry);
+        FunctionCounter.builder("cache.gets", misses, AtomicLong::get)
+            .description("Submissions that had to be judged")
+            .tags("cache", "verdicts", "result", "miss")
+            .register(meterRegistry);
+    }
+    
+    /** {@code timeLimitSeconds} is the limit per test run, after the language's time multiplier. */
+    public String key(String code, String language, String testSetVersion, int timeLimitSeconds) {
+        // Whitespace can matter to a program, e.g. in string literals or Python line continuations
+        String source = code.replace("\r\n", "\n");
+        // Submissions from before languages existed are Java, and share keys with Java ones
+        String text = (language != null ? language : LanguageRuntimes.DEFAULT_LANGUAGE) + "\n" + testSetVersion + "\n"
+            + timeLimitSeconds + "\n" + source;
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(text.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+    
+    public String key(String code, String language, ProblemSnapshot problem) {
+        return key(code, language, problem.getTestSetVersion(),
+                   languageRuntimes.timeLimitSeconds(language, problem.getTimeLimit()));
+    }
+    
+    /** The newest reusable verdict for a key; empty when the cache is disabled. */
+    public Optional<CachedVerdictView> find(String verdictKey) {
+        if (!judgeProperties.getVerdictCache().isEnabled()) {
+            return Optional.empty();
+        }
+        List<CachedVerdictView> verdicts = submissionRepository.findVerdictsByKey(verdictKey, REUSABLE,
+                                                                                  PageRequest.of(0, 1));
+        if (verdicts.isEmpty()) {
+            misses.incrementAndGet();
+            return Optional.empty();
+        }
+        hits.incrementAndGet();
+        return Optional.of(verdicts.get(0));
+    }
+}
@@ -0,0 +1,133 @@
+package com.shodhai.stream;
+
+import org.springframework.http.MediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * One open event stream with its own bounded send buffer. Producers only ever
+ * enqueue; a sender thread does the blocking writes. A client that lets its
+ * buffer fill up is disconnected rather than allowed to hold up the producer,
+ * and is expected to reconnect and start again from a fresh snapshot.
+ */
+public class SseConnection {
+
+    private final SseEmitter emitter;
+    private final BlockingQueue<Event> buffer;
+    private final Executor sender;
+    private final AtomicBoolean draining = new AtomicBoolean();
+    private volatile boolean closed;
+
+    SseConnection(SseEmitter emitter, int bufferSize, Executor sender) {
+        this.emitter = emitter;
+        this.buffer = new ArrayBlockingQueue<>(Math.max(1, bufferSize));
+        this.sender = sender;
+    }
+
+    public SseEmitter getEmitter() {
+        return emitter;
+    }
+
+    public boolean isClosed() {
+        return closed;
+    }
+
+    /** Queues a named event whose data is already serialized JSON. */
+    public void send(String name, String id, String json) {
+        enqueue(new Event(name, id, json));
+    }
+
+    void heartbeat() {
+        enqueue(new Event(null, null, null));
+    }
+
+    /** Ends the stream once everything queued so far has been sent. */
+    public void finish() {
+        enqueue(Event.END);
+    }
+
+    /** Ends the stream from the server side. Never blocks on the client. */
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        buffer.clear();
+        // complete() waits for an in-progress send, so leave it to a sender thread
+        sender.execute(emitter::complete);
+    }
+
+    void markClosed() {
+        closed = true;
+        buffer.clear();
+    }
+
+    private void enqueue(Event event) {
+        if (closed) {
+            return;
+        }
+        if (!buffer.offer(event)) {
+            close();
+            return;
+        }
+        scheduleDrain();
+    }
+
+    private void scheduleDrain() {
+        if (draining.compareAndSet(false, true)) {
+            sender.execute(this::drain);
+        }
+    }
+
+    private void drain() {
+        try {
+            Event event;
+            while (!closed && (event = buffer.poll()) != null) {
+                if (event == Event.END) {
+                    markClosed();
+                    emitter.complete();
+                    break;
+                }
+                emitter.send(event.toBuilder());
+            }
+        } catch (IOException | IllegalStateException e) {
+            // Client went away; completing the emitter fires the callback that unregisters us
+            markClosed();
+            emitter.completeWithError(e);
+        } finally {
+            draining.set(false);
+        }
+        // Catch events queued after the last poll but before draining was reset
+        if (!closed && !buffer.isEmpty()) {
+            scheduleDrain();
+        }
+    }
+
+    private static class Event {
+        static final Event END = new Event(null, null, null);
+
+        private final String name;
+        private final String id;
+        private final String json;
+
+        Event(String name, String id, String json) {
+            this.name = name;
+            this.id = id;
+            this.json = json;
+        }
+
+        // Builders are single-use, so one is made per connection at send time
+        SseEmitter.SseEventBuilder toBuilder() {
+            if (name == null) {
+                return SseEmitter.event().comment("heartbeat");
+            }
+            SseEmitter.SseEventBuilder builder = SseEmitter.event().name(name).data(json, MediaType.APPLICATION_JSON);
+            return id != null ? builder.id(id) : builder;
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package com.shodhai.stream;
+
+import com.shodhai.config.StreamProperties;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Opens {@link SseConnection}s and owns what they share: the sender threads that
+ * do the blocking writes and the heartbeat that keeps idle streams open through
+ * proxies and notices clients that are gone.
+ */
+@Component
+public class SseHub {
+
+    @Autowired
+    private StreamProperties streamProperties;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private final Set<SseConnection> connections = ConcurrentHashMap.newKeySet();
+    private ExecutorService senders;
+    private ScheduledExecutorService heartbeat;
+
+    @PostConstruct
+    public void init() {
+        AtomicInteger counter = new AtomicInteger();
+        senders = Executors.newFixedThreadPool(Math.max(1, streamProperties.getSenderThreads()), runnable -> {
+            Thread thread = new Thread(runnable, "sse-sender-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        heartbeat = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "sse-heartbeat");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long intervalMillis = streamProperties.getHeartbeatInterval().toMillis();
+        heartbeat.scheduleWithFixedDelay(() -> connections.forEach(SseConnection::heartbeat),
+                                         intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+
+        Gauge.builder("stream.connections", connections, Set::size)
+            .description("Open server-sent event streams")
+            .register(meterRegistry);
+    }
+
+    /**
+     * Opens a stream. {@code onClose} runs once when the client disconnects, the
+     * stream times out or the server closes it.
+     */
+    public SseConnection open(Consumer<SseConnection> onClose) {
+        SseEmitter emitter = new SseEmitter(streamProperties.getTimeout().toMillis());
+        SseConnection connection = new SseConnection(emitter, streamProperties.getSendBuffer(), senders);
+        connections.add(connection);
+        Runnable cleanup = () -> {
+            connection.markClosed();
+            if (connections.remove(connection)) {
+                onClose.accept(connection);
+            }
+        };
+        emitter.onCompletion(cleanup);
+        emitter.onTimeout(cleanup);
+        emitter.onError(error -> cleanup.run());
+        return connection;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        heartbeat.shutdownNow();
+        connections.forEach(SseConnection::close);
+        senders.shutdown();
+    }
+}
@@ -0,0 +1,21 @@
+package com.shodhai.testdata;
+
+/** A file in the {@link TestDataStore}, identified by the SHA-256 of its content. */
+public class StoredFile {
+
+    private final String hash;
+    private final long size;
+
+    public StoredFile(String hash, long size) {
+        this.hash = hash;
+        this.size = size;
+    }
+
+    public String getHash() {
+        return hash;
+    }
+
+    public long getSize() {
+        return size;
+    }
+}
@@ -0,0 +1,117 @@
+package com.shodhai.testdata;
+
+import com.shodhai.config.JudgeProperties;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * Content-addressed store for test inputs and expected outputs. Files live under
+ * {@code judge.test-data-dir} at {@code <first two hex digits>/<sha-256>}, so
+ * identical data shared by several test cases or problems is written only once
+ * and the database keeps nothing but the hash and size.
+ */
+@Component
+public class TestDataStore {
+
+    @Autowired
+    private JudgeProperties judgeProperties;
+
+    private Path root;
+
+    @PostConstruct
+    public void init() throws IOException {
+        root = judgeProperties.getTestDataDir().toAbsolutePath();
+        Files.createDirectories(root.resolve("tmp"));
+    }
+
+    public StoredFile put(byte[] content) throws IOException {
+        String hash = HexFormat.of().formatHex(sha256().digest(content));
+        Path target = resolve(hash);
+        if (!Files.exists(target)) {
+            Path temp = Files.createTempFile(root.resolve("tmp"), "put-", ".part");
+            try {
+                Files.write(temp, content);
+                moveIntoPlace(temp, target);
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+        }
+        return new StoredFile(hash, content.length);
+    }
+
+    /** Streams content into the store, hashing it on the way, without holding it in memory. */
+    public StoredFile put(InputStream content) throws IOException {
+        MessageDigest sha256 = sha256();
+        Path temp = Files.createTempFile(root.resolve("tmp"), "put-", ".part");
+        try {
+            long size;
+            try (InputStream in = new DigestInputStream(content, sha256);
+                 OutputStream out = Files.newOutputStream(temp)) {
+                size = in.transferTo(out);
+            }
+            String hash = HexFormat.of().formatHex(sha256.digest());
+            moveIntoPlace(temp, resolve(hash));
+            return new StoredFile(hash, size);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * Host path of a stored file. The judge hands it to the sandbox as stdin, so the
+     * data goes from the page cache to the process without passing through the heap.
+     */
+    public Path resolve(String hash) {
+        if (hash == null || hash.length() != 64) {
+            throw new IllegalArgumentException("Not a test data hash: " + hash);
+        }
+        return root.resolve(hash.substring(0, 2)).resolve(hash);
+    }
+
+    public boolean contains(String hash) {
+        return Files.exists(resolve(hash));
+    }
+
+    public InputStream open(String hash) throws IOException {
+        return Files.newInputStream(resolve(hash));
+    }
+
+    /** Reads a whole file; only meant for small files such as the mock backend's inputs. */
+    public String readString(String hash) throws IOException {
+        return Files.readString(resolve(hash), StandardCharsets.UTF_8);
+    }
+
+    private void moveIntoPlace(Path temp, Path target) throws IOException {
+        if (Files.exists(target)) {
+            return;
+        }
+        Files.createDirectories(target.getParent());
+        try {
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+        } catch (FileAlreadyExistsException e) {
+            // Another writer stored the same content first
+        }
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
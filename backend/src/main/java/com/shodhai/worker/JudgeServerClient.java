@@ -0,0 +1,133 @@
+package com.shodhai.worker;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.shodhai.config.JudgeProperties;
+import com.shodhai.dto.JudgeClaimRequest;
+import com.shodhai.dto.JudgeJobDto;
+import com.shodhai.dto.JudgeReportDto;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * HTTP client for the API node's {@code /api/judge} endpoints, authenticated
+ * with {@code judge.remote.token}. Calls about a job return false when the
+ * server answers 409, i.e. the worker's lease on it is gone.
+ */
+@Component
+@ConditionalOnProperty(prefix = "judge.remote", name = "server-url")
+public class JudgeServerClient {
+
+    private static final String TOKEN_HEADER = "X-Judge-Token";
+
+    @Autowired
+    private JudgeProperties judgeProperties;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private HttpClient httpClient;
+    private String baseUrl;
+    private Duration requestTimeout;
+
+    @PostConstruct
+    public void init() {
+        JudgeProperties.Remote remote = judgeProperties.getRemote();
+        if (remote.getToken() == null || remote.getToken().isBlank()) {
+            throw new IllegalStateException("judge.remote.token must be set to reach the judge server");
+        }
+        requestTimeout = remote.getRequestTimeout();
+        baseUrl = remote.getServerUrl().replaceAll("/+$", "") + "/api/judge";
+        httpClient = HttpClient.newBuilder()
+            .connectTimeout(requestTimeout)
+            .build();
+    }
+
+    public List<JudgeJobDto> claim(String workerId, int max) throws IOException, InterruptedException {
+        HttpResponse<byte[]> response = httpClient.send(post("/jobs/claim", new JudgeClaimRequest(workerId, max)),
+                                                        HttpResponse.BodyHandlers.ofByteArray());
+        if (response.statusCode() != 200) {
+            throw new IOException("Judge server answered " + response.statusCode() + " to a claim");
+        }
+        return Arrays.asList(objectMapper.readValue(response.body(), JudgeJobDto[].class));
+    }
+
+    public boolean heartbeat(JudgeJobDto job) throws IOException, InterruptedException {
+        return leaseCall(job, "heartbeat", report(job));
+    }
+
+    /** Fire-and-forget: progress is cosmetic and must not slow down the test run. */
+    public void progress(JudgeJobDto job, int testsCompleted) {
+        JudgeReportDto report = report(job);
+        report.setTestsCompleted(testsCompleted);
+        try {
+            httpClient.sendAsync(post("/jobs/" + job.getJobId() + "/progress", report),
+                                 HttpResponse.BodyHandlers.discarding());
+        } catch (IOException e) {
+            // Dropped like a lost response; the next update or the verdict catches up
+        }
+    }
+
+    public boolean complete(JudgeJobDto job, JudgeReportDto verdict) throws IOException, InterruptedException {
+        return leaseCall(job, "complete", verdict);
+    }
+
+    public boolean release(JudgeJobDto job) throws IOException, InterruptedException {
+        return leaseCall(job, "release", report(job));
+    }
+
+    /** Streams a test data file; the caller closes the stream. */
+    public InputStream openTestData(String hash) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/test-data/" + hash))
+            .header(TOKEN_HEADER, judgeProperties.getRemote().getToken())
+            .timeout(requestTimeout)
+            .GET()
+            .build();
+        HttpResponse<InputStream> response = httpClient.send(request, HttpResponse.BodyHandlers.ofInputStream());
+        if (response.statusCode() != 200) {
+            response.body().close();
+            throw new IOException("Judge server answered " + response.statusCode() + " for test data " + hash);
+        }
+        return response.body();
+    }
+
+    private boolean leaseCall(JudgeJobDto job, String action, JudgeReportDto report)
+            throws IOException, InterruptedException {
+        HttpResponse<Void> response = httpClient.send(post("/jobs/" + job.getJobId() + "/" + action, report),
+                                                      HttpResponse.BodyHandlers.discarding());
+        if (response.statusCode() == 409) {
+            return false;
+        }
+        if (response.statusCode() != 200) {
+            throw new IOException("Judge server answered " + response.statusCode() + " to " + action
+                                  + " of job " + job.getJobId());
+        }
+        return true;
+    }
+
+    private JudgeReportDto report(JudgeJobDto job) {
+        JudgeReportDto report = new JudgeReportDto();
+        report.setLeaseToken(job.getLeaseToken());
+        return report;
+    }
+
+    private HttpRequest post(String path, Object body) throws IOException {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+            .header(TOKEN_HEADER, judgeProperties.getRemote().getToken())
+            .header("Content-Type", "application/json")
+            .timeout(requestTimeout)
+            .POST(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body)))
+            .build();
+    }
+}
@@ -0,0 +1,35 @@
+package com.shodhai.worker;
+
+import com.shodhai.config.JudgeProperties;
+import com.shodhai.config.SandboxConfig;
+import com.shodhai.service.CodeJudgeService;
+import com.shodhai.service.JudgeScheduler;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernateJpaAutoConfiguration;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.annotation.Import;
+
+/**
+ * Standalone judge worker: the sandboxes, test data store, artifact cache,
+ * compiler service, language runtimes and judge core of the API application,
+ * without its database, web server or REST API. Jobs come from an API node over
+ * HTTP ({@code judge.remote.server-url}), so workers can be added on any machine
+ * that reaches it. Deliberately not a {@code @Component}, so the API
+ * application's component scan does not pick it up.
+ */
+@EnableAutoConfiguration(exclude = {DataSourceAutoConfiguration.class, HibernateJpaAutoConfiguration.class})
+@ComponentScan(basePackages = {
+    "com.shodhai.sandbox", "com.shodhai.testdata", "com.shodhai.artifact", "com.shodhai.compiler",
+    "com.shodhai.language", "com.shodhai.worker"
+})
+@Import({JudgeProperties.class, SandboxConfig.class, JudgeScheduler.class, CodeJudgeService.class})
+public class JudgeWorkerApplication {
+    public static void main(String[] args) {
+        new SpringApplicationBuilder(JudgeWorkerApplication.class)
+            .web(WebApplicationType.NONE)
+            .run(args);
+    }
+}
@@ -0,0 +1,319 @@
+package com.shodhai.worker;
+
+import com.shodhai.config.JudgeProperties;
+import com.shodhai.dto.JudgeJobDto;
+import com.shodhai.dto.JudgeProblemDto;
+import com.shodhai.dto.JudgeReportDto;
+import com.shodhai.dto.JudgeTestCaseDto;
+import com.shodhai.entity.Problem;
+import com.shodhai.entity.Submission;
+import com.shodhai.language.LanguageRuntimes;
+import com.shodhai.service.CodeJudgeService;
+import com.shodhai.service.JudgeQueueFullException;
+import com.shodhai.service.JudgeScheduler;
+import com.shodhai.service.ProblemSnapshot;
+import com.shodhai.service.TestCaseHandle;
+import com.shodhai.testdata.StoredFile;
+import com.shodhai.testdata.TestDataStore;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Judge loop of a standalone worker process. Claims jobs from the API node as
+ * its judge workers become idle, judges them with the same {@link CodeJudgeService}
+ * the API node uses, and reports verdicts under the job's lease. Test data is
+ * fetched once by hash into the local test data store. Leases are heartbeated
+ * like a local node's, so a worker that dies only delays its jobs until the
+ * lease expires.
+ */
+@Component
+@ConditionalOnProperty(prefix = "judge.remote", name = "server-url")
+public class RemoteJudgeWorker implements SmartLifecycle {
+
+    private static final Logger logger = LoggerFactory.getLogger(RemoteJudgeWorker.class);
+
+    private static final int MAX_CLAIM = 64;
+
+    @Autowired
+    private JudgeServerClient judgeServerClient;
+
+    @Autowired
+    private JudgeScheduler judgeScheduler;
+
+    @Autowired
+    private CodeJudgeService codeJudgeService;
+
+    @Autowired
+    private LanguageRuntimes languageRuntimes;
+
+    @Autowired
+    private TestDataStore testDataStore;
+
+    @Autowired
+    private JudgeProperties judgeProperties;
+
+    private final Map<Long, RemoteJob> inFlight = new ConcurrentHashMap<>();
+    private String workerId;
+    private ScheduledExecutorService poller;
+    private volatile boolean running;
+
+    @Override
+    public void start() {
+        String configured = judgeProperties.getRemote().getWorkerId();
+        workerId = configured != null && !configured.isBlank()
+            ? configured : ManagementFactory.getRuntimeMXBean().getName();
+
+        poller = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "judge-worker-poll");
+            thread.setDaemon(true);
+            return thread;
+        });
+        Duration lease = judgeProperties.getJobs().getLeaseDuration();
+        long pollMillis = Math.max(10, judgeProperties.getJobs().getPollInterval().toMillis());
+        long heartbeatMillis = Math.max(100, lease.toMillis() / 3);
+        poller.scheduleWithFixedDelay(this::poll, 0, pollMillis, TimeUnit.MILLISECONDS);
+        poller.scheduleWithFixedDelay(this::heartbeat, heartbeatMillis, heartbeatMillis, TimeUnit.MILLISECONDS);
+        running = true;
+        logger.info("Judge worker {} polling {} with {} workers", workerId,
+                    judgeProperties.getRemote().getServerUrl(), judgeProperties.getWorkers());
+    }
+
+    private void wakeUp() {
+        ScheduledExecutorService current = poller;
+        if (running && current != null) {
+            current.execute(this::poll);
+        }
+    }
+
+    private void poll() {
+        if (!running) {
+            return;
+        }
+        int idle = Math.min(judgeScheduler.getIdleWorkers(), MAX_CLAIM);
+        if (idle == 0) {
+            return;
+        }
+        try {
+            for (JudgeJobDto job : judgeServerClient.claim(workerId, idle)) {
+                RemoteJob remote = new RemoteJob(job);
+                inFlight.put(job.getJobId(), remote);
+                try {
+                    judgeScheduler.submit(job.getSubmissionId(), () -> run(remote));
+                } catch (JudgeQueueFullException e) {
+                    inFlight.remove(job.getJobId());
+                    release(remote);
+                }
+            }
+        } catch (IOException e) {
+            logger.warn("Failed to claim judge jobs from {}: {}", judgeProperties.getRemote().getServerUrl(),
+                        e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void run(RemoteJob remote) {
+        JudgeJobDto job = remote.getJob();
+        remote.setWorker(Thread.currentThread());
+        try {
+            if (!remote.isAbandoned()) {
+                judge(remote);
+            }
+        } finally {
+            remote.setWorker(null);
+            inFlight.remove(job.getJobId());
+            if (running) {
+                // A worker just became idle
+                wakeUp();
+            }
+        }
+    }
+
+    private void judge(RemoteJob remote) {
+        JudgeJobDto job = remote.getJob();
+        // Never saved here; it only carries the code in and the verdict out
+        Submission submission = new Submission();
+        submission.setSubmissionId(job.getSubmissionId());
+        submission.setCode(job.getCode());
+        submission.setLanguage(job.getLanguage());
+        String testSetVersion = null;
+        Integer timeLimitSeconds = null;
+
+        try {
+            logger.info("Starting judgment for submission: {} (attempt {})", job.getSubmissionId(), job.getAttempt());
+            ProblemSnapshot problem = prepare(job.getProblem());
+            boolean reusable = codeJudgeService.evaluate(submission, problem,
+                                                         completed -> judgeServerClient.progress(job, completed));
+            if (reusable) {
+                // Only a reusable verdict is reported with its test set and time limit, which the server keys it by
+                testSetVersion = problem.getTestSetVersion();
+                timeLimitSeconds = languageRuntimes.timeLimitSeconds(job.getLanguage(), problem.getTimeLimit());
+            }
+        } catch (Exception e) {
+            if (remote.isAbandoned()) {
+                logger.info("Stopped judging submission {}: lease abandoned", job.getSubmissionId());
+                return;
+            }
+            logger.error("Error judging submission: {}", job.getSubmissionId(), e);
+            submission.setStatus(Submission.SubmissionStatus.COMPLETED);
+            submission.setResult(Submission.SubmissionResult.RUNTIME_ERROR);
+            submission.setErrorMessage("Internal error during judgment: " + e.getMessage());
+        }
+        report(remote, submission, testSetVersion, timeLimitSeconds);
+    }
+
+    private void report(RemoteJob remote, Submission submission, String testSetVersion, Integer timeLimitSeconds) {
+        JudgeJobDto job = remote.getJob();
+        if (remote.isAbandoned()) {
+            logger.info("Discarding verdict for submission {}: lease abandoned", job.getSubmissionId());
+            return;
+        }
+        JudgeReportDto verdict = new JudgeReportDto();
+        verdict.setLeaseToken(job.getLeaseToken());
+        verdict.setResult(submission.getResult().toString());
+        verdict.setErrorMessage(submission.getErrorMessage());
+        verdict.setExecutionTime(submission.getExecutionTime());
+        verdict.setMemoryUsed(submission.getMemoryUsed());
+        verdict.setTestSetVersion(testSetVersion);
+        verdict.setTimeLimitSeconds(timeLimitSeconds);
+        try {
+            if (judgeServerClient.complete(job, verdict)) {
+                logger.info("Completed judgment for submission: {} with result: {}", job.getSubmissionId(),
+                            submission.getResult());
+            } else {
+                logger.warn("Lease on submission {} expired before its verdict was saved; it will be judged again",
+                            job.getSubmissionId());
+            }
+        } catch (IOException e) {
+            logger.warn("Could not report verdict for submission {}; it is judged again once its lease expires: {}",
+                        job.getSubmissionId(), e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /** Rebuilds the problem snapshot, downloading any test data this worker has not seen yet. */
+    private ProblemSnapshot prepare(JudgeProblemDto problem) throws IOException, InterruptedException {
+        List<TestCaseHandle> testCases = new ArrayList<>();
+        for (JudgeTestCaseDto testCase : problem.getTestCases()) {
+            fetchTestData(testCase.getInputHash());
+            fetchTestData(testCase.getExpectedOutputHash());
+            testCases.add(new TestCaseHandle(testCase.getId(), testCase.getInputHash(), testCase.getInputSize(),
+                                             testCase.getExpectedOutputHash(), testCase.getOutputDigest(),
+                                             testCase.getOutputNormalizedSize()));
+        }
+        Problem.CheckerType checkerType = problem.getCheckerType() != null
+            ? Problem.CheckerType.valueOf(problem.getCheckerType()) : null;
+        return new ProblemSnapshot(problem.getProblemId(), problem.getTimeLimit(), problem.getMemoryLimit(),
+                                   checkerType, problem.getCheckerEpsilon(), testCases);
+    }
+
+    private void fetchTestData(String hash) throws IOException, InterruptedException {
+        if (testDataStore.contains(hash)) {
+            return;
+        }
+        try (InputStream in = judgeServerClient.openTestData(hash)) {
+            StoredFile stored = testDataStore.put(in);
+            if (!stored.getHash().equals(hash)) {
+                throw new IOException("Test data " + hash + " arrived corrupted");
+            }
+        }
+    }
+
+    private void heartbeat() {
+        for (RemoteJob remote : inFlight.values()) {
+            JudgeJobDto job = remote.getJob();
+            try {
+                if (!remote.isAbandoned() && !judgeServerClient.heartbeat(job)) {
+                    logger.warn("Lost lease on submission {}, abandoning its judgment", job.getSubmissionId());
+                    remote.abandon();
+                }
+            } catch (IOException e) {
+                // Keep judging; the lease only expires if heartbeats keep failing
+                logger.warn("Heartbeat failed for submission {}: {}", job.getSubmissionId(), e.getMessage());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private void release(RemoteJob remote) {
+        try {
+            judgeServerClient.release(remote.getJob());
+            logger.info("Released unfinished submission {} back to the judge queue", remote.getJob().getSubmissionId());
+        } catch (IOException | InterruptedException e) {
+            logger.warn("Could not release submission {}; it is re-queued once its lease expires",
+                        remote.getJob().getSubmissionId());
+        }
+    }
+
+    /**
+     * Stops claiming and lets running judgments finish while their leases are
+     * heartbeated; whatever is left when the judge scheduler gives up goes back
+     * to the queue.
+     */
+    @Override
+    public void stop() {
+        running = false;
+        if (!judgeScheduler.drain()) {
+            logger.warn("Judge workers did not finish in time, releasing {} submissions", inFlight.size());
+        }
+        for (RemoteJob remote : inFlight.values()) {
+            remote.abandon();
+            release(remote);
+        }
+        poller.shutdownNow();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /** A job held by this worker; same abandon semantics as the API node's judge leases. */
+    private static class RemoteJob {
+        private final JudgeJobDto job;
+        private volatile boolean abandoned;
+        private Thread worker; // guarded by this
+
+        RemoteJob(JudgeJobDto job) {
+            this.job = job;
+        }
+
+        JudgeJobDto getJob() {
+            return job;
+        }
+
+        boolean isAbandoned() {
+            return abandoned;
+        }
+
+        synchronized void setWorker(Thread worker) {
+            this.worker = worker;
+        }
+
+        synchronized void abandon() {
+            abandoned = true;
+            if (worker != null) {
+                worker.interrupt();
+            }
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.shodhai.checker;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.nio.charset.StandardCharsets;
+
+final class CheckerTestSupport {
+
+    private CheckerTestSupport() {}
+
+    static CheckResult check(OutputChecker checker, String expected, String actual) throws IOException {
+        return checker.check(stream(actual), ExpectedOutput.of(expected, null, null));
+    }
+
+    static InputStream stream(String text) {
+        return new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /** {@code prefix} followed by output that never ends, so only a checker that stops early returns. */
+    static InputStream endless(String prefix) {
+        InputStream rest = new InputStream() {
+            @Override
+            public int read() {
+                return 'z';
+            }
+        };
+        return new SequenceInputStream(stream(prefix), rest);
+    }
+}
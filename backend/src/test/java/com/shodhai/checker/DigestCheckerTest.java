@@ -0,0 +1,58 @@
+package com.shodhai.checker;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+
+import static com.shodhai.checker.CheckerTestSupport.check;
+import static com.shodhai.checker.CheckerTestSupport.endless;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DigestCheckerTest {
+
+    private final OutputChecker checker = new DigestChecker();
+
+    @Test
+    void acceptsOutputThatMatchesAfterNormalization() throws IOException {
+        assertTrue(check(checker, "1 2\n3\n", "1 2\n3\n").isAccepted());
+        assertTrue(check(checker, "1 2\n3\n", "1 2  \r\n3\t\n\n\n").isAccepted());
+    }
+
+    @Test
+    void rejectsDifferencesThatNormalizationKeeps() throws IOException {
+        assertFalse(check(checker, "1 2\n3\n", "1  2\n3\n").isAccepted());
+        assertFalse(check(checker, "1 2\n3\n", " 1 2\n3\n").isAccepted());
+    }
+
+    @Test
+    void rejectsOutputOfTheSameLengthWithOtherContent() throws IOException {
+        CheckResult result = check(checker, "1 2\n3\n", "1 2\n4\n");
+
+        assertFalse(result.isAccepted());
+        assertEquals("Output does not match the expected output", result.getMessage());
+    }
+
+    @Test
+    void rejectsShorterOutput() throws IOException {
+        assertEquals("Output is shorter than expected", check(checker, "1 2\n3\n", "1 2\n").getMessage());
+    }
+
+    @Test
+    void stopsReadingOnceOutputIsLongerThanExpected() throws IOException {
+        CheckResult result = checker.check(endless("1 2\n"), ExpectedOutput.of("1 2\n3\n", null, null));
+
+        assertEquals("Output is longer than expected", result.getMessage());
+    }
+
+    @Test
+    void needsOnlyTheDigestOfTheExpectedOutput() throws IOException {
+        NormalizedDigest digest = NormalizedDigest.of("42\n");
+        ExpectedOutput expected = new ExpectedOutput(() -> {
+            throw new AssertionError("expected output must not be read");
+        }, digest.hex(), digest.size());
+
+        assertTrue(checker.check(CheckerTestSupport.stream("42"), expected).isAccepted());
+    }
+}
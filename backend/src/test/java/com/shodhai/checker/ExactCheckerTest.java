@@ -0,0 +1,54 @@
+package com.shodhai.checker;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+
+import static com.shodhai.checker.CheckerTestSupport.check;
+import static com.shodhai.checker.CheckerTestSupport.endless;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ExactCheckerTest {
+
+    private final OutputChecker checker = new ExactChecker();
+
+    @Test
+    void acceptsIdenticalOutput() throws IOException {
+        assertTrue(check(checker, "1 2\n3\n", "1 2\n3\n").isAccepted());
+    }
+
+    @Test
+    void ignoresLeadingAndTrailingWhitespaceOfTheWholeOutput() throws IOException {
+        assertTrue(check(checker, "1 2\n3", "\n 1 2\n3  \n\n").isAccepted());
+        assertTrue(check(checker, "1 2\n3\n\n", "1 2\n3").isAccepted());
+    }
+
+    @Test
+    void rejectsWhitespaceDifferencesInsideTheOutput() throws IOException {
+        assertFalse(check(checker, "1 2\n3", "1  2\n3").isAccepted());
+        assertFalse(check(checker, "1 2\n3", "1 2 3").isAccepted());
+    }
+
+    @Test
+    void reportsTheFirstDifferingLine() throws IOException {
+        CheckResult result = check(checker, "a\nb\nc\n", "a\nb\nx\n");
+
+        assertFalse(result.isAccepted());
+        assertEquals("Output differs from expected on line 3: expected 'c', got 'x'", result.getMessage());
+    }
+
+    @Test
+    void rejectsMissingAndExtraOutput() throws IOException {
+        assertFalse(check(checker, "1\n2\n", "1\n").isAccepted());
+        assertFalse(check(checker, "1\n", "1\n2\n").isAccepted());
+    }
+
+    @Test
+    void stopsReadingAtTheFirstMismatch() throws IOException {
+        CheckResult result = checker.check(endless("1\n3\n"), ExpectedOutput.of("1\n2\n", null, null));
+
+        assertFalse(result.isAccepted());
+    }
+}
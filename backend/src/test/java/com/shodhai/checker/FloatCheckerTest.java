@@ -0,0 +1,80 @@
+package com.shodhai.checker;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import static com.shodhai.checker.CheckerTestSupport.check;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class FloatCheckerTest {
+
+    private final OutputChecker checker = new FloatChecker(1e-6);
+
+    @Test
+    void acceptsNumbersWithinAbsoluteEpsilon() throws IOException {
+        assertTrue(check(checker, "0.5 2", "0.5000004 2.0000009").isAccepted());
+        assertFalse(check(checker, "0.5", "0.500002").isAccepted());
+    }
+
+    @Test
+    void acceptsNumbersWithinRelativeEpsilon() throws IOException {
+        assertTrue(check(checker, "1000000000", "1000000500").isAccepted());
+        assertFalse(check(checker, "1000000000", "1000002000").isAccepted());
+    }
+
+    @Test
+    void acceptsOtherNotationsOfTheSameNumber() throws IOException {
+        assertTrue(check(checker, "1500", "1.5e3").isAccepted());
+        assertTrue(check(checker, "-0.25", "-.25").isAccepted());
+    }
+
+    @Test
+    void rejectsJavaLiteralsWhereNumbersAreExpected() throws IOException {
+        assertFalse(check(checker, "1", "1d").isAccepted());
+        assertFalse(check(checker, "2", "2f").isAccepted());
+        assertFalse(check(checker, "8", "0x1p3").isAccepted());
+        assertFalse(check(checker, "1", "1e").isAccepted());
+        assertFalse(check(checker, "1", "+").isAccepted());
+        assertFalse(check(checker, "1", ".").isAccepted());
+    }
+
+    @Test
+    void comparesNonFiniteValuesAsWords() throws IOException {
+        assertTrue(check(checker, "NaN Infinity", "NaN Infinity").isAccepted());
+        assertFalse(check(checker, "NaN", "nan").isAccepted());
+        assertFalse(check(checker, "1e308", "Infinity").isAccepted());
+        assertFalse(check(checker, "1e308", "1e309").isAccepted());
+        assertTrue(check(checker, "1e309", "1e309").isAccepted());
+        assertFalse(check(checker, "1e309", "2e309").isAccepted());
+    }
+
+    @Test
+    void recognisesPlainNumbers() {
+        for (String number : new String[] {"0", "-12", "+7", "1.", ".5", "-.25", "1.5e3", "2E-10", "3e+2"}) {
+            assertTrue(FloatChecker.isPlainNumber(number.getBytes(StandardCharsets.US_ASCII)), number);
+        }
+        for (String word : new String[] {"", "-", "e5", "1e", "1e+", "1.2.3", "0x10", "1d", "1_000", "NaN", "Infinity"}) {
+            assertFalse(FloatChecker.isPlainNumber(word.getBytes(StandardCharsets.US_ASCII)), word);
+        }
+    }
+
+    @Test
+    void comparesWordsExactly() throws IOException {
+        assertTrue(check(checker, "YES 3.14159", "YES 3.1415900001").isAccepted());
+        assertFalse(check(checker, "YES 3.14159", "yes 3.14159").isAccepted());
+    }
+
+    @Test
+    void rejectsWordsWhereNumbersAreExpected() throws IOException {
+        assertFalse(check(checker, "1.5", "one").isAccepted());
+    }
+
+    @Test
+    void rejectsMissingAndExtraNumbers() throws IOException {
+        assertFalse(check(checker, "1 2", "1").isAccepted());
+        assertFalse(check(checker, "1 2", "1 2 3").isAccepted());
+    }
+}
@@ -0,0 +1,53 @@
+package com.shodhai.checker;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+
+import static com.shodhai.checker.CheckerTestSupport.check;
+import static com.shodhai.checker.CheckerTestSupport.endless;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TokenCheckerTest {
+
+    private final OutputChecker checker = new TokenChecker();
+
+    @Test
+    void ignoresHowTokensAreSpacedOrSplitIntoLines() throws IOException {
+        assertTrue(check(checker, "1 2 3\n", "1\n2   3").isAccepted());
+        assertTrue(check(checker, "a b", "\ta\r\nb\n\n").isAccepted());
+    }
+
+    @Test
+    void comparesTokensExactly() throws IOException {
+        assertFalse(check(checker, "1.0", "1").isAccepted());
+        assertFalse(check(checker, "Yes", "yes").isAccepted());
+        assertFalse(check(checker, "12", "1 2").isAccepted());
+    }
+
+    @Test
+    void rejectsMissingTokens() throws IOException {
+        CheckResult result = check(checker, "1 2 3", "1 2");
+
+        assertFalse(result.isAccepted());
+        assertEquals("Token 3: expected '3', got end of output", result.getMessage());
+    }
+
+    @Test
+    void rejectsExtraTokens() throws IOException {
+        CheckResult result = check(checker, "1 2", "1 2 3");
+
+        assertFalse(result.isAccepted());
+        assertEquals("Output has more tokens than expected (2)", result.getMessage());
+    }
+
+    @Test
+    void stopsReadingAtTheFirstMismatch() throws IOException {
+        CheckResult result = checker.check(endless("1 3 "), ExpectedOutput.of("1 2", null, null));
+
+        assertFalse(result.isAccepted());
+        assertEquals("Token 2: expected '2', got a different value", result.getMessage());
+    }
+}
@@ -0,0 +1,132 @@
+package com.shodhai.sandbox;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RunMeterTest {
+
+    private final RunMeter meter = new RunMeter(2000);
+
+    @Test
+    void takesTheReportOffStderr() throws IOException {
+        String stderr = filter("warning: slow\n" + report("cpu_us=1500 peak_kb=2048 oom=0 cpu_limit=1"));
+
+        assertEquals("warning: slow\n", stderr);
+        ResourceUsage usage = meter.getUsage();
+        assertNotNull(usage);
+        assertEquals(1500, usage.getCpuTimeMicros());
+        assertEquals(2048, usage.getPeakMemoryKilobytes());
+        assertFalse(usage.isOutOfMemory());
+        assertTrue(usage.isCpuLimitExceeded());
+    }
+
+    @Test
+    void reportAfterEmptyStderrIsFound() throws IOException {
+        assertEquals("", filter(report("cpu_us=1 peak_kb=2 oom=1 cpu_limit=0")));
+        assertTrue(meter.getUsage().isOutOfMemory());
+    }
+
+    @Test
+    void dropsEverythingAfterTheReport() throws IOException {
+        String stderr = filter(report("cpu_us=10 peak_kb=20 oom=0 cpu_limit=0")
+                               + "escaped\n" + report("cpu_us=0 peak_kb=0 oom=0 cpu_limit=0"));
+
+        assertEquals("", stderr);
+        assertEquals(10, meter.getUsage().getCpuTimeMicros());
+    }
+
+    @Test
+    void firstValueOfAFieldWins() throws IOException {
+        filter(report("cpu_us=10 peak_kb=20 oom=0 cpu_limit=0 cpu_us=0"));
+
+        assertEquals(10, meter.getUsage().getCpuTimeMicros());
+    }
+
+    @Test
+    void overlongReportLeavesTheRunUnmeasured() throws IOException {
+        filter(report("cpu_us=10 peak_kb=20 oom=0 cpu_limit=0" + " x".repeat(200)));
+
+        assertNull(meter.getUsage());
+    }
+
+    @Test
+    void missingOrUnterminatedReportLeavesTheRunUnmeasured() throws IOException {
+        assertEquals("killed\n", filter("killed\n"));
+        assertNull(meter.getUsage());
+
+        RunMeter cutShort = new RunMeter(0);
+        read(cutShort, stream("\n" + cutShort.getTag() + " cpu_us=10 peak_kb=20"));
+        assertNull(cutShort.getUsage());
+    }
+
+    @Test
+    void reportWithoutItsFieldsLeavesTheRunUnmeasured() throws IOException {
+        filter(report("cpu_us=10"));
+
+        assertNull(meter.getUsage());
+    }
+
+    @Test
+    void reportWithAnotherTagIsPassedThrough() throws IOException {
+        String forged = "\n" + new RunMeter(0).getTag() + " cpu_us=0 peak_kb=0 oom=0 cpu_limit=0\n";
+
+        assertEquals(forged, filter(forged));
+        assertNull(meter.getUsage());
+    }
+
+    @Test
+    void partialMarkerIsPassedThrough() throws IOException {
+        String partial = "\n" + meter.getTag().substring(0, 10) + "\n" + meter.getTag().substring(0, 4);
+
+        assertEquals(partial, filter(partial));
+        assertNull(meter.getUsage());
+    }
+
+    @Test
+    void markerSplitAcrossReadsIsFound() throws IOException {
+        String text = "output\n" + report("cpu_us=7 peak_kb=8 oom=0 cpu_limit=0");
+        // One byte per read, so every prefix of the marker ends a chunk
+        InputStream chunks = new SequenceInputStream(Collections.enumeration(
+            text.chars().mapToObj(c -> (InputStream) new ByteArrayInputStream(new byte[] {(byte) c})).toList()));
+
+        assertEquals("output\n", read(meter, chunks));
+        assertEquals(7, meter.getUsage().getCpuTimeMicros());
+    }
+
+    @Test
+    void eachMeterHasItsOwnTag() {
+        assertNotEquals(meter.getTag(), new RunMeter(0).getTag());
+        assertEquals(32, meter.getTag().length());
+    }
+
+    private String report(String fields) {
+        return "\n" + meter.getTag() + " " + fields + "\n";
+    }
+
+    private String filter(String stderr) throws IOException {
+        return read(meter, stream(stderr));
+    }
+
+    private static String read(RunMeter meter, InputStream stderr) throws IOException {
+        try (InputStream filtered = meter.filter(stderr)) {
+            return new String(filtered.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+
+    private static InputStream stream(String text) {
+        return new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,176 @@
+package com.shodhai.sandbox;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SandboxPoolTest {
+
+    @TempDir
+    Path root;
+
+    private SandboxPool pool;
+
+    @AfterEach
+    void closePool() {
+        if (pool != null) {
+            pool.close();
+        }
+    }
+
+    @Test
+    void leasesUpToThePoolSize() throws IOException {
+        pool = newPool(2, 10);
+
+        SandboxLease first = pool.acquire();
+        SandboxLease second = pool.acquire();
+
+        assertNotEquals(first.getSandboxId(), second.getSandboxId());
+        assertTrue(Files.isDirectory(Path.of(first.getSandboxId())));
+        assertEquals(2, pool.getLeasedCount());
+        assertThrows(IOException.class, pool::acquire);
+        assertNull(pool.tryAcquire());
+    }
+
+    @Test
+    void closedLeaseIsScrubbedAndReused() throws IOException {
+        pool = newPool(1, 10);
+        Path workspace = Files.createDirectory(root.resolve("workspace"));
+        Files.writeString(workspace.resolve("Main.java"), "class Main {}");
+
+        String sandboxId;
+        try (SandboxLease lease = pool.acquire()) {
+            sandboxId = lease.getSandboxId();
+            lease.copyIn(workspace);
+            assertTrue(Files.exists(Path.of(sandboxId, "Main.java")));
+        }
+
+        assertEquals(1, pool.getIdleCount());
+        try (SandboxLease lease = pool.acquire()) {
+            assertEquals(sandboxId, lease.getSandboxId());
+            assertFalse(Files.exists(Path.of(sandboxId, "Main.java")));
+        }
+        assertEquals(1, pool.getCreatedCount());
+    }
+
+    @Test
+    void tryAcquireOnlyBorrowsIdleSandboxes() throws IOException {
+        pool = newPool(2, 10);
+        assertNull(pool.tryAcquire());
+
+        String sandboxId;
+        try (SandboxLease lease = pool.acquire()) {
+            sandboxId = lease.getSandboxId();
+        }
+        try (SandboxLease borrowed = pool.tryAcquire()) {
+            assertEquals(sandboxId, borrowed.getSandboxId());
+        }
+    }
+
+    @Test
+    void sandboxIsRecycledAfterMaxReuses() throws IOException {
+        pool = newPool(1, 2);
+
+        String sandboxId;
+        try (SandboxLease lease = pool.acquire()) {
+            sandboxId = lease.getSandboxId();
+        }
+        try (SandboxLease lease = pool.acquire()) {
+            assertEquals(sandboxId, lease.getSandboxId());
+        }
+
+        assertFalse(Files.exists(Path.of(sandboxId)));
+        assertEquals(1, pool.getRecycledCount());
+        try (SandboxLease lease = pool.acquire()) {
+            assertNotEquals(sandboxId, lease.getSandboxId());
+        }
+    }
+
+    @Test
+    void brokenSandboxIsRecycled() throws IOException {
+        pool = newPool(1, 10);
+
+        String sandboxId;
+        try (SandboxLease lease = pool.acquire()) {
+            sandboxId = lease.getSandboxId();
+            lease.markBroken();
+        }
+
+        assertFalse(Files.exists(Path.of(sandboxId)));
+        assertEquals(1, pool.getRecycledCount());
+        try (SandboxLease lease = pool.acquire()) {
+            assertNotEquals(sandboxId, lease.getSandboxId());
+        }
+    }
+
+    @Test
+    void unhealthyIdleSandboxIsReplaced() throws IOException, InterruptedException {
+        pool = newPool(1, 10);
+        pool.start(Duration.ofMillis(20));
+        await(() -> pool.getIdleCount() == 1);
+
+        String sandboxId;
+        try (SandboxLease lease = pool.acquire()) {
+            sandboxId = lease.getSandboxId();
+        }
+        // The local executor's health check is that the sandbox directory still exists
+        deleteTree(Path.of(sandboxId));
+
+        await(() -> pool.getRecycledCount() == 1 && pool.getIdleCount() == 1);
+        try (SandboxLease lease = pool.acquire()) {
+            assertNotEquals(sandboxId, lease.getSandboxId());
+            assertTrue(Files.isDirectory(Path.of(lease.getSandboxId())));
+        }
+    }
+
+    @Test
+    void closedPoolDestroysIdleSandboxesAndRefusesLeases() throws IOException {
+        pool = newPool(1, 10);
+        String sandboxId;
+        try (SandboxLease lease = pool.acquire()) {
+            sandboxId = lease.getSandboxId();
+        }
+
+        pool.close();
+
+        assertFalse(Files.exists(Path.of(sandboxId)));
+        assertThrows(IOException.class, pool::acquire);
+    }
+
+    private SandboxPool newPool(int size, int maxReuses) {
+        return new SandboxPool(new LocalSandboxExecutor(root.resolve("sandboxes")), size, maxReuses,
+                               Duration.ofMillis(100));
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.nanoTime() < deadline, "Condition not met within 5 seconds");
+            Thread.sleep(10);
+        }
+    }
+
+    private static void deleteTree(Path dir) throws IOException {
+        try (Stream<Path> paths = Files.walk(dir)) {
+            for (Path path : paths.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(path);
+            }
+        }
+    }
+}
@@ -0,0 +1,204 @@
+package com.shodhai.scoring;
+
+import com.shodhai.dto.LeaderboardEntryDto;
+import com.shodhai.dto.LeaderboardPositionDto;
+import com.shodhai.dto.ProblemResultDto;
+import com.shodhai.entity.Submission.SubmissionResult;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ContestScoreboardTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2024, 1, 1, 10, 0);
+    private static final int PENALTY_MINUTES = 20;
+
+    private final ContestScoreboard scoreboard = new ContestScoreboard(START, PENALTY_MINUTES, List.of(1L, 2L));
+
+    @Test
+    void ranksBySolvedThenPenalty() {
+        submit("alice", 1L, SubmissionResult.ACCEPTED, 30);
+        submit("bob", 1L, SubmissionResult.ACCEPTED, 10);
+        submit("bob", 2L, SubmissionResult.ACCEPTED, 100);
+        submit("carol", 1L, SubmissionResult.ACCEPTED, 20);
+
+        List<LeaderboardEntryDto> entries = scoreboard.entries(0, 10);
+
+        assertEquals(List.of("bob", "carol", "alice"), usernames(entries));
+        assertEquals(List.of(1, 2, 3), ranks(entries));
+        assertEquals(2, entries.get(0).getProblemsSolved());
+        assertEquals(110, entries.get(0).getPenalty());
+    }
+
+    @Test
+    void addsPenaltyForRejectionsBeforeTheFirstAccepted() {
+        submit("alice", 1L, SubmissionResult.WRONG_ANSWER, 5);
+        submit("alice", 1L, SubmissionResult.TIME_LIMIT_EXCEEDED, 8);
+        submit("alice", 1L, SubmissionResult.ACCEPTED, 12);
+        // Neither counts: compilation errors carry no penalty, and the problem is already solved
+        submit("alice", 1L, SubmissionResult.COMPILATION_ERROR, 10);
+        submit("alice", 1L, SubmissionResult.WRONG_ANSWER, 30);
+
+        LeaderboardEntryDto alice = scoreboard.entries(0, 1).get(0);
+
+        assertEquals(12 + 2 * PENALTY_MINUTES, alice.getPenalty());
+        ProblemResultDto problem = alice.getProblems().get(0);
+        assertTrue(problem.isSolved());
+        assertEquals(2, problem.getWrongAttempts());
+        assertEquals(Long.valueOf(12), problem.getSolvedAtMinute());
+        assertEquals(5, alice.getTotalSubmissions());
+    }
+
+    @Test
+    void unsolvedRejectionsCostNothing() {
+        submit("alice", 1L, SubmissionResult.ACCEPTED, 50);
+        submit("bob", 1L, SubmissionResult.ACCEPTED, 50);
+        submit("bob", 2L, SubmissionResult.WRONG_ANSWER, 60);
+
+        List<LeaderboardEntryDto> entries = scoreboard.entries(0, 10);
+
+        assertEquals(50, entries.get(0).getPenalty());
+        assertEquals(50, entries.get(1).getPenalty());
+        ProblemResultDto unsolved = entries.get(entries.get(0).getUsername().equals("bob") ? 0 : 1).getProblems().get(1);
+        assertFalse(unsolved.isSolved());
+        assertEquals(1, unsolved.getWrongAttempts());
+        assertNull(unsolved.getSolvedAtMinute());
+    }
+
+    @Test
+    void anEarlierAcceptedVerdictJudgedLateMovesTheSolve() {
+        submit("alice", 1L, SubmissionResult.WRONG_ANSWER, 10);
+        submit("alice", 1L, SubmissionResult.ACCEPTED, 40);
+        // Judged last, but submitted before the rejection
+        submit("alice", 1L, SubmissionResult.ACCEPTED, 5);
+
+        LeaderboardEntryDto alice = scoreboard.entries(0, 1).get(0);
+
+        assertEquals(5, alice.getPenalty());
+        assertEquals(0, alice.getProblems().get(0).getWrongAttempts());
+    }
+
+    @Test
+    void equalScoresShareARank() {
+        submit("carol", 1L, SubmissionResult.ACCEPTED, 30);
+        submit("alice", 1L, SubmissionResult.ACCEPTED, 30);
+        submit("bob", 1L, SubmissionResult.ACCEPTED, 10);
+        scoreboard.recordAttempt("dave");
+
+        List<LeaderboardEntryDto> entries = scoreboard.entries(0, 10);
+
+        assertEquals(List.of("bob", "alice", "carol", "dave"), usernames(entries));
+        assertEquals(List.of(1, 2, 2, 4), ranks(entries));
+    }
+
+    @Test
+    void marksTheFirstToSolveEachProblem() {
+        submit("alice", 1L, SubmissionResult.ACCEPTED, 30);
+        submit("bob", 1L, SubmissionResult.ACCEPTED, 10);
+
+        List<LeaderboardEntryDto> entries = scoreboard.entries(0, 10);
+
+        assertTrue(entries.get(0).getProblems().get(0).isFirstToSolve());
+        assertFalse(entries.get(1).getProblems().get(0).isFirstToSolve());
+    }
+
+    @Test
+    void restoredStandingsCombineWithLiveVerdicts() {
+        scoreboard.restore("alice", 3, Map.of(1L, START.plusMinutes(20)), Map.of(1L, 1, 2L, 1));
+        submit("alice", 2L, SubmissionResult.WRONG_ANSWER, 25);
+        submit("alice", 2L, SubmissionResult.ACCEPTED, 30);
+
+        LeaderboardEntryDto alice = scoreboard.entries(0, 1).get(0);
+
+        assertEquals(2, alice.getProblemsSolved());
+        assertEquals(20 + PENALTY_MINUTES + 30 + 2 * PENALTY_MINUTES, alice.getPenalty());
+        assertEquals(5, alice.getTotalSubmissions());
+    }
+
+    @Test
+    void countsProblemsAddedAfterStartup() {
+        submit("alice", 3L, SubmissionResult.ACCEPTED, 15);
+
+        LeaderboardEntryDto alice = scoreboard.entries(0, 1).get(0);
+
+        assertEquals(1, alice.getProblemsSolved());
+        assertEquals(List.of(1L, 2L, 3L), alice.getProblems().stream().map(ProblemResultDto::getProblemId).toList());
+    }
+
+    @Test
+    void pagesContinueTheRanksOfEarlierPages() {
+        standings();
+
+        assertEquals(List.of(1, 2, 2, 2, 5, 6), ranks(scoreboard.entries(0, 10)));
+        // The page starts inside a tie, so its first rank comes from the entries before it
+        List<LeaderboardEntryDto> page = scoreboard.entries(2, 3);
+        assertEquals(List.of("u2", "u3", "u4"), usernames(page));
+        assertEquals(List.of(2, 2, 5), ranks(page));
+        assertEquals(List.of(6), ranks(scoreboard.entries(5, 3)));
+        assertEquals(List.of(), scoreboard.entries(6, 3));
+    }
+
+    @Test
+    void aroundReturnsTheUserWithNeighbours() {
+        standings();
+
+        LeaderboardPositionDto position = scoreboard.around("u3", 1).orElseThrow();
+
+        assertEquals("u3", position.getEntry().getUsername());
+        assertEquals(2, position.getEntry().getRank());
+        assertEquals(2, position.getOffset());
+        assertEquals(6, position.getTotalEntries());
+        assertEquals(List.of("u2", "u3", "u4"), usernames(position.getEntries()));
+    }
+
+    @Test
+    void aroundIsClippedAtTheEndsOfTheBoard() {
+        standings();
+
+        LeaderboardPositionDto top = scoreboard.around("u0", 2).orElseThrow();
+        assertEquals(0, top.getOffset());
+        assertEquals(List.of("u0", "u1", "u2"), usernames(top.getEntries()));
+
+        LeaderboardPositionDto bottom = scoreboard.around("u5", 2).orElseThrow();
+        assertEquals(3, bottom.getOffset());
+        assertEquals(List.of("u3", "u4", "u5"), usernames(bottom.getEntries()));
+    }
+
+    @Test
+    void aroundIsEmptyForUsersWhoNeverSubmitted() {
+        standings();
+
+        assertEquals(Optional.empty(), scoreboard.around("nobody", 2));
+    }
+
+    /** Six contestants ranked 1, 2, 2, 2, 5, 6, in username order. */
+    private void standings() {
+        submit("u0", 1L, SubmissionResult.ACCEPTED, 10);
+        submit("u3", 1L, SubmissionResult.ACCEPTED, 20);
+        submit("u1", 1L, SubmissionResult.ACCEPTED, 20);
+        submit("u2", 1L, SubmissionResult.ACCEPTED, 20);
+        submit("u4", 1L, SubmissionResult.ACCEPTED, 30);
+        submit("u5", 1L, SubmissionResult.WRONG_ANSWER, 40);
+    }
+
+    private void submit(String username, Long problemId, SubmissionResult result, int minute) {
+        scoreboard.recordAttempt(username);
+        scoreboard.recordVerdict(username, problemId, result, START.plusMinutes(minute));
+    }
+
+    private static List<String> usernames(List<LeaderboardEntryDto> entries) {
+        return entries.stream().map(LeaderboardEntryDto::getUsername).toList();
+    }
+
+    private static List<Integer> ranks(List<LeaderboardEntryDto> entries) {
+        return entries.stream().map(LeaderboardEntryDto::getRank).toList();
+    }
+}
@@ -0,0 +1,83 @@
+package com.shodhai.scoring;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class OrderStatisticTreeTest {
+
+    @Test
+    void keepsElementsInOrder() {
+        OrderStatisticTree<Integer> tree = new OrderStatisticTree<>(Comparator.naturalOrder());
+        for (int value : new int[] {5, 1, 4, 2, 3}) {
+            tree.add(value);
+        }
+
+        assertEquals(5, tree.size());
+        assertEquals(List.of(1, 2, 3, 4, 5), tree.range(0, 10));
+        assertEquals(List.of(2, 3), tree.range(1, 2));
+        assertEquals(List.of(), tree.range(5, 2));
+        assertEquals(3, tree.indexOf(4));
+    }
+
+    @Test
+    void removesOnlyPresentElements() {
+        OrderStatisticTree<Integer> tree = new OrderStatisticTree<>(Comparator.naturalOrder());
+        tree.add(1);
+        tree.add(2);
+
+        assertTrue(tree.remove(1));
+        assertFalse(tree.remove(1));
+        assertEquals(List.of(2), tree.range(0, 10));
+        assertEquals(0, tree.indexOf(2));
+    }
+
+    @Test
+    void countsElementsBeforeAKeyUnderACoarserOrder() {
+        OrderStatisticTree<Integer> tree = new OrderStatisticTree<>(Comparator.naturalOrder());
+        for (int value = 0; value < 100; value++) {
+            tree.add(value);
+        }
+
+        // Tens digit only: everything in a lower decade comes before the key
+        OrderStatisticTree.PrefixComparator<Integer, Integer> decade = (element, key) -> Integer.compare(element / 10, key / 10);
+        assertEquals(40, tree.countBefore(47, decade));
+        assertEquals(0, tree.countBefore(3, decade));
+    }
+
+    @Test
+    void matchesASortedListUnderRandomUpdates() {
+        Random random = new Random(1);
+        OrderStatisticTree<Integer> tree = new OrderStatisticTree<>(Comparator.naturalOrder());
+        List<Integer> reference = new ArrayList<>();
+
+        for (int step = 0; step < 5000; step++) {
+            int value = random.nextInt(1000);
+            int position = Collections.binarySearch(reference, value);
+            if (position >= 0) {
+                assertTrue(tree.remove(value));
+                reference.remove(position);
+            } else {
+                tree.add(value);
+                reference.add(-position - 1, value);
+            }
+
+            assertEquals(reference.size(), tree.size());
+            if (!reference.isEmpty()) {
+                int index = random.nextInt(reference.size());
+                assertEquals(index, tree.indexOf(reference.get(index)));
+                int limit = random.nextInt(20);
+                assertEquals(reference.subList(index, Math.min(reference.size(), index + limit)),
+                             tree.range(index, limit));
+            }
+        }
+    }
+}
@@ -3,14 +3,53 @@
 import { useState } from 'react'
 import Editor from '@monaco-editor/react'
 
+export const LANGUAGES = [
+  {
+    id: 'java',
+    label: 'Java',
+    template: `import java.util.Scanner;
+
+public class Main {
+    public static void main(String[] args) {
+        Scanner scanner = new Scanner(System.in);
+        
+        // Your code here
+        
+    }
+}`,
+  },
+  {
+    id: 'python',
+    label: 'Python 3',
+    template: `import sys
+
+def main():
+    data = sys.stdin.read().split()
+    # Your code here
+
+main()
+`,
+  },
+  {
+    id: 'javascript',
+    label: 'JavaScript (Node.js)',
+    template: `const data = require('fs').readFileSync(0, 'utf8').trim().split(/\s+/)
+
+// Your code here
+`,
+  },
+]
+
 interface CodeEditorProps {
   code: string
+  language: string
   onChange: (code: string) => void
+  onLanguageChange: (language: string) => void
   onSubmit: () => void
   isSubmitting: boolean
 }
 
-export default function CodeEditor({ code, onChange, onSubmit, isSubmitting }: CodeEditorProps) {
+export default function CodeEditor({ code, language, onChange, onLanguageChange, onSubmit, isSubmitting }: CodeEditorProps) {
   const [isEditorReady, setIsEditorReady] = useState(false)
 
   const handleEditorDidMount = () => {
@@ -25,15 +64,23 @@ export default function CodeEditor({ code, onChange, onSubmit, isSubmitting }: C
     <div className="card p-6">
       <div className="flex items-center justify-between mb-4">
         <h2 className="text-lg font-semibold text-gray-900">Code Editor</h2>
-        <div className="text-sm text-gray-500">
-          Language: Java
-        </div>
+        <select
+          value={language}
+          onChange={(e) => onLanguageChange(e.target.value)}
+          className="text-sm text-gray-700 border border-gray-300 rounded-md px-2 py-1"
+        >
+          {LANGUAGES.map((option) => (
+            <option key={option.id} value={option.id}>
+              {option.label}
+            </option>
+          ))}
+        </select>
       </div>
 
       <div className="border border-gray-300 rounded-lg overflow-hidden">
         <Editor
           height="400px"
-          defaultLanguage="java"
+          language={language}
           value={code}
           onChange={handleEditorChange}
           onMount={handleEditorDidMount}
@@ -2,7 +2,7 @@
 
 import { useState, useEffect } from 'react'
 import ProblemView from './ProblemView'
-import CodeEditor from './CodeEditor'
+import CodeEditor, { LANGUAGES } from './CodeEditor'
 import Leaderboard from './Leaderboard'
 import SubmissionStatus from './SubmissionStatus'
 
@@ -37,29 +37,33 @@ interface Submission {
   submittedAt: string
   username: string
   problemTitle: string
+  testsCompleted?: number | null
+  testsTotal?: number | null
 }
 
 export default function ContestInterface({ contest }: { contest: Contest }) {
   const [selectedProblem, setSelectedProblem] = useState<Problem | null>(null)
   const [code, setCode] = useState('')
+  const [language, setLanguage] = useState('java')
   const [submission, setSubmission] = useState<Submission | null>(null)
   const [isSubmitting, setIsSubmitting] = useState(false)
 
+  const templateFor = (id: string) => LANGUAGES.find((option) => option.id === id)?.template ?? ''
+
   // Load default code template when problem is selected
   useEffect(() => {
     if (selectedProblem && !code) {
-      setCode(`import java.util.Scanner;
-
-public class Main {
-    public static void main(String[] args) {
-        Scanner scanner = new Scanner(System.in);
-        
-        // Your code here
-        
+      setCode(templateFor(language))
     }
-}`)
+  }, [selectedProblem, code, language])
+
+  const handleLanguageChange = (next: string) => {
+    // Swap the template only while it is untouched; never discard the user's code
+    if (!code.trim() || code === templateFor(language)) {
+      setCode(templateFor(next))
     }
-  }, [selectedProblem, code])
+    setLanguage(next)
+  }
 
   const handleSubmit = async () => {
     if (!selectedProblem || !code.trim()) {
@@ -81,6 +85,7 @@ public class Main {
           username,
           problemId: selectedProblem.id,
           code,
+          language,
         }),
       })
 
@@ -90,8 +95,8 @@ public class Main {
 
       const data = await response.json()
       
-      // Start polling for submission status
-      pollSubmissionStatus(data.submissionId)
+      // Follow the submission's status as the judge pushes it
+      watchSubmissionStatus(data.submissionId, code)
       
     } catch (error) {
       console.error('Error submitting code:', error)
@@ -101,20 +106,52 @@ public class Main {
     }
   }
 
-  const pollSubmissionStatus = async (submissionId: string) => {
+  const watchSubmissionStatus = (submissionId: string, submittedCode: string) => {
+    const source = new EventSource(`/api/submissions/${submissionId}/events`)
+    let completed = false
+
+    source.addEventListener('status', (event) => {
+      const status = JSON.parse((event as MessageEvent).data)
+      setSubmission({ ...status, code: submittedCode })
+      if (status.status === 'COMPLETED') {
+        completed = true
+        source.close()
+      }
+    })
+    source.onerror = () => {
+      // The server ends the stream after COMPLETED; anything else falls back to polling
+      if (!completed) {
+        source.close()
+        pollSubmissionStatus(submissionId, submittedCode)
+      }
+    }
+  }
+
+  const pollSubmissionStatus = async (submissionId: string, submittedCode: string) => {
     const pollInterval = setInterval(async () => {
       try {
-        const response = await fetch(`/api/submissions/${submissionId}`)
+        // Status-only lookup; code, username and problem title are kept from the previous state
+        const response = await fetch(`/api/submissions/status?ids=${encodeURIComponent(submissionId)}`)
         
         if (!response.ok) {
           throw new Error('Failed to fetch submission status')
         }
 
-        const submissionData = await response.json()
-        setSubmission(submissionData)
+        const [statusData] = await response.json()
+        if (!statusData) {
+          throw new Error('Submission not found')
+        }
+        const { username, problemTitle, ...status } = statusData
+        setSubmission((previous) => ({
+          username: previous?.username ?? '',
+          problemTitle: previous?.problemTitle ?? '',
+          ...previous,
+          ...status,
+          code: submittedCode,
+        }))
 
         // Stop polling if submission is completed
-        if (submissionData.status === 'COMPLETED') {
+        if (statusData.status === 'COMPLETED') {
           clearInterval(pollInterval)
         }
       } catch (error) {
@@ -171,7 +208,9 @@ public class Main {
           {selectedProblem && (
             <CodeEditor
               code={code}
+              language={language}
               onChange={setCode}
+              onLanguageChange={handleLanguageChange}
               onSubmit={handleSubmit}
               isSubmitting={isSubmitting}
             />
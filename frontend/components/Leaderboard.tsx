@@ -3,12 +3,22 @@
 import { useState, useEffect } from 'react'
 import { Trophy, Medal, Award } from 'lucide-react'
 
+interface ProblemResult {
+  problemId: number
+  solved: boolean
+  wrongAttempts: number
+  solvedAtMinute: number | null
+  firstToSolve: boolean
+}
+
 interface LeaderboardEntry {
   username: string
   problemsSolved: number
   totalSubmissions: number
   lastSubmissionTime: string | null
+  penalty: number
   rank: number
+  problems: ProblemResult[]
 }
 
 interface LeaderboardProps {
@@ -39,13 +49,40 @@ export default function Leaderboard({ contestId }: LeaderboardProps) {
     }
   }
 
+  // Replace entries of the users in an update; a snapshot replaces the whole board
+  const applyUpdate = (entries: LeaderboardEntry[], snapshot: boolean) => {
+    setLeaderboard((previous) => {
+      if (snapshot) return entries
+      const byUsername = new Map(previous.map((entry) => [entry.username, entry]))
+      entries.forEach((entry) => byUsername.set(entry.username, entry))
+      return Array.from(byUsername.values()).sort((a, b) => a.rank - b.rank || a.username.localeCompare(b.username))
+    })
+    setError('')
+    setLoading(false)
+  }
+
   useEffect(() => {
-    fetchLeaderboard()
-    
-    // Poll leaderboard every 30 seconds
-    const interval = setInterval(fetchLeaderboard, 30000)
-    
-    return () => clearInterval(interval)
+    let interval: ReturnType<typeof setInterval> | undefined
+    const source = new EventSource(`/api/contests/${contestId}/leaderboard/stream`)
+
+    source.addEventListener('snapshot', (event) => {
+      applyUpdate(JSON.parse((event as MessageEvent).data).entries, true)
+    })
+    source.addEventListener('delta', (event) => {
+      applyUpdate(JSON.parse((event as MessageEvent).data).entries, false)
+    })
+    source.onerror = () => {
+      // EventSource reconnects by itself; only fall back to polling if the stream is refused
+      if (source.readyState === EventSource.CLOSED && !interval) {
+        fetchLeaderboard()
+        interval = setInterval(fetchLeaderboard, 30000)
+      }
+    }
+
+    return () => {
+      source.close()
+      if (interval) clearInterval(interval)
+    }
   }, [contestId])
 
   const getRankIcon = (rank: number) => {
@@ -92,7 +129,7 @@ export default function Leaderboard({ contestId }: LeaderboardProps) {
       <div className="flex items-center justify-between mb-4">
         <h2 className="text-lg font-semibold text-gray-900">Leaderboard</h2>
         <div className="text-xs text-gray-500">
-          Updates every 30s
+          Live
         </div>
       </div>
 
@@ -118,7 +155,28 @@ export default function Leaderboard({ contestId }: LeaderboardProps) {
                   {entry.username}
                 </div>
                 <div className="text-sm text-gray-500">
-                  {entry.problemsSolved} problem{entry.problemsSolved !== 1 ? 's' : ''} solved
+                  {entry.problemsSolved} problem{entry.problemsSolved !== 1 ? 's' : ''} solved · {entry.penalty} min
+                </div>
+                <div className="flex flex-wrap gap-1 mt-1">
+                  {entry.problems?.map((problem) => (
+                    <span
+                      key={problem.problemId}
+                      title={problem.solved ? `Solved at ${problem.solvedAtMinute} min` : undefined}
+                      className={`px-1.5 text-xs rounded ${
+                        problem.firstToSolve
+                          ? 'bg-green-600 text-white'
+                          : problem.solved
+                            ? 'bg-green-100 text-green-800'
+                            : problem.wrongAttempts > 0
+                              ? 'bg-red-100 text-red-800'
+                              : 'bg-gray-100 text-gray-400'
+                      }`}
+                    >
+                      {problem.solved
+                        ? `+${problem.wrongAttempts || ''}`
+                        : problem.wrongAttempts > 0 ? `-${problem.wrongAttempts}` : '.'}
+                    </span>
+                  ))}
                 </div>
               </div>
               
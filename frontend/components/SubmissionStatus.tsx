@@ -13,6 +13,9 @@ interface Submission {
   submittedAt: string
   username: string
   problemTitle: string
+  testsCompleted?: number | null
+  testsTotal?: number | null
+  cached?: boolean
 }
 
 export default function SubmissionStatus({ submission }: { submission: Submission }) {
@@ -31,11 +34,14 @@ export default function SubmissionStatus({ submission }: { submission: Submissio
 
   const getStatusText = () => {
     if (submission.status === 'PENDING') return 'Pending'
-    if (submission.status === 'RUNNING') return 'Running'
+    if (submission.status === 'RUNNING') {
+      return submission.testsTotal ? `Running (${submission.testsCompleted ?? 0}/${submission.testsTotal} tests)` : 'Running'
+    }
     if (submission.result === 'ACCEPTED') return 'Accepted'
     if (submission.result === 'WRONG_ANSWER') return 'Wrong Answer'
     if (submission.result === 'TIME_LIMIT_EXCEEDED') return 'Time Limit Exceeded'
     if (submission.result === 'MEMORY_LIMIT_EXCEEDED') return 'Memory Limit Exceeded'
+    if (submission.result === 'OUTPUT_LIMIT_EXCEEDED') return 'Output Limit Exceeded'
     if (submission.result === 'RUNTIME_ERROR') return 'Runtime Error'
     if (submission.result === 'COMPILATION_ERROR') return 'Compilation Error'
     return 'Unknown'
@@ -97,6 +103,12 @@ export default function SubmissionStatus({ submission }: { submission: Submissio
           </div>
         )}
 
+        {isCompleted && submission.cached && (
+          <div className="text-xs text-gray-500">
+            Identical to an earlier submission; its verdict was reused without judging again.
+          </div>
+        )}
+
         {submission.errorMessage && (
           <div className="mt-4 p-3 bg-red-50 border border-red-200 rounded-lg">
             <div className="flex items-start space-x-2">